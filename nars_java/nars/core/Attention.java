@@ -1,5 +1,6 @@
 package nars.core;
 
+import nars.core.control.ConceptStatistics;
 import nars.entity.BudgetValue;
 import nars.entity.Concept;
 import nars.inference.BudgetFunctions.Activating;
@@ -61,4 +62,7 @@ public interface Attention extends Iterable<Concept> {
     
     public Memory getMemory();
     
+    /** aggregate statistics of the current concepts */
+    public ConceptStatistics getStatistics();
+    
 }
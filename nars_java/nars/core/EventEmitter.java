@@ -59,6 +59,12 @@ public class EventEmitter {
         return false;
     }
     
+    /** whether observers may be emitting on several threads, so that on/off
+     *  changes are deferred until synch() */
+    protected boolean isConcurrent() {
+        return false;
+    }
+    
     //apply pending on/off changes when synchronizing, ex: in-between memory cycles
     public void synch() {
         synchronized (pendingOps) {
@@ -91,7 +97,7 @@ public class EventEmitter {
     */
     
     public <C> void on(final Class<? extends C> event, final EventObserver<? extends C> o) {
-        if (Parameters.THREADS == 1) {
+        if (!isConcurrent()) {
             _on(event, o);
         }
         else {
@@ -118,7 +124,7 @@ public class EventEmitter {
      * @return  whether it was removed
      */
     public <C> void off(final Class<? extends C> event, final EventObserver<? extends C> o) {
-        if (Parameters.THREADS == 1) {
+        if (!isConcurrent()) {
             _off(event, o);
         }
         else {
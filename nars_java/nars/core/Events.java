@@ -143,6 +143,9 @@ public class Events {
     }
     public static class TaskRemove { }
     public static class TaskDerive {    }
+    
+    //input from the input channels (TaskSource), after it was processed by Memory.inputTask; not tasks input from within memory, like operator feedback
+    public static class TaskSourceInput {    }
 
     public static class PluginsChange {    }
 
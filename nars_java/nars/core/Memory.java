@@ -23,13 +23,12 @@ package nars.core;
 import java.io.Serializable;
 import java.util.ArrayDeque;
 import java.util.Collection;
-import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Random;
 import java.util.Set;
-import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicLong;
 import javolution.context.ConcurrentContext;
 import nars.core.Attention.AttentionAware;
 import nars.core.Events.ResetEnd;
@@ -38,10 +37,15 @@ import nars.core.Events.TaskRemove;
 import static nars.core.Memory.Forgetting.Periodic;
 import static nars.core.Memory.Timing.Iterative;
 import nars.core.control.AbstractTask;
+import nars.core.control.ConceptStatistics;
+import nars.core.control.DerivationCache;
+import nars.core.control.EventBuffer;
 import nars.core.control.ImmediateProcess;
 import nars.core.control.NAL;
+import nars.core.control.TermLinkBuilder;
 import nars.io.meter.EmotionMeter;
 import nars.io.meter.LogicMeter;
+import nars.io.meter.NARMetrics;
 import nars.io.meter.ResourceMeter;
 import nars.entity.BudgetValue;
 import nars.entity.Concept;
@@ -103,12 +107,15 @@ import nars.language.Tense;
 import nars.language.Term;
 import static nars.language.Terms.equalSubTermsInRespectToImageAndProduct;
 import nars.operator.Operation;
+import nars.operator.OperationPool;
 import nars.operator.Operator;
 import nars.operator.io.Echo;
 import nars.operator.io.PauseInput;
 import nars.operator.io.Reset;
 import nars.operator.io.SetVolume;
 import nars.storage.Bag;
+import nars.storage.BagStatistics;
+import nars.storage.TaskBuffer;
 
 
 /**
@@ -164,12 +171,66 @@ public class Memory implements Serializable {
     
     //public static Random randomNumber = new Random(1);
     public static long randomSeed = 1;
-    public static Random randomNumber = new Random(randomSeed);
+    
+    /** the Memory whose cycle is running on the current thread, if any */
+    private static final ThreadLocal<Memory> current = new ThreadLocal();
+    
+    /** 
+     * random number source for code without access to a Memory: it uses the 
+     * random source of the Memory cycling on the current thread, or a shared 
+     * one outside of any cycle 
+     */
+    public static final Random randomNumber = new ContextRandom();
 
+    /** seed of random, used again on reset; randomSeed unless set */
+    private long seed = randomSeed;
+    
+    /** random number source of this memory, reseeded with its seed on reset */
+    public final Random random = new Random(seed);
+    
+    public long getRandomSeed() {
+        return seed;
+    }
+    
+    /** reseeds this memory's random number source, now and on every reset */
+    public void setRandomSeed(final long seed) {
+        this.seed = seed;
+        random.setSeed(seed);
+    }
+    
     public static void resetStatic() {
         randomNumber.setSeed(randomSeed);    
     }
     
+    /** the Memory whose cycle is running on the current thread, or null */
+    public static Memory current() {
+        return current.get();
+    }
+    
+    static final class ContextRandom extends Random {
+        private final Random shared = new Random(randomSeed);
+        
+        Random get() {
+            final Memory m = current.get();
+            return (m != null) ? m.random : shared;
+        }
+        
+        @Override public synchronized void setSeed(long seed) {
+            //called by the Random constructor, before 'shared' is assigned
+            if (shared != null)
+                get().setSeed(seed);
+        }
+        @Override protected int next(int bits) { return get().nextInt() >>> (32 - bits); }
+        @Override public int nextInt() { return get().nextInt(); }
+        @Override public int nextInt(int bound) { return get().nextInt(bound); }
+        @Override public long nextLong() { return get().nextLong(); }
+        @Override public boolean nextBoolean() { return get().nextBoolean(); }
+        @Override public float nextFloat() { return get().nextFloat(); }
+        @Override public double nextDouble() { return get().nextDouble(); }
+        @Override public synchronized double nextGaussian() { return get().nextGaussian(); }
+        @Override public void nextBytes(byte[] bytes) { get().nextBytes(bytes); }
+    }
+    
     public final Attention concepts;
     
     public final EventEmitter event;
@@ -181,7 +242,8 @@ public class Memory implements Serializable {
     /* InnateOperator registry. Containing all registered operators of the system */
     public final HashMap<CharSequence, Operator> operators;
     
-    private long currentStampSerial = 0;
+    /** atomic, as tasks may be parsed on input pipeline threads */
+    private final AtomicLong currentStampSerial = new AtomicLong();
     
     
     
@@ -196,7 +258,18 @@ public class Memory implements Serializable {
      * List of new tasks accumulated in one cycle, to be processed in the next
      * cycle
      */
-    public final Deque<Task> newTasks;
+    public final TaskBuffer newTasks;
+    
+    /** recently derived tasks, for merging duplicate derivations */
+    public final DerivationCache derivations;
+    
+    /** term links to build at the end of the cycle, if batched */
+    public final TermLinkBuilder termLinkBuilder;
+    
+    public final EventBuffer eventBuffer;
+    
+    /** asynchronous operations, whose feedback is input at the start of a cycle */
+    public final OperationPool operations;
     
     
     
@@ -225,6 +298,7 @@ public class Memory implements Serializable {
     
     public final EmotionMeter emotion = new EmotionMeter();    
     public final LogicMeter logic;
+    public final NARMetrics metrics;
     public final ResourceMeter resource;
     
     
@@ -250,6 +324,10 @@ public class Memory implements Serializable {
 
     
     private class MemoryEventEmitter extends EventEmitter {        
+        @Override protected boolean isConcurrent() {
+            return parallel;
+        }
+
         @Override public void emit(final Class eventClass, final Object... params) {
             super.emit(eventClass, params); 
 
@@ -291,61 +369,37 @@ public class Memory implements Serializable {
         if (novelTasks instanceof AttentionAware)
             ((AttentionAware)novelTasks).setAttention(concepts);
         
-        this.newTasks = (Parameters.THREADS > 1) ?  
-                new ConcurrentLinkedDeque<>() : new ArrayDeque<>();
+        this.newTasks = new TaskBuffer(param.newTaskCapacity);
+        
+        this.derivations = new DerivationCache(Parameters.DERIVATION_CACHE_SIZE);
+        
+        this.termLinkBuilder = new TermLinkBuilder(this, param.termLinkBatchThreads);
+        
+        this.eventBuffer = new EventBuffer(this, param.eventBufferCapacity, param.eventBufferWindow, param.eventInductionsPerCycle);
+        
+        this.operations = new OperationPool(this);
         
         this.operators = new HashMap<>();
         
 
         this.resource = new ResourceMeter();
+        this.metrics = new NARMetrics(this);
         this.logic = new LogicMeter() {
 
+            private final double[] histogram = new double[BagStatistics.HISTOGRAM_BINS];
+
             @Override
             public void commit(Memory memory) {
-                double prioritySum = 0;        
-                double prioritySumSq = 0;
-                int count = 0;
-                int totalQuestions = 0;
-                int totalBeliefs = 0;
-                int histogramBins = 4;
-                double[] histogram = new double[histogramBins];
-
-                for (final Concept c : concepts) {
-                    double p = c.getPriority();
-                    totalQuestions += c.questions.size();        
-                    totalBeliefs += c.beliefs.size();        
-                    //TODO totalGoals...
-                    //TODO totalQuests...
-                    
-                    prioritySum += p;
-                    prioritySumSq += p*p;
-                    
-                    if (p > 0.75) histogram[0]++;
-                    else if (p > 0.5) histogram[1]++;
-                    else if (p > 0.25) histogram[2]++;
-                    else histogram[3]++;
-                    
-                    count++;
-                }
-                double mean, variance;
-                if (count > 0) {
-                    mean = prioritySum / count;
-                    
-                    //http://en.wikipedia.org/wiki/Algorithms_for_calculating_variance
-                    variance = (prioritySumSq - ((prioritySum*prioritySum)/count))/(count-1);
-                    for (int i = 0; i < histogram.length; i++)
-                        histogram[i]/=count;
-                }
-                else {
-                    mean = variance = 0;
-                }
-
-                setConceptNum(count);
-                setConceptBeliefsSum(totalBeliefs);
-                setConceptQuestionsSum(totalQuestions);
-                setConceptPriorityMean(mean);
-                setConceptPriorityVariance(variance);
-                setConceptPriorityHistogram(histogram);
+                final ConceptStatistics stats = concepts.getStatistics();
+                //TODO totalGoals...
+                //TODO totalQuests...
+
+                setConceptNum(stats.size());
+                setConceptBeliefsSum(stats.getBeliefs());
+                setConceptQuestionsSum(stats.getQuestions());
+                setConceptPriorityMean(stats.getPriorityMean());
+                setConceptPriorityVariance(stats.getPriorityVariance());
+                setConceptPriorityHistogram(stats.getPriorityHistogram(histogram));
                 
                 super.commit(memory);
             }
@@ -367,9 +421,15 @@ public class Memory implements Serializable {
     public void reset() {
         event.emit(ResetStart.class);
         
+        random.setSeed(seed);
+        
         concepts.reset();
         novelTasks.clear();
-        newTasks.clear();     
+        newTasks.clear();
+        derivations.clear();     
+        termLinkBuilder.clear();
+        eventBuffer.clear();
+        operations.clear();
         
         timing = param.getTiming();      
         cycle = 0;
@@ -421,7 +481,7 @@ public class Memory implements Serializable {
         return time() - timePreviousCycle;
     }
 
-    public Deque<Task> getNewTasks() {
+    public TaskBuffer getNewTasks() {
         return newTasks;
     }
     
@@ -581,7 +641,10 @@ public class Memory implements Serializable {
     public void forget(final Item x, final float forgetCycles, final float relativeThreshold) {
         switch (param.forgetting) {
             case Iterative:                
-                BudgetFunctions.forgetIterative(x.budget, forgetCycles, relativeThreshold);
+                if (param.tabulatedFunctions.get())
+                    BudgetFunctions.forgetIterativeTabulated(x.budget, forgetCycles, relativeThreshold);
+                else
+                    BudgetFunctions.forgetIterative(x.budget, forgetCycles, relativeThreshold);
                 break;
             case Periodic:
                 BudgetFunctions.forgetPeriodic(x.budget, forgetCycles, relativeThreshold, time());
@@ -597,7 +660,13 @@ public class Memory implements Serializable {
         /*if (!Term.valid(t.getContent()))
             throw new RuntimeException("Invalid term: " + t);*/
         
-        newTasks.add(t);
+        final Task displaced = newTasks.putIn(t);
+        if (displaced != null) {
+            logic.TASK_ADD_NEW_OVERFLOW.commit(displaced.getPriority());
+            removeTask(displaced, "Displaced new task");
+            if (displaced == t)
+                return;
+        }
                 
         logic.TASK_ADD_NEW.commit(t.getPriority());
         
@@ -626,6 +695,7 @@ public class Memory implements Serializable {
                 s.setCreationTime(time(), param.duration.get());
 
             emit(IN.class, task);
+            metrics.TASKS_INPUT.inc();
 
             if (task.budget.aboveThreshold()) {
                 temporalRuleOutputToGraph(task.sentence,task);
@@ -673,6 +743,7 @@ public class Memory implements Serializable {
     public void executedTask(final Operation operation, TruthValue truth) {
         Task opTask = operation.getTask();
         logic.TASK_EXECUTED.commit(opTask.budget.getPriority());
+        metrics.TASKS_EXECUTED.inc();
                 
         Stamp stamp = new Stamp(this, Tense.Present); 
         Sentence sentence = new Sentence(operation, Symbols.JUDGMENT_MARK, truth, stamp);
@@ -719,6 +790,19 @@ public class Memory implements Serializable {
         if (!isEnabled())
             return;
         
+        final Memory previous = current.get();
+        current.set(this);
+        try {
+            cycleInContext(inputs);
+        }
+        finally {
+            current.set(previous);
+        }
+    }
+    
+    private void cycleInContext(final TaskSource inputs) {
+        
+        final long start = System.nanoTime();
         resource.CYCLE.start();
         resource.CYCLE_CPU_TIME.start();
         resource.CYCLE_RAM_USED.start();
@@ -727,6 +811,8 @@ public class Memory implements Serializable {
             logic.IO_INPUTS_BUFFERED.commit(inputs.getInputItemsBuffered());
         
         event.emit(Events.CycleStart.class);                
+        
+        operations.update();
 
             
         int inputTaskPriority = concepts.getInputPriority();
@@ -734,12 +820,18 @@ public class Memory implements Serializable {
         /** adds input tasks to newTasks */
         for (int i = 0; (i < inputTaskPriority) && (isProcessingInput()); i++) {
             AbstractTask t = inputs.nextTask();                    
-            if (t!=null) 
+            if (t!=null) {
                 inputTask(t);            
+                event.emit(Events.TaskSourceInput.class, t);
+            }
         }
       
 
         concepts.cycle();
+        
+        termLinkBuilder.build();
+        
+        eventBuffer.induce();
                            
         executive.cycle();
 
@@ -752,6 +844,10 @@ public class Memory implements Serializable {
         resource.CYCLE_RAM_USED.stop();
         resource.CYCLE_CPU_TIME.stop();
         resource.CYCLE.stop();
+        
+        metrics.CYCLES.inc();
+        metrics.CYCLE_TIME.record(System.nanoTime() - start);
+        metrics.sample();
     }
     
     
@@ -774,7 +870,7 @@ public class Memory implements Serializable {
         
         for (int i = 0; (!newTasks.isEmpty()) && (i < numTasks); i++) {
             
-            final Task task = newTasks.removeFirst();
+            final Task task = newTasks.poll();
                         
             processed++;
             
@@ -816,7 +912,7 @@ public class Memory implements Serializable {
         return processed;
     }
  
-    protected void error(Throwable ex) {
+    public void error(Throwable ex) {
         emit(ERR.class, ex);
         
         if (Parameters.DEBUG) {
@@ -825,6 +921,13 @@ public class Memory implements Serializable {
         
     }
     
+    private volatile boolean parallel;
+    
+    /** whether tasks of this memory are running on several threads, in run() */
+    public boolean isParallel() {
+        return parallel;
+    }
+    
     public <T> void run(final List<Runnable> tasks) {
         run(tasks, 1);
     }
@@ -847,14 +950,30 @@ public class Memory implements Serializable {
             final ConcurrentContext ctx = ConcurrentContext.enter(); 
             
             ctx.setConcurrency(concurrency);
+            final boolean wasParallel = parallel;
+            parallel = true;
             try { 
                 for (final Runnable r : tasks) {                    
-                    ctx.execute(r);
+                    ctx.execute(new Runnable() {
+                        @Override public void run() {
+                            //worker threads use this memory's context too;
+                            //a task may also run inline on the calling thread
+                            final Memory previous = current.get();
+                            current.set(Memory.this);
+                            try {
+                                r.run();
+                            }
+                            finally {
+                                current.set(previous);
+                            }
+                        }
+                    });
                 }
             } finally {
                 // Waits for all concurrent executions to complete.
                 // Re-exports any exception raised during concurrent executions. 
                 ctx.exit();                              
+                parallel = wasParallel;
             }
         }
     }
@@ -930,7 +1049,17 @@ public class Memory implements Serializable {
 
 
     public long newStampSerial() {
-        return currentStampSerial++;
+        return currentStampSerial.getAndIncrement();
+    }
+
+    /** the serial number which the next new stamp will get */
+    public long getStampSerial() {
+        return currentStampSerial.get();
+    }
+
+    /** used when replaying a trace, to number stamps as in the recorded run */
+    public void setStampSerial(final long next) {
+        currentStampSerial.set(next);
     }
 
 
@@ -962,7 +1091,7 @@ public class Memory implements Serializable {
         }
         
         if (includeNewTasks)
-            t.addAll(newTasks);
+            t.addAll(newTasks.values());
         
         if (includeNovelTasks)
             for (Task n : novelTasks)
@@ -1031,6 +1160,11 @@ public class Memory implements Serializable {
         if (newEvent.sentence.isEternal() || !isInputOrTriggeredOperation(newEvent, nal.memory)) {
             return false;
         }
+        
+        if (eventBuffer.isEnabled()) {
+            eventBuffer.add(newEvent);
+            return true;
+        }
 
         for (Task stmLast : stm) {
 
@@ -27,6 +27,7 @@ import nars.gui.NARControls;
 import nars.io.Answered;
 import nars.io.InPort;
 import nars.io.Input;
+import nars.io.InputPipeline;
 import nars.io.Output;
 import nars.io.Output.ERR;
 import nars.io.Output.IN;
@@ -34,10 +35,14 @@ import nars.io.Symbols;
 import nars.io.TaskInput;
 import nars.io.TextInput;
 import nars.io.buffer.Buffer;
+import nars.io.buffer.ConcurrentFIFO;
 import nars.io.buffer.FIFO;
 import nars.io.narsese.Narsese;
 import nars.io.narsese.Narsese.InvalidInputException;
+import nars.io.query.Queries;
+import nars.io.query.Query;
 import nars.language.Tense;
+import nars.language.Term;
 import nars.operator.Operator;
 import nars.operator.io.Echo;
 
@@ -131,6 +136,9 @@ public class NAR implements Runnable, TaskSource {
     
     
     private boolean inputting = true;
+    
+    /** parses the input of new ports on other threads, if set */
+    private volatile InputPipeline inputPipeline = null;
     private boolean threadYield;
     
     private int inputSelected = 0; //counter for the current selected input channel
@@ -138,6 +146,9 @@ public class NAR implements Runnable, TaskSource {
     
     private int cyclesPerFrame = 1; //how many memory cycles to execute in one NAR cycle
     
+    /** pending query handles, see queries() */
+    private Queries queries = null;
+    
     
     protected NAR(final Memory m) {
         this.memory = m;        
@@ -159,6 +170,10 @@ public class NAR implements Runnable, TaskSource {
             InPort port = inputChannels.get(i);
             port.input.finished(true);
         }
+        //ends their producers in the input pipeline
+        for (final InPort port : newInputChannels)
+            if (port.isPipelined())
+                port.input.finished(true);
         inputChannels.clear();        
         newInputChannels.clear();
         //newOutputChannels.clear();
@@ -183,10 +198,7 @@ public class NAR implements Runnable, TaskSource {
     public TextInput addInput(final String text, long creationTime) {
         final TextInput i = new TextInput(text);
         
-        ObjectTaskInPort ip = addInput(i);
-        
-        if (creationTime!=-1)
-            ip.setCreationTimeOverride(creationTime);
+        addInput(i, creationTime);
         
         return i;
     }
@@ -221,23 +233,78 @@ public class NAR implements Runnable, TaskSource {
         
         Task t;
         addInput(
-                t = new Task(
+                t = newQuestion(new Narsese(this).parseTerm(termString))
+        );
+        
+        if (answered!=null) {
+            answered.start(t, this);
+        }
+        return this;
+        
+    }
+    
+    protected Task newQuestion(final Term term) {
+        return new Task(
                         new Sentence(
-                                new Narsese(this).parseTerm(termString),
+                                term,
                                 Symbols.QUESTION_MARK, 
                                 null, 
                                 new Stamp(memory, Tense.Eternal)), 
                         new BudgetValue(
                                 Parameters.DEFAULT_QUESTION_PRIORITY, 
                                 Parameters.DEFAULT_QUESTION_DURABILITY, 
-                                1))
-        );
+                                1));
+    }
+    
+    /** the index of pending query handles, created on first use */
+    public synchronized Queries queries() {
+        if (queries == null)
+            queries = new Queries(this);
+        return queries;
+    }
+    
+    /** asks a question and returns a handle which completes with its first solution */
+    public Query query(String termString) throws InvalidInputException {
+        return query(termString, -1, -1);
+    }
+    
+    /**
+     * asks a question and returns a handle which completes with its first solution
+     * @param timeoutCycles memory time until the handle times out, or -1 for none
+     * @param timeoutMS wall-clock milliseconds until the handle times out, or -1 for none
+     */
+    public Query query(String termString, long timeoutCycles, long timeoutMS) throws InvalidInputException {
+        Task t = newQuestion(new Narsese(this).parseTerm(termString));
+        Query q = queries().add(t, timeoutCycles, timeoutMS);
+        addInput(t);
+        return q;
+    }
+    
+    /** asks a batch of questions through a single input channel.  
+     *  returns one handle per question, in the same order */
+    public List<Query> query(Iterable<String> termStrings, long timeoutCycles, long timeoutMS) throws InvalidInputException {
+        final Narsese narsese = new Narsese(this);
+        final Queries index = queries();
         
-        if (answered!=null) {
-            answered.start(t, this);
+        final List<Task> tasks = new ArrayList();
+        final List<Query> result = new ArrayList();
+        for (final String s : termStrings) {
+            Task t = newQuestion(narsese.parseTerm(s));
+            tasks.add(t);
+            result.add(index.add(t, timeoutCycles, timeoutMS));
         }
-        return this;
         
+        final Iterator<Task> ti = tasks.iterator();
+        addInput(new Input<Task>() {
+            @Override public Task next() {
+                return ti.hasNext() ? ti.next() : null;
+            }
+            @Override public boolean finished(boolean stop) {
+                return stop || !ti.hasNext();
+            }
+        });
+        
+        return result;
     }
     
     public NAR addInput(final Sentence sentence) throws InvalidInputException {
@@ -348,6 +415,26 @@ public class NAR implements Runnable, TaskSource {
     
     /** Adds an input channel.  Will remain added until it closes or it is explicitly removed. */
     public ObjectTaskInPort addInput(final Input channel) {
+        return addInput(channel, -1);
+    }
+    
+    /** @param creationTime creation time override for its tasks, or -1 */
+    protected ObjectTaskInPort addInput(final Input channel, final long creationTime) {
+        final InputPipeline pipeline = inputPipeline;
+        
+        if (pipeline != null) {
+            ObjectTaskInPort i = new ObjectTaskInPort(channel, new ConcurrentFIFO(Parameters.INPUT_PIPELINE_BUFFER), 1.0f);
+            if (creationTime!=-1)
+                i.setCreationTimeOverride(creationTime);
+            newInputChannels.add(i);
+            pipeline.add(i);
+            
+            ioChanged = true;
+            if (!running)
+                updatePorts();
+            return i;
+        }
+        
         ObjectTaskInPort i = new ObjectTaskInPort(channel, new FIFO(), 1.0f);
                
         try {
@@ -359,6 +446,10 @@ public class NAR implements Runnable, TaskSource {
             emit(ERR.class, ex);
         }
         
+        //applies to the tasks not perceived by the first update
+        if (creationTime!=-1)
+            i.setCreationTimeOverride(creationTime);
+        
         ioChanged = true;
         
         if (!running)
@@ -367,6 +458,30 @@ public class NAR implements Runnable, TaskSource {
         return i;
     }
 
+    /**
+     * Parses the input of ports added from now on with a pool of threads, so
+     * that the reasoner only dequeues ready tasks.  Ports added earlier, or
+     * to a previous pipeline, are updated by the reasoner.  Disabled (0) by
+     * default, as the order in which tasks of different ports arrive then
+     * depends on thread timing, and input which acts during parsing (ex:
+     * reboot) is not synchronized with the reasoner.
+     * @param threads number of parsing threads, or 0 to stop the pipeline
+     */
+    public void setInputThreads(final int threads) {
+        final InputPipeline previous = inputPipeline;
+        if ((previous != null) && (previous.getThreads() == threads))
+            return;
+        
+        inputPipeline = (threads > 0) ? new InputPipeline(memory, threads) : null;
+        if (previous != null)
+            previous.stop();
+    }
+
+    public int getInputThreads() {
+        final InputPipeline p = inputPipeline;
+        return (p != null) ? p.getThreads() : 0;
+    }
+
 //    /** Explicitly removes an input channel and notifies it, via Input.finished(true) that is has been removed */
 //    public Input removeInput(Input channel) {
 //        inputChannels.remove(channel);
@@ -571,13 +686,15 @@ public class NAR implements Runnable, TaskSource {
                 continue;
             }
 
-            try {
-                i.update();
-            } catch (IOException ex) {                    
-                emit(ERR.class, ex);
-            }                
+            if (!i.isPipelined()) {
+                try {
+                    i.update();
+                } catch (IOException ex) {                    
+                    emit(ERR.class, ex);
+                }                
+            }
 
-            if (i.hasNext()) {
+            if (i.hasNext() && i.takeTurn()) {
                 AbstractTask task = i.next();
                 if (task!=null) {
                     return task;
@@ -1,5 +1,6 @@
 package nars.core;
 
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import nars.core.Memory.Forgetting;
 import nars.core.Memory.Timing;
@@ -108,6 +109,30 @@ public class Param implements Serializable {
     /** Maximum number of goals kept in a Concept */
     public final AtomicInteger conceptGoalsMax = new AtomicInteger();
     
+    /** Maximum number of new tasks buffered; when set, the buffer is priority-ordered and displaces the weakest. 0 for an unbounded FIFO */
+    public final AtomicInteger newTaskCapacity = new AtomicInteger();
+    
+    /** Maximum number of new tasks processed per cycle, leaving the rest for later cycles; 0 for all */
+    public final AtomicInteger newTasksPerCycle = new AtomicInteger();
+    
+    /** Cycles during which a derived task absorbs identical derivations; 0 to disable */
+    public final AtomicInteger derivationDuplicateWindow = new AtomicInteger();
+    
+    /** Threads inserting the term links built in a batch at the end of each cycle; 0 to build them immediately when a task is linked */
+    public final AtomicInteger termLinkBatchThreads = new AtomicInteger();
+    
+    /** Events kept in the short-term event buffer for temporal induction; 0 to pair each event immediately with the last STM_SIZE events */
+    public final AtomicInteger eventBufferCapacity = new AtomicInteger();
+    
+    /** Maximum time between the events paired from the event buffer; 0 for any time */
+    public final AtomicInteger eventBufferWindow = new AtomicInteger();
+    
+    /** Maximum event pairs inducted from the event buffer per cycle, sampled when there are more; 0 for all */
+    public final AtomicInteger eventInductionsPerCycle = new AtomicInteger();
+    
+    /** Evaluate iterative forgetting and tabulatable bag curves from precomputed tables, within BUDGET_EPSILON of the exact functions */
+    public final AtomicBoolean tabulatedFunctions = new AtomicBoolean();
+    
     /** Reliance factor, the empirical confidence of analytical truth.
         the same as default confidence  */        
     public final AtomicDouble reliance = new AtomicDouble();
@@ -198,6 +223,17 @@ public class Param implements Serializable {
             }           
         });
 
+        b.registerTypeAdapter(AtomicBoolean.class, new JsonSerializer<AtomicBoolean>() {
+            @Override public JsonElement serialize(AtomicBoolean t, Type type, JsonSerializationContext jsc) {
+                return new JsonPrimitive(t.get());
+            }            
+        });
+        b.registerTypeAdapter(AtomicBoolean.class, new JsonDeserializer<AtomicBoolean>() {
+            @Override public AtomicBoolean deserialize(JsonElement je, Type type, JsonDeserializationContext jdc) throws JsonParseException {
+                return new AtomicBoolean(je.getAsBoolean());
+            }           
+        });
+
         
         json = b.create();            
     }
@@ -126,6 +126,12 @@ public class Parameters {
     /** what this value represents was originally equal to the termlink record length (10), but we may want to adjust it or make it scaled according to duration since it has more to do with time than # of records.  it can probably be increased several times larger since each item should remain in the recording queue for longer than 1 cycle */
     public static final int NOVELTY_HORIZON = 10;
 
+    /** maximum number of recent derivations remembered for duplicate suppression */
+    public static final int DERIVATION_CACHE_SIZE = 1024;
+
+    /** capacity of the buffer of an input port whose input is parsed by an InputPipeline */
+    public static final int INPUT_PIPELINE_BUFFER = 1024;
+
     /**
      * The rate of confidence decrease in mental operations Doubt and Hesitate
      * set to zero to disable this feature.
@@ -182,6 +188,15 @@ public class Parameters {
     
     public static int STM_SIZE = 1;
     
+    /** threads of a memory's pool for asynchronous operations */
+    public static int OPERATION_THREADS = 4;
+    
+    /** operations which can wait for a thread of the pool; more are rejected */
+    public static int OPERATION_QUEUE = 256;
+    
+    /** default time (ms) after which an asynchronous operation is cancelled */
+    public static long OPERATION_TIMEOUT = 10000;
+    
     
     
     
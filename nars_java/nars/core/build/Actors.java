@@ -0,0 +1,46 @@
+package nars.core.build;
+
+import nars.core.Attention;
+import nars.core.Memory;
+import nars.core.control.experimental.ActorAttention;
+import nars.core.control.experimental.ActorAttention.ActorConcept;
+import nars.entity.BudgetValue;
+import nars.entity.Concept;
+import nars.entity.Task;
+import nars.entity.TaskLink;
+import nars.entity.TermLink;
+import nars.language.Term;
+import nars.storage.Bag;
+import nars.storage.LevelBag;
+
+/**
+ * Default, with concepts run as actors by parallel threads (experimental)
+ */
+public class Actors extends Default {
+    public final int threads;
+
+    /** one thread per processor */
+    public Actors() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public Actors(int threads) {
+        super();
+        this.type = "actors";
+        this.threads = threads;
+    }
+
+    @Override
+    public Attention newAttention() {
+        return new ActorAttention(newConceptBag(), getConceptBuilder(), threads);
+    }
+
+    @Override
+    public Concept newConcept(BudgetValue b, Term t, Memory m) {
+        Bag<TaskLink,Task> taskLinks = new LevelBag<>(getTaskLinkBagLevels(), getConceptTaskLinks());
+        Bag<TermLink,TermLink> termLinks = new LevelBag<>(getTermLinkBagLevels(), getConceptTermLinks());
+
+        return new ActorConcept(b, t, taskLinks, termLinks, m);
+    }
+
+}
@@ -18,6 +18,9 @@ import nars.storage.CurveBag.FairPriorityProbabilityCurve;
 public class Curve extends Default {
     public final boolean randomRemoval;
     public final CurveBag.BagCurve curve;
+    
+    /** table of the curve, shared by the bags when param.tabulatedFunctions is set */
+    private CurveBag.TabulatedCurve tabulatedCurve;
 
     public Curve() {
         this(true);
@@ -33,15 +36,23 @@ public class Curve extends Default {
         this.curve = curve;
     }
     
+    /** the curve of new bags, tabulated if param.tabulatedFunctions is set */
+    public CurveBag.BagCurve getCurve() {
+        if (!param.tabulatedFunctions.get() || (curve instanceof CurveBag.TabulatedCurve))
+            return curve;
+        if (tabulatedCurve == null)
+            tabulatedCurve = new CurveBag.TabulatedCurve(curve);
+        return tabulatedCurve;
+    }
 
     @Override
     public Bag<Task<Term>,Sentence<Term>> newNovelTaskBag() {
-        return new CurveBag<Task<Term>,Sentence<Term>>(getNovelTaskBagSize(), curve, randomRemoval);
+        return new CurveBag<Task<Term>,Sentence<Term>>(getNovelTaskBagSize(), getCurve(), randomRemoval);
     }
 
     @Override
     public Bag<Concept,Term> newConceptBag() {
-        return new CurveBag<>(getConceptBagSize(), curve, randomRemoval);
+        return new CurveBag<>(getConceptBagSize(), getCurve(), randomRemoval);
         //return new AdaptiveContinuousBag<>(getConceptBagSize());
     }
 
@@ -56,8 +67,8 @@ public class Curve extends Default {
     @Override
     public Concept newConcept(BudgetValue b, final Term t, final Memory m) {
         
-        Bag<TaskLink,Task> taskLinks = new CurveBag<>(getConceptTaskLinks(), curve, randomRemoval);
-        Bag<TermLink,TermLink> termLinks = new CurveBag<>(getConceptTermLinks(), curve, randomRemoval);
+        Bag<TaskLink,Task> taskLinks = new CurveBag<>(getConceptTaskLinks(), getCurve(), randomRemoval);
+        Bag<TermLink,TermLink> termLinks = new CurveBag<>(getConceptTermLinks(), getCurve(), randomRemoval);
         
         return new Concept(b, t, taskLinks, termLinks, m);        
     }
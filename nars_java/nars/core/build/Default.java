@@ -111,6 +111,17 @@ public class Default extends Build implements ConceptBuilder {
         param.conceptGoalsMax.set(7);
         param.conceptQuestionsMax.set(5);
         
+        param.derivationDuplicateWindow.set(0);
+        param.termLinkBatchThreads.set(0);
+        param.tabulatedFunctions.set(false);
+        
+        param.newTaskCapacity.set(0);
+        param.newTasksPerCycle.set(0);
+        
+        param.eventBufferCapacity.set(0);
+        param.eventBufferWindow.set(0);
+        param.eventInductionsPerCycle.set(0);
+        
         param.conceptsFiredPerCycle.set(1);
         
         param.termLinkMaxReasoned.set(3);
@@ -135,6 +146,12 @@ public class Default extends Build implements ConceptBuilder {
         pluginPlanner = new TemporalParticlePlanner(searchDepth, planParticles, inlineParticles);
         return this;
     }
+    
+    /** temporal planner which plans from the shortest-path index instead of particle traversal */
+    public Default temporalPlanner(float searchDepth) {
+        pluginPlanner = new TemporalParticlePlanner(searchDepth, 0, 0, true);
+        return this;
+    }
 
     @Override
     public NAR init(NAR n) {
@@ -0,0 +1,24 @@
+package nars.core.build;
+
+import nars.entity.Concept;
+import nars.language.Term;
+import nars.storage.Bag;
+import nars.storage.SumTreeBag;
+
+/**
+ * Default, with concepts selected with probability proportional to their
+ * priority, from a SumTreeBag
+ */
+public class Proportional extends Default {
+
+    public Proportional() {
+        super();
+        this.type = "proportional";
+    }
+
+    @Override
+    public Bag<Concept,Term> newConceptBag() {
+        return new SumTreeBag<>(getConceptBagSize());
+    }
+
+}
@@ -0,0 +1,36 @@
+package nars.core.build;
+
+import nars.core.Attention;
+import nars.core.control.experimental.ShardedAttention;
+import nars.entity.Concept;
+import nars.language.Term;
+import nars.storage.Bag;
+import nars.storage.LevelBag;
+
+/**
+ * Default, with the concepts partitioned among several bags which are fired
+ * by parallel threads (experimental)
+ */
+public class Sharded extends Default {
+    public final int shards;
+
+    /** one shard per processor */
+    public Sharded() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public Sharded(int shards) {
+        super();
+        this.type = "sharded";
+        this.shards = shards;
+    }
+
+    @Override
+    public Attention newAttention() {
+        final Bag<Concept,Term>[] bags = new Bag[shards];
+        for (int i = 0; i < shards; i++)
+            bags[i] = new LevelBag(getConceptBagLevels(), Math.max(1, getConceptBagSize() / shards));
+        return new ShardedAttention(bags, getConceptBuilder());
+    }
+
+}
@@ -0,0 +1,63 @@
+package nars.core.control;
+
+import nars.entity.Concept;
+import nars.storage.BagStatistics;
+
+/**
+ * Statistics of the concepts of an Attention: priorities, and the total
+ * number of beliefs and questions of the concepts.
+ *
+ * Beliefs and questions added or removed while a concept is in the bag are
+ * counted through {@link #beliefsChanged} and {@link #questionsChanged}.
+ */
+public class ConceptStatistics extends BagStatistics<Concept> {
+
+    private long beliefs;
+    private long questions;
+
+    @Override
+    public void add(final Concept c) {
+        super.add(c);
+        beliefs += c.beliefs.size();
+        questions += c.questions.size();
+    }
+
+    @Override
+    public void remove(final Concept c) {
+        super.remove(c);
+        beliefs -= c.beliefs.size();
+        questions -= c.questions.size();
+    }
+
+    @Override
+    public void merge(final BagStatistics<Concept> s) {
+        super.merge(s);
+        if (s instanceof ConceptStatistics) {
+            beliefs += ((ConceptStatistics) s).beliefs;
+            questions += ((ConceptStatistics) s).questions;
+        }
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        beliefs = questions = 0;
+    }
+
+    public void beliefsChanged(final int delta) {
+        beliefs += delta;
+    }
+
+    public void questionsChanged(final int delta) {
+        questions += delta;
+    }
+
+    public long getBeliefs() {
+        return beliefs;
+    }
+
+    public long getQuestions() {
+        return questions;
+    }
+
+}
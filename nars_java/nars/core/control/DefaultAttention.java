@@ -7,12 +7,17 @@ import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 import nars.core.Attention;
 import nars.core.Events;
+import nars.core.Events.ConceptBeliefAdd;
+import nars.core.Events.ConceptBeliefRemove;
 import nars.core.Events.ConceptForget;
+import nars.core.Events.ConceptQuestionAdd;
+import nars.core.Events.ConceptQuestionRemove;
 import nars.core.Memory;
 import nars.core.Parameters;
 import nars.entity.BudgetValue;
 import nars.entity.Concept;
 import nars.entity.ConceptBuilder;
+import nars.inference.AbstractObserver;
 import nars.inference.BudgetFunctions;
 import nars.inference.BudgetFunctions.Activating;
 import nars.language.Term;
@@ -37,6 +42,8 @@ public class DefaultAttention implements Attention {
     private final ConceptBuilder conceptBuilder;
     private Memory memory;
     
+    private final ConceptStatistics statistics = new ConceptStatistics();
+    
     private Cycle loop = new Cycle();
     
        
@@ -66,11 +73,18 @@ public class DefaultAttention implements Attention {
         }
 
         public int newTasksPriority() {
-            return memory.newTasks.size();
+            final int n = memory.newTasks.size();
+            final int quota = memory.param.newTasksPerCycle.get();
+            return (quota > 0) ? Math.min(quota, n) : n;
+        }
+
+        /** whether other work can proceed this cycle: no new tasks remain, or their processing is limited per cycle */
+        boolean newTasksYield() {
+            return memory.getNewTasks().isEmpty() || (memory.param.newTasksPerCycle.get() > 0);
         }
 
         public int novelTasksPriority() {
-            if (memory.getNewTasks().isEmpty()) {
+            if (newTasksYield()) {
                 return t(numThreads);
             } else {
                 return 0;
@@ -78,7 +92,7 @@ public class DefaultAttention implements Attention {
         }
 
         public int conceptsPriority() {
-            if (memory.getNewTasks().isEmpty()) {
+            if (newTasksYield()) {
                 return memory.param.conceptsFiredPerCycle.get();
             } else {
                 return 0;
@@ -108,6 +122,22 @@ public class DefaultAttention implements Attention {
             ((AttentionAware)concepts).setAttention(this);
         if (concepts instanceof MemoryAware)
             ((MemoryAware)concepts).setMemory(m);
+        
+        concepts.setStatistics(statistics);
+        
+        //count table changes of concepts which are in the bag; the others are counted when put back
+        new AbstractObserver(m.event, true, ConceptBeliefAdd.class, ConceptBeliefRemove.class, ConceptQuestionAdd.class, ConceptQuestionRemove.class) {
+            @Override public void event(final Class event, final Object[] args) {
+                final Concept c = (Concept)args[0];
+                if (concepts.get(c.name()) != c)
+                    return;
+                
+                if (event == ConceptBeliefAdd.class) statistics.beliefsChanged(1);
+                else if (event == ConceptBeliefRemove.class) statistics.beliefsChanged(-1);
+                else if (event == ConceptQuestionAdd.class) statistics.questionsChanged(1);
+                else if (event == ConceptQuestionRemove.class) statistics.questionsChanged(-1);
+            }
+        };
     }
 
     @Override
@@ -135,7 +165,7 @@ public class DefaultAttention implements Attention {
 
     @Override
     public void cycle() {
-        if (Parameters.THREADS == 1)
+        if (loop.numThreads == 1)
             cycleSequential();
         else
             cycleParallel();
@@ -171,7 +201,7 @@ public class DefaultAttention implements Attention {
         
         processConcepts(loop.conceptsPriority(), run);
                 
-        memory.run(run, Parameters.THREADS);
+        memory.run(run, loop.numThreads);
         
         run.clear();
 
@@ -229,8 +259,12 @@ public class DefaultAttention implements Attention {
     @Override
     public Concept conceptualize(BudgetValue budget, final Term term, boolean createIfMissing) {
         
-        //see if concept is active
-        Concept concept = concepts.take(term);
+        final float forgetCycles = memory.param.cycles(memory.param.conceptForgetDurations);
+
+        //see if concept is active, and apply budget to it in place
+        Concept concept = concepts.update(term, c -> BudgetFunctions.activate(c.budget, budget, Activating.TaskLink), forgetCycles, memory);
+        if (concept != null)
+            return concept;
         
         //try remembering from subconscious
         if ((concept == null) && (subcon!=null)) {
@@ -258,7 +292,7 @@ public class DefaultAttention implements Attention {
         }
         else if (concept!=null) {            
             
-            //apply budget to existing concept
+            //apply budget to remembered concept
             //memory.logic.CONCEPT_ACTIVATE.commit(term.getComplexity());
             BudgetFunctions.activate(concept.budget, budget, Activating.TaskLink);            
         }
@@ -269,7 +303,7 @@ public class DefaultAttention implements Attention {
         }
 
         
-        Concept displaced = concepts.putBack(concept, memory.param.cycles(memory.param.conceptForgetDurations), memory);
+        Concept displaced = concepts.putBack(concept, forgetCycles, memory);
                 
         if (displaced == null) {
             //added without replacing anything
@@ -296,9 +330,12 @@ public class DefaultAttention implements Attention {
     
     
     @Override public void activate(final Concept c, final BudgetValue b, Activating mode) {
-        concepts.take(c.name());
-        BudgetFunctions.activate(c.budget, b, mode);
-        concepts.putBack(c, memory.param.cycles(memory.param.conceptForgetDurations), memory);
+        final float forgetCycles = memory.param.cycles(memory.param.conceptForgetDurations);
+        if (concepts.update(c.name(), x -> BudgetFunctions.activate(x.budget, b, mode), forgetCycles, memory) == null) {
+            //not in the bag
+            BudgetFunctions.activate(c.budget, b, mode);
+            concepts.putBack(c, forgetCycles, memory);
+        }
     }
     
 //    @Override
@@ -317,6 +354,11 @@ public class DefaultAttention implements Attention {
         return concepts.iterator();
     }
 
+    @Override
+    public ConceptStatistics getStatistics() {
+        return (ConceptStatistics) concepts.getStatistics();
+    }
+
     @Override
     public Memory getMemory() {
         return memory;
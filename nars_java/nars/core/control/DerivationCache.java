@@ -0,0 +1,116 @@
+package nars.core.control;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import nars.entity.Sentence;
+import nars.entity.Task;
+import nars.entity.TruthValue;
+
+/**
+ * Recently derived tasks, for suppressing identical derivations made by
+ * other premise pairs shortly afterward.
+ *
+ * Two derived tasks are identical when they have the same term, punctuation,
+ * truth (to TRUTH_EPSILON), occurrence time and evidential base.  The budget
+ * of a duplicate is merged into the earlier task instead of queueing the
+ * duplicate for processing again.
+ */
+public class DerivationCache {
+
+    /** maximum number of remembered derivations; oldest are dropped first */
+    public final int capacity;
+
+    private final Map<Key, Key> recent;
+
+    public DerivationCache(final int capacity) {
+        this.capacity = capacity;
+        this.recent = new LinkedHashMap<Key, Key>(capacity / 2 + 1) {
+            @Override protected boolean removeEldestEntry(Map.Entry<Key, Key> eldest) {
+                return size() > DerivationCache.this.capacity;
+            }
+        };
+    }
+
+    static final class Key {
+        final Task task;
+        final long time;
+        /** truth packed to TRUTH_EPSILON, or -1 */
+        final int truth;
+        final int hash;
+
+        Key(final Task task, final long time) {
+            this.task = task;
+            this.time = time;
+
+            final Sentence s = task.sentence;
+            final TruthValue t = s.truth;
+            truth = (t != null) ? t.pack() : -1;
+
+            int h = s.term.hashCode();
+            h = 31 * h + s.punctuation;
+            h = 31 * h + truth;
+            h = 31 * h + s.stamp.evidentialHash();
+            h = 31 * h + Long.hashCode(s.getOccurenceTime());
+            this.hash = h;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof Key)) return false;
+
+            final Key k = (Key) obj;
+            if ((hash != k.hash) || (truth != k.truth))
+                return false;
+
+            final Sentence a = task.sentence, b = k.task.sentence;
+            return (a.punctuation == b.punctuation)
+                    && a.term.equals(b.term)
+                    && a.stamp.equals(b.stamp, false, true, true, true);
+        }
+    }
+
+    /**
+     * Remembers a derived task, unless an identical one was derived within
+     * the last 'window' cycles.  In that case the budget of the new task is
+     * merged into the earlier one, which is returned.
+     *
+     * @return the earlier identical task, or null if the task is new
+     */
+    public synchronized Task add(final Task task, final long now, final long window) {
+        expire(now - window);
+
+        final Key k = new Key(task, now);
+        final Key existing = recent.get(k);
+        if (existing != null) {
+            existing.task.budget.merge(task.budget);
+            return existing.task;
+        }
+
+        recent.put(k, k);
+        return null;
+    }
+
+    /** forgets derivations made before a certain time; they are kept in time order */
+    protected void expire(final long before) {
+        final Iterator<Key> i = recent.keySet().iterator();
+        while (i.hasNext() && (i.next().time < before)) {
+            i.remove();
+        }
+    }
+
+    public synchronized int size() {
+        return recent.size();
+    }
+
+    public synchronized void clear() {
+        recent.clear();
+    }
+
+}
@@ -0,0 +1,199 @@
+package nars.core.control;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import nars.core.Memory;
+import nars.entity.Task;
+import nars.inference.TemporalRules;
+import nars.language.Term;
+import static nars.language.Terms.equalSubTermsInRespectToImageAndProduct;
+
+/**
+ * Short-term buffer of recent events, from which the pairs for temporal
+ * induction are drawn in one batch per cycle.
+ *
+ * Each event arriving in a cycle is paired with every buffered event which
+ * occurred at most the window before it, and then buffered itself.  When
+ * there are more pairs than the limit per cycle, that many are sampled
+ * uniformly while pairing and the rest never allocated, so the cost of
+ * induction per cycle is bounded however many events arrive.  The buffer
+ * holds at most one event per term, the latest, and drops its oldest event
+ * when full.
+ *
+ * Enabled by Param.eventBufferCapacity; otherwise Memory pairs each event
+ * immediately with the last Parameters.STM_SIZE events.
+ */
+public class EventBuffer {
+
+    private final Memory memory;
+    private final AtomicInteger capacity, window, inductionsPerCycle;
+
+    /** events which arrived during this cycle */
+    private final List<Task> incoming = new ArrayList();
+
+    /** buffered event of each term, oldest first */
+    private final LinkedHashMap<Term, Task> byTerm = new LinkedHashMap();
+
+    /** buffered events by occurrence time */
+    private final TreeMap<Long, List<Task>> byTime = new TreeMap();
+
+    private long inductions;
+
+    /** pair of events, the later first, and its order among the pairs of the cycle */
+    static final class Pair implements Comparable<Pair> {
+        Task event, previous;
+        int index;
+
+        Pair(final Task event, final Task previous, final int index) {
+            set(event, previous, index);
+        }
+
+        void set(final Task event, final Task previous, final int index) {
+            this.event = event;
+            this.previous = previous;
+            this.index = index;
+        }
+
+        @Override
+        public int compareTo(final Pair p) {
+            return Integer.compare(index, p.index);
+        }
+    }
+
+    /** reasoning context of the temporal inductions */
+    static final class Induction extends NAL {
+        private final List<Pair> pairs;
+
+        Induction(final Memory memory, final List<Pair> pairs) {
+            super(memory);
+            this.pairs = pairs;
+        }
+
+        @Override
+        public void run() {
+            for (final Pair p : pairs) {
+                setTheNewStamp(p.event.sentence.stamp, p.previous.sentence.stamp, memory.time());
+                setCurrentTask(p.event);
+                setCurrentBelief(p.previous.sentence);
+                TemporalRules.temporalInduction(p.event.sentence, p.previous.sentence, this);
+            }
+        }
+    }
+
+    public EventBuffer(final Memory memory, final AtomicInteger capacity, final AtomicInteger window, final AtomicInteger inductionsPerCycle) {
+        this.memory = memory;
+        this.capacity = capacity;
+        this.window = window;
+        this.inductionsPerCycle = inductionsPerCycle;
+    }
+
+    public boolean isEnabled() {
+        return capacity.get() > 0;
+    }
+
+    /** queues an event for induction at the end of the cycle; may be called by parallel processes */
+    public synchronized void add(final Task event) {
+        incoming.add(event);
+    }
+
+    /** number of events buffered */
+    public synchronized int size() {
+        return byTerm.size();
+    }
+
+    /** total number of event pairs inducted */
+    public synchronized long getInductions() {
+        return inductions;
+    }
+
+    public synchronized void clear() {
+        incoming.clear();
+        byTerm.clear();
+        byTime.clear();
+    }
+
+    /** pairs the events of this cycle with the buffered events, and inducts a sample of the pairs */
+    public void induce() {
+        final List<Pair> pairs;
+        synchronized (this) {
+            if (incoming.isEmpty())
+                return;
+
+            pairs = new ArrayList();
+            final int w = window.get();
+            final int n = inductionsPerCycle.get();
+            int candidates = 0;
+            for (final Task e : incoming) {
+                final long t = e.sentence.getOccurenceTime();
+                final Iterable<List<Task>> earlier = (w > 0) ?
+                        byTime.subMap(t - w, true, t, true).values() :
+                        byTime.headMap(t, true).values();
+                for (final List<Task> l : earlier)
+                    for (final Task p : l)
+                        if (!equalSubTermsInRespectToImageAndProduct(e.sentence.term, p.sentence.term))
+                            sample(pairs, n, e, p, candidates++);
+                buffer(e);
+            }
+            incoming.clear();
+
+            if (candidates > pairs.size())
+                Collections.sort(pairs);
+            inductions += pairs.size();
+        }
+
+        if (!pairs.isEmpty())
+            new Induction(memory, pairs).run();
+    }
+
+    /**
+     * offers the index'th candidate pair to a uniform sample of at most n
+     * pairs, all if n is 0, by reservoir sampling; a pair is only allocated
+     * while the sample is not full, and is then reused by the pairs replacing it
+     */
+    private static void sample(final List<Pair> pairs, final int n, final Task event, final Task previous, final int index) {
+        if ((n <= 0) || (index < n)) {
+            pairs.add(new Pair(event, previous, index));
+            return;
+        }
+        final int j = Memory.randomNumber.nextInt(index + 1);
+        if (j < n)
+            pairs.get(j).set(event, previous, index);
+    }
+
+    private void buffer(final Task e) {
+        //removed first, so the event is re-inserted as the newest
+        final Task previous = byTerm.remove(e.getTerm());
+        if (previous != null)
+            remove(previous);
+        byTerm.put(e.getTerm(), e);
+
+        final long t = e.sentence.getOccurenceTime();
+        List<Task> l = byTime.get(t);
+        if (l == null)
+            byTime.put(t, l = new ArrayList(1));
+        l.add(e);
+
+        while (byTerm.size() > capacity.get()) {
+            final Iterator<Task> oldest = byTerm.values().iterator();
+            remove(oldest.next());
+            oldest.remove();
+        }
+    }
+
+    /** removes a buffered event from byTime; its byTerm entry is removed by the caller */
+    private void remove(final Task e) {
+        final long t = e.sentence.getOccurenceTime();
+        final List<Task> l = byTime.get(t);
+        if (l != null) {
+            l.remove(e);
+            if (l.isEmpty())
+                byTime.remove(t);
+        }
+    }
+
+}
@@ -34,8 +34,10 @@ abstract public class FireConcept extends NAL {
     
     @Override
     public void run() {     
+        final long start = System.nanoTime();
         fire();        
         onFinished();                
+        memory.metrics.FIRE_CONCEPT_TIME.record(System.nanoTime() - start);
     }
     
     
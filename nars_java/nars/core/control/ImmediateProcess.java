@@ -6,6 +6,7 @@ package nars.core.control;
 
 import nars.core.Events;
 import nars.core.Memory;
+import nars.entity.Concept;
 import nars.entity.Task;
 
 /**
@@ -22,17 +23,33 @@ public class ImmediateProcess extends NAL {
         this.numSiblingTasks = numSiblingTasks;
     }
 
+    public Task getTask() {
+        return task;
+    }
+
     @Override
     public void run() {
+        final long start = System.nanoTime();
+        processConcept(memory.conceptualize(task.budget, task.getTerm()));
+        processEvent();
+        memory.metrics.IMMEDIATE_PROCESS_TIME.record(System.nanoTime() - start);
+    }
+
+    /** processes the task in its concept, null if it could not be conceptualized */
+    public void processConcept(final Concept concept) {
         setCurrentTask(task);
         setCurrentTerm(currentTask.getTerm());
-        setCurrentConcept(memory.conceptualize(currentTask.budget, getCurrentTerm()));
+        setCurrentConcept(concept);
         if (getCurrentConcept() != null) {
             boolean processed = getCurrentConcept().directProcess(this, currentTask);
             if (processed) {
                 memory.event.emit(Events.ConceptDirectProcessedTask.class, currentTask);
             }
         }
+    }
+
+    /** the processing of the task as an event, after processConcept */
+    public void processEvent() {
         if (!currentTask.sentence.isEternal()) {
             boolean stmUpdated = memory.inductionOnSucceedingEvents(currentTask, this);
             if (stmUpdated) {
@@ -134,6 +134,7 @@ public abstract class NAL implements Runnable {
         }
         if (stamp.latency > 0) {
             memory.logic.DERIVATION_LATENCY.commit(stamp.latency);
+            memory.metrics.DERIVATION_LATENCY.record(stamp.latency);
         }
         
         final Term currentTaskContent = getCurrentTask().getTerm();
@@ -187,6 +188,14 @@ public abstract class NAL implements Runnable {
             }
         }
         
+        final int duplicateWindow = memory.param.derivationDuplicateWindow.get();
+        if ((duplicateWindow > 0) && task.sentence.isJudgment() && (memory.derivations.add(task, memory.time(), duplicateWindow) != null)) {
+            //identical to a recent derivation, which received this task's budget
+            memory.logic.TASK_DERIVED_DUPLICATE.commit(task.budget.getPriority());
+            memory.removeTask(task, "Duplicate Derivation");
+            return false;
+        }
+        
         if(task.sentence.getOccurenceTime()>memory.time()) {
             ((Anticipate)memory.getOperator("^anticipate")).anticipate(task.sentence.term, memory, task.sentence.getOccurenceTime(),task);
         }
@@ -194,6 +203,7 @@ public abstract class NAL implements Runnable {
         task.setParticipateInTemporalInduction(false);
         memory.event.emit(Events.TaskDerive.class, task, revised, single, occurence, occurence2);
         memory.logic.TASK_DERIVED.commit(task.budget.getPriority());
+        memory.metrics.TASKS_DERIVED.inc();
         addTask(task, "Derived");
         return true;
     }
@@ -223,7 +233,7 @@ public abstract class NAL implements Runnable {
      */
     public Task doublePremiseTask(final Term newContent, final TruthValue newTruth, final BudgetValue newBudget, boolean temporalAdd) {
         
-        if (!newBudget.aboveThreshold()) {
+        if ((newBudget == null) || !newBudget.aboveThreshold()) {
             return null;
         }
         
@@ -283,6 +293,23 @@ public abstract class NAL implements Runnable {
         return null;
     }
 
+    /**
+     * doublePremiseTask with a truth value encoded by TruthValue.pair, which
+     * is only allocated as a TruthValue if the budget is above threshold
+     *
+     * @param newContent The content of the sentence in task
+     * @param newTruth The truth value of the sentence in task, or
+     * TruthValue.NO_PAIR for a question
+     * @param newBudget The budget value in task
+     */
+    public Task doublePremiseTask(final Term newContent, final long newTruth, final BudgetValue newBudget, boolean temporalAdd) {
+        if ((newBudget == null) || !newBudget.aboveThreshold()) {
+            return null;
+        }
+        final TruthValue truth = (newTruth == TruthValue.NO_PAIR) ? null : new TruthValue(newTruth);
+        return doublePremiseTask(newContent, truth, newBudget, temporalAdd);
+    }
+
     /**
      * Shared final operations by all double-premise rules, called from the
      * rules except StructuralRules
@@ -323,7 +350,7 @@ public abstract class NAL implements Runnable {
      */
     public boolean singlePremiseTask(final CompoundTerm newContent, final char punctuation, final TruthValue newTruth, final BudgetValue newBudget) {
         
-        if (!newBudget.aboveThreshold())
+        if ((newBudget == null) || !newBudget.aboveThreshold())
             return false;
         
         Task parentTask = getCurrentTask().getParentTask();
@@ -359,7 +386,7 @@ public abstract class NAL implements Runnable {
     }
 
     public boolean singlePremiseTask(Sentence newSentence, BudgetValue newBudget) {
-        if (!newBudget.aboveThreshold()) {
+        if ((newBudget == null) || !newBudget.aboveThreshold()) {
             return false;
         }
         Task newTask = new Task(newSentence, newBudget, getCurrentTask());
@@ -0,0 +1,186 @@
+package nars.core.control;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import nars.core.Events.TermLinkAdd;
+import nars.core.Events.TermLinkRemove;
+import nars.core.Memory;
+import nars.entity.BudgetValue;
+import nars.entity.Concept;
+import nars.entity.TermLink;
+import nars.inference.BudgetFunctions;
+import static nars.inference.BudgetFunctions.distributeAmongLinks;
+import nars.language.CompoundTerm;
+import nars.language.Term;
+
+/**
+ * Builds the term links of the concepts linked to tasks during a cycle in one
+ * batch at its end, instead of recursively while each task is linked.
+ *
+ * The activations of a component by all the compounds containing it are
+ * grouped, so its concept is activated once with their merged budget, and
+ * its own components once per level rather than once per path to them.  The
+ * links are then inserted grouped by the concept receiving them, in parallel
+ * when there are several threads and no observers of term link events.
+ *
+ * Enabled by Param.termLinkBatchThreads; otherwise Concept.buildTermLinks
+ * runs immediately.
+ */
+public class TermLinkBuilder {
+
+    private final Memory memory;
+    private final AtomicInteger threads;
+
+    /** concepts whose term links are to be built, with the budget of the activating task */
+    private final Map<Concept, BudgetValue> pending = new LinkedHashMap();
+
+    /** activations of one component concept in a round */
+    static final class Target {
+        final Term term;
+        BudgetValue budget;
+        BudgetValue subBudget;
+        final List<Concept> sources = new ArrayList(2);
+        final List<TermLink> templates = new ArrayList(2);
+        final List<BudgetValue> linkBudgets = new ArrayList(2);
+
+        Target(final Term term) {
+            this.term = term;
+        }
+    }
+
+    public TermLinkBuilder(final Memory memory, final AtomicInteger threads) {
+        this.memory = memory;
+        this.threads = threads;
+    }
+
+    public boolean isEnabled() {
+        return threads.get() > 0;
+    }
+
+    /** queues the building of a concept's term links; may be called by parallel concept processes */
+    public synchronized void add(final Concept c, final BudgetValue taskBudget) {
+        final BudgetValue existing = pending.get(c);
+        if (existing == null)
+            pending.put(c, taskBudget.clone());
+        else
+            BudgetFunctions.merge(existing, taskBudget);
+    }
+
+    public synchronized int size() {
+        return pending.size();
+    }
+
+    public synchronized void clear() {
+        pending.clear();
+    }
+
+    /** builds the queued term links, one level of components per round */
+    public void build() {
+        Map<Concept, BudgetValue> round;
+        synchronized (this) {
+            if (pending.isEmpty())
+                return;
+            round = new LinkedHashMap(pending);
+            pending.clear();
+        }
+
+        while (!round.isEmpty()) {
+            round = build(round);
+        }
+    }
+
+    /** @return the compound components whose term links are built in the next round */
+    private Map<Concept, BudgetValue> build(final Map<Concept, BudgetValue> round) {
+
+        //group the activations by target term
+        final Map<Term, Target> targets = new LinkedHashMap();
+        for (final Map.Entry<Concept, BudgetValue> e : round.entrySet()) {
+            final Concept source = e.getKey();
+            final BudgetValue taskBudget = e.getValue();
+            final List<TermLink> templates = source.getTermLinkTemplates();
+            if ((templates == null) || templates.isEmpty())
+                continue;
+
+            final BudgetValue subBudget = distributeAmongLinks(taskBudget, templates.size());
+            if (!subBudget.aboveThreshold())
+                continue;
+
+            for (final TermLink template : templates) {
+                if (template.type == TermLink.TRANSFORM)
+                    continue;
+
+                Target t = targets.get(template.target);
+                if (t == null) {
+                    targets.put(template.target, t = new Target(template.target));
+                    t.budget = taskBudget.clone();
+                    t.subBudget = subBudget.clone();
+                }
+                else {
+                    BudgetFunctions.merge(t.budget, taskBudget);
+                    BudgetFunctions.merge(t.subBudget, subBudget);
+                }
+                t.sources.add(source);
+                t.templates.add(template);
+                t.linkBudgets.add(subBudget);
+            }
+        }
+
+        //activate each target concept once, and collect the links per receiving concept
+        final Map<Concept, List<TermLink>> links = new IdentityHashMap();
+        final Map<Concept, BudgetValue> next = new LinkedHashMap();
+        for (final Target t : targets.values()) {
+            final Concept concept = memory.conceptualize(t.budget, t.term);
+            if (concept == null)
+                continue;
+
+            for (int i = 0; i < t.sources.size(); i++) {
+                final Concept source = t.sources.get(i);
+                final TermLink template = t.templates.get(i);
+                final BudgetValue subBudget = t.linkBudgets.get(i);
+
+                // this termLink to that
+                links(links, source).add(new TermLink(t.term, template, subBudget));
+                // that termLink to this
+                links(links, concept).add(new TermLink(source.term, template, subBudget));
+            }
+
+            if (t.term instanceof CompoundTerm)
+                next.put(concept, t.subBudget);
+        }
+
+        insert(links);
+
+        return next;
+    }
+
+    private static List<TermLink> links(final Map<Concept, List<TermLink>> links, final Concept c) {
+        List<TermLink> l = links.get(c);
+        if (l == null)
+            links.put(c, l = new ArrayList(4));
+        return l;
+    }
+
+    private void insert(final Map<Concept, List<TermLink>> links) {
+        final List<Runnable> inserts = new ArrayList(links.size());
+        for (final Map.Entry<Concept, List<TermLink>> e : links.entrySet()) {
+            final Concept c = e.getKey();
+            final List<TermLink> l = e.getValue();
+            inserts.add(new Runnable() {
+                @Override public void run() {
+                    for (final TermLink t : l)
+                        c.insertTermLink(t);
+                }
+            });
+        }
+
+        //each concept's bag is changed by one thread, but observers of its changes might not be thread-safe
+        final int n = threads.get();
+        final boolean parallel = (n > 1) && !memory.emitting(TermLinkAdd.class) && !memory.emitting(TermLinkRemove.class);
+        memory.run(inserts, parallel ? n : 1);
+    }
+
+}
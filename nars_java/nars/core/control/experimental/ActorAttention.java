@@ -0,0 +1,423 @@
+package nars.core.control.experimental;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import nars.core.Attention;
+import nars.core.Events.ConceptForget;
+import nars.core.Events.ConceptNew;
+import nars.core.Memory;
+import nars.core.control.ConceptStatistics;
+import nars.core.control.FireConcept;
+import nars.core.control.ImmediateProcess;
+import nars.core.control.NAL;
+import nars.entity.BudgetValue;
+import nars.entity.Concept;
+import nars.entity.ConceptBuilder;
+import nars.entity.Sentence;
+import nars.entity.Task;
+import nars.entity.TaskLink;
+import nars.entity.TermLink;
+import nars.inference.BudgetFunctions;
+import nars.inference.BudgetFunctions.Activating;
+import nars.io.Output.ERR;
+import nars.language.Term;
+import nars.storage.Bag;
+import nars.storage.Bag.MemoryAware;
+
+/**
+ * Runs concepts as actors: each concept has a mailbox of work (processing a
+ * new task, firing, or inserting a link into it), and at most one worker
+ * thread runs a concept's mailbox at a time, so that a concept's tables and
+ * bags are only changed by the thread running it, without locks.
+ *
+ * Each cycle has two parallel phases, one processing the new (then novel)
+ * tasks in their concepts, and one firing the concepts selected from the
+ * bag.  Between the phases, the memory thread owns everything: it selects
+ * and conceptualizes, and applies the changes to the concept bag which were
+ * queued during a phase (new concepts and activations, as in
+ * ShardedAttention), and the temporal induction of the processed tasks,
+ * which uses the memory's shared event buffer.  During a phase, a link
+ * inserted into another concept than the one being run is posted to that
+ * concept's mailbox.
+ *
+ * Concepts must be ActorConcept (see the Actors build).  The workers are
+ * run by Memory.run, and a phase ends when every mailbox is empty.
+ *
+ * Experimental: as in ShardedAttention, the order of inference depends on
+ * thread timing.  Beliefs of other concepts are still read during firing;
+ * those reads synchronize on the belief table, as its updates do.
+ */
+public class ActorAttention implements Attention {
+
+    /** messages run per turn of a concept, before it lets others run */
+    static final int TURN = 16;
+
+    /** the concept whose mailbox is run by the current thread */
+    private static final ThreadLocal<ActorConcept> running = new ThreadLocal();
+
+    public final Bag<Concept,Term> concepts;
+    private final ConceptBuilder conceptBuilder;
+    private final int threads;
+    private Memory memory;
+
+    /** all concepts in the bag, or being fired or delivered to it */
+    private final ConcurrentHashMap<Term, Concept> index = new ConcurrentHashMap();
+
+    /** changes to the bag made during a phase */
+    private final ConcurrentLinkedQueue<Activation> activations = new ConcurrentLinkedQueue();
+    private final ConcurrentLinkedQueue<Concept> created = new ConcurrentLinkedQueue();
+
+    /** concepts with messages, waiting for a worker */
+    private final ConcurrentLinkedQueue<ActorConcept> ready = new ConcurrentLinkedQueue();
+    /** messages posted and not finished */
+    private final AtomicInteger pending = new AtomicInteger();
+    /** whether a parallel phase is running */
+    private volatile boolean parallel = false;
+
+    private final List<Runnable> run = new ArrayList();
+    private final List<Runnable> workers = new ArrayList();
+
+    int inputPriority = 1;
+
+    /** a new concept to insert (budget == null), or an activation */
+    static final class Activation {
+        final Concept concept;
+        final BudgetValue budget;
+        final Activating mode;
+
+        Activation(final Concept concept, final BudgetValue budget, final Activating mode) {
+            this.concept = concept;
+            this.budget = budget;
+            this.mode = mode;
+        }
+    }
+
+    /**
+     * A concept with a mailbox.  Links inserted into it during a phase by
+     * another concept's thread are posted to its mailbox.
+     */
+    public static class ActorConcept extends Concept {
+
+        private final ConcurrentLinkedQueue<Runnable> mailbox = new ConcurrentLinkedQueue();
+        private final AtomicBoolean scheduled = new AtomicBoolean(false);
+
+        public ActorConcept(final BudgetValue b, final Term tm, final Bag<TaskLink,Task> taskLinks, final Bag<TermLink,TermLink> termLinks, final Memory memory) {
+            super(b, tm, taskLinks, termLinks, memory);
+        }
+
+        private ActorAttention attention() {
+            return (ActorAttention) memory.concepts;
+        }
+
+        /** whether a change of this concept must be posted to its mailbox instead */
+        private boolean foreign() {
+            return (memory.concepts instanceof ActorAttention) && attention().parallel && (running.get() != this);
+        }
+
+        @Override
+        protected boolean insertTaskLink(final TaskLink taskLink) {
+            if (foreign()) {
+                post(() -> super.insertTaskLink(taskLink));
+                return true;
+            }
+            return super.insertTaskLink(taskLink);
+        }
+
+        @Override
+        public boolean insertTermLink(final TermLink termLink) {
+            if (foreign()) {
+                post(() -> super.insertTermLink(termLink));
+                return true;
+            }
+            return super.insertTermLink(termLink);
+        }
+
+        @Override
+        public Sentence getBelief(final NAL nal, final Task task) {
+            synchronized (beliefs) {
+                return super.getBelief(nal, task);
+            }
+        }
+
+        /** adds a message, and schedules this concept if it is not */
+        void post(final Runnable message) {
+            final ActorAttention a = attention();
+            a.pending.incrementAndGet();
+            mailbox.add(message);
+            if (scheduled.compareAndSet(false, true))
+                a.ready.add(this);
+        }
+
+        /** runs some messages of the mailbox, in the order they were posted */
+        void turn() {
+            final ActorAttention a = attention();
+            running.set(this);
+            try {
+                Runnable m;
+                for (int i = 0; (i < TURN) && ((m = mailbox.poll()) != null); i++) {
+                    try {
+                        m.run();
+                    }
+                    catch (RuntimeException e) {
+                        memory.emit(ERR.class, e);
+                    }
+                    finally {
+                        a.pending.decrementAndGet();
+                    }
+                }
+            }
+            finally {
+                running.set(null);
+                scheduled.set(false);
+            }
+            if (!mailbox.isEmpty() && scheduled.compareAndSet(false, true))
+                a.ready.add(this);
+        }
+    }
+
+    /** runs the ready concepts until all messages are finished */
+    final class Worker implements Runnable {
+        @Override
+        public void run() {
+            while (pending.get() > 0) {
+                final ActorConcept c = ready.poll();
+                if (c == null)
+                    Thread.yield(); //messages are running elsewhere, and may post more
+                else
+                    c.turn();
+            }
+        }
+    }
+
+    public ActorAttention(final Bag<Concept,Term> concepts, final ConceptBuilder conceptBuilder, final int threads) {
+        this.concepts = concepts;
+        this.conceptBuilder = conceptBuilder;
+        this.threads = threads;
+        for (int i = 0; i < threads; i++)
+            workers.add(new Worker());
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    @Override
+    public void init(final Memory m) {
+        this.memory = m;
+        if (concepts instanceof AttentionAware)
+            ((AttentionAware) concepts).setAttention(this);
+        if (concepts instanceof MemoryAware)
+            ((MemoryAware) concepts).setMemory(m);
+        concepts.setStatistics(new ConceptStatistics());
+    }
+
+    @Override
+    public void cycle() {
+        final int quota = memory.param.newTasksPerCycle.get();
+        final int newTasks = memory.getNewTasks().size();
+
+        run.clear();
+        memory.processNewTasks((quota > 0) ? Math.min(quota, newTasks) : newTasks, run);
+        process(run);
+
+        run.clear();
+        memory.processNovelTasks(1, run);
+        process(run);
+        run.clear();
+
+        fire(memory.param.conceptsFiredPerCycle.get());
+    }
+
+    /**
+     * processes tasks in their concepts in parallel, then as events in their
+     * order; other work is run first, by the memory thread
+     */
+    private void process(final List<Runnable> tasks) {
+        if (tasks.isEmpty())
+            return;
+
+        final List<ImmediateProcess> processes = new ArrayList(tasks.size());
+        for (final Runnable r : tasks) {
+            if (!(r instanceof ImmediateProcess)) {
+                r.run();
+                continue;
+            }
+
+            final ImmediateProcess p = (ImmediateProcess) r;
+            final Task t = p.getTask();
+            final Concept c = memory.conceptualize(t.budget, t.getTerm());
+            processes.add(p);
+            if (c instanceof ActorConcept)
+                ((ActorConcept) c).post(() -> p.processConcept(c));
+            else
+                p.processConcept(c);
+        }
+
+        runPhase();
+
+        for (final ImmediateProcess p : processes)
+            p.processEvent();
+    }
+
+    /** fires concepts from the bag in parallel, and puts them back */
+    private void fire(final int n) {
+        final List<Concept> fired = new ArrayList(n);
+        for (int i = 0; i < n; i++) {
+            final Concept c = concepts.takeNext();
+            if (c == null)
+                break;
+            fired.add(c);
+
+            final FireConcept f = new FireConcept(memory, c, 1) {
+                @Override public void onFinished() { }
+            };
+            if (c instanceof ActorConcept)
+                ((ActorConcept) c).post(f);
+            else
+                f.run();
+        }
+
+        runPhase();
+
+        final float forgetCycles = memory.param.cycles(memory.param.conceptForgetDurations);
+        for (final Concept c : fired) {
+            final Concept displaced = concepts.putBack(c, forgetCycles, memory);
+            if (displaced != null)
+                conceptRemoved(displaced);
+        }
+        deliver();
+    }
+
+    /** runs the posted messages on the workers, then applies the changes to the bag */
+    private void runPhase() {
+        if (pending.get() > 0) {
+            parallel = true;
+            try {
+                memory.run(workers, threads);
+            }
+            finally {
+                parallel = false;
+            }
+        }
+        deliver();
+    }
+
+    /** applies the changes to the bag queued during a phase, from the memory thread */
+    private void deliver() {
+        final float forgetCycles = memory.param.cycles(memory.param.conceptForgetDurations);
+        Activation a;
+        while ((a = activations.poll()) != null) {
+            final Activation m = a;
+            if (m.budget != null) {
+                //ignored if forgotten since
+                concepts.update(m.concept.name(), x -> BudgetFunctions.activate(x.budget, m.budget, m.mode), forgetCycles, memory);
+                continue;
+            }
+            final Concept displaced = concepts.putBack(m.concept, forgetCycles, memory);
+            if (displaced != null)
+                conceptRemoved(displaced);
+        }
+
+        Concept c;
+        while ((c = created.poll()) != null) {
+            if (memory.logic != null)
+                memory.logic.CONCEPT_NEW.commit(c.term.getComplexity());
+            memory.emit(ConceptNew.class, c);
+        }
+    }
+
+    @Override
+    public int getInputPriority() {
+        return inputPriority;
+    }
+
+    @Override
+    public void reset() {
+        concepts.clear();
+        index.clear();
+        activations.clear();
+        created.clear();
+    }
+
+    @Override
+    public Concept concept(final Term term) {
+        return index.get(term);
+    }
+
+    @Override
+    public Concept conceptualize(final BudgetValue budget, final Term term, final boolean createIfMissing) {
+        Concept c = index.get(term);
+        if (c != null) {
+            activate(c, budget, Activating.TaskLink);
+            return c;
+        }
+        if (!createIfMissing)
+            return null;
+
+        final Concept n = conceptBuilder.newConcept(budget, term, memory);
+        if (n == null)
+            return null; //ex: has variables
+
+        c = index.putIfAbsent(term, n);
+        if (c != null) {
+            //created meanwhile by another thread
+            activate(c, budget, Activating.TaskLink);
+            return c;
+        }
+        if (parallel) {
+            created.add(n);
+            activations.add(new Activation(n, null, null));
+            return n;
+        }
+
+        if (memory.logic != null)
+            memory.logic.CONCEPT_NEW.commit(term.getComplexity());
+        memory.emit(ConceptNew.class, n);
+
+        final Concept displaced = concepts.putBack(n, memory.param.cycles(memory.param.conceptForgetDurations), memory);
+        if (displaced != null)
+            conceptRemoved(displaced);
+        return (displaced == n) ? null : n;
+    }
+
+    @Override
+    public void activate(final Concept c, final BudgetValue b, final Activating mode) {
+        if (parallel) {
+            activations.add(new Activation(c, b.clone(), mode));
+            return;
+        }
+        concepts.update(c.name(), x -> BudgetFunctions.activate(x.budget, b, mode), memory.param.cycles(memory.param.conceptForgetDurations), memory);
+    }
+
+    @Override
+    public Concept sampleNextConcept() {
+        return concepts.peekNext();
+    }
+
+    @Override
+    public void conceptRemoved(final Concept c) {
+        if (index.remove(c.term, c))
+            memory.emit(ConceptForget.class, c);
+    }
+
+    @Override
+    public Iterator<Concept> iterator() {
+        return index.values().iterator();
+    }
+
+    @Override
+    public Memory getMemory() {
+        return memory;
+    }
+
+    @Override
+    public ConceptStatistics getStatistics() {
+        return (ConceptStatistics) concepts.getStatistics();
+    }
+
+}
@@ -72,7 +72,7 @@ public class AntAttention extends WaveAttention {
         
             
         
-        memory.run(run, Parameters.THREADS);
+        memory.run(run, threads);
         
     }
 
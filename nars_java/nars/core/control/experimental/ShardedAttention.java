@@ -0,0 +1,274 @@
+package nars.core.control.experimental;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import nars.core.Attention;
+import nars.core.Events.ConceptForget;
+import nars.core.Events.ConceptNew;
+import nars.core.Memory;
+import nars.core.control.ConceptStatistics;
+import nars.core.control.FireConcept;
+import nars.entity.BudgetValue;
+import nars.entity.Concept;
+import nars.entity.ConceptBuilder;
+import nars.inference.BudgetFunctions;
+import nars.inference.BudgetFunctions.Activating;
+import nars.language.Term;
+import nars.storage.Bag;
+import nars.storage.Bag.MemoryAware;
+
+/**
+ * Partitions the concepts among several independent bags (shards) by the
+ * hash of their term.  Each cycle, new and novel tasks are processed by the
+ * memory thread, then each shard fires its own concepts on its own worker
+ * thread, so concepts compete for attention only within their shard.
+ *
+ * A shard's bag is only changed by its owner: the creation and activation of
+ * concepts are delivered to the owning shard through its message queue, and
+ * applied when the owner is not firing (at the start and end of its phase,
+ * and by the memory thread between phases).  Concepts are found through a
+ * concurrent index of all shards.  ConceptNew and ConceptForget are emitted
+ * by the memory thread after each phase.
+ *
+ * Experimental: the order of inference depends on thread timing, and the
+ * belief and question counts of getStatistics() are only updated as
+ * concepts enter and leave the shards.
+ */
+public class ShardedAttention implements Attention {
+
+    private final Shard[] shards;
+    private final ConceptBuilder conceptBuilder;
+    private Memory memory;
+
+    /** all concepts in (or being delivered to) the shards */
+    private final ConcurrentHashMap<Term, Concept> index = new ConcurrentHashMap();
+
+    private final ConcurrentLinkedQueue<Concept> created = new ConcurrentLinkedQueue();
+    private final ConcurrentLinkedQueue<Concept> forgotten = new ConcurrentLinkedQueue();
+
+    private final List<Runnable> run = new ArrayList();
+    private final List<Runnable> shardRuns = new ArrayList();
+
+    int inputPriority = 1;
+
+    /** message to a shard: a new concept to insert (budget == null), or an activation */
+    static final class Activation {
+        final Concept concept;
+        final BudgetValue budget;
+        final Activating mode;
+
+        Activation(final Concept concept, final BudgetValue budget, final Activating mode) {
+            this.concept = concept;
+            this.budget = budget;
+            this.mode = mode;
+        }
+    }
+
+    final class Shard implements Runnable {
+        final Bag<Concept,Term> concepts;
+        final ConcurrentLinkedQueue<Activation> inbox = new ConcurrentLinkedQueue();
+
+        Shard(final Bag<Concept,Term> concepts) {
+            this.concepts = concepts;
+            concepts.setStatistics(new ConceptStatistics());
+        }
+
+        void post(final Activation a) {
+            inbox.add(a);
+        }
+
+        /** applies the messages received; only called by the owner */
+        void deliver() {
+            final float forgetCycles = memory.param.cycles(memory.param.conceptForgetDurations);
+            Activation a;
+            while ((a = inbox.poll()) != null) {
+                final Concept c = a.concept;
+                if (a.budget != null) {
+                    //ignored if forgotten since
+                    final Activation m = a;
+                    concepts.update(c.name(), x -> BudgetFunctions.activate(x.budget, m.budget, m.mode), forgetCycles, memory);
+                    continue;
+                }
+                final Concept displaced = concepts.putBack(c, forgetCycles, memory);
+                if (displaced != null)
+                    conceptRemoved(displaced);
+            }
+        }
+
+        /** fires concepts of this shard */
+        @Override
+        public void run() {
+            deliver();
+
+            final int n = memory.param.conceptsFiredPerCycle.get();
+            for (int i = 0; i < n; i++) {
+                final Concept c = concepts.takeNext();
+                if (c == null)
+                    break;
+                new FireConcept(memory, c, 1) {
+                    @Override public void onFinished() {
+                        concepts.putBack(currentConcept, memory.param.cycles(memory.param.conceptForgetDurations), memory);
+                    }
+                }.run();
+            }
+
+            deliver();
+        }
+    }
+
+    /** @param shards the bag of each shard */
+    public ShardedAttention(final Bag<Concept,Term>[] shards, final ConceptBuilder conceptBuilder) {
+        this.shards = new Shard[shards.length];
+        for (int i = 0; i < shards.length; i++) {
+            this.shards[i] = new Shard(shards[i]);
+            shardRuns.add(this.shards[i]);
+        }
+        this.conceptBuilder = conceptBuilder;
+    }
+
+    public int getShards() {
+        return shards.length;
+    }
+
+    Shard shard(final Term t) {
+        return shards[(t.hashCode() & Integer.MAX_VALUE) % shards.length];
+    }
+
+    @Override
+    public void init(final Memory m) {
+        this.memory = m;
+        for (final Shard s : shards) {
+            if (s.concepts instanceof AttentionAware)
+                ((AttentionAware) s.concepts).setAttention(this);
+            if (s.concepts instanceof MemoryAware)
+                ((MemoryAware) s.concepts).setMemory(m);
+        }
+    }
+
+    @Override
+    public void cycle() {
+        deliver();
+
+        final int quota = memory.param.newTasksPerCycle.get();
+        final int newTasks = memory.getNewTasks().size();
+        
+        run.clear();
+        memory.processNewTasks((quota > 0) ? Math.min(quota, newTasks) : newTasks, run);
+        memory.run(run);
+
+        run.clear();
+        memory.processNovelTasks(1, run);
+        memory.run(run);
+        run.clear();
+
+        deliver();
+
+        memory.run(shardRuns, shards.length);
+
+        announce();
+    }
+
+    /** delivers all messages, from the memory thread */
+    private void deliver() {
+        for (final Shard s : shards)
+            s.deliver();
+        announce();
+    }
+
+    /** emits the events of concepts created and forgotten by the shards */
+    private void announce() {
+        Concept c;
+        while ((c = created.poll()) != null) {
+            if (memory.logic != null)
+                memory.logic.CONCEPT_NEW.commit(c.term.getComplexity());
+            memory.emit(ConceptNew.class, c);
+        }
+        while ((c = forgotten.poll()) != null)
+            memory.emit(ConceptForget.class, c);
+    }
+
+    @Override
+    public int getInputPriority() {
+        return inputPriority;
+    }
+
+    @Override
+    public void reset() {
+        for (final Shard s : shards) {
+            s.inbox.clear();
+            s.concepts.clear();
+        }
+        index.clear();
+        created.clear();
+        forgotten.clear();
+    }
+
+    @Override
+    public Concept concept(final Term term) {
+        return index.get(term);
+    }
+
+    @Override
+    public Concept conceptualize(final BudgetValue budget, final Term term, final boolean createIfMissing) {
+        Concept c = index.get(term);
+        if (c != null) {
+            shard(term).post(new Activation(c, budget.clone(), Activating.TaskLink));
+            return c;
+        }
+        if (!createIfMissing)
+            return null;
+
+        final Concept n = conceptBuilder.newConcept(budget, term, memory);
+        if (n == null)
+            return null; //ex: has variables
+
+        c = index.putIfAbsent(term, n);
+        if (c != null) {
+            //created meanwhile by another shard
+            shard(term).post(new Activation(c, budget.clone(), Activating.TaskLink));
+            return c;
+        }
+        created.add(n);
+        shard(term).post(new Activation(n, null, null));
+        return n;
+    }
+
+    @Override
+    public void activate(final Concept c, final BudgetValue b, final Activating mode) {
+        shard(c.term).post(new Activation(c, b.clone(), mode));
+    }
+
+    @Override
+    public Concept sampleNextConcept() {
+        return shards[(int) (memory.time() % shards.length)].concepts.peekNext();
+    }
+
+    @Override
+    public void conceptRemoved(final Concept c) {
+        if (index.remove(c.term, c))
+            forgotten.add(c);
+    }
+
+    @Override
+    public Iterator<Concept> iterator() {
+        return index.values().iterator();
+    }
+
+    @Override
+    public Memory getMemory() {
+        return memory;
+    }
+
+    /** aggregate of the shards' statistics, computed when called */
+    @Override
+    public ConceptStatistics getStatistics() {
+        final ConceptStatistics s = new ConceptStatistics();
+        for (final Shard x : shards)
+            s.merge(x.concepts.getStatistics());
+        return s;
+    }
+
+}
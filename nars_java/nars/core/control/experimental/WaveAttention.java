@@ -16,6 +16,7 @@ import nars.entity.Concept;
 import nars.entity.ConceptBuilder;
 import nars.inference.BudgetFunctions;
 import nars.language.Term;
+import nars.core.control.ConceptStatistics;
 import nars.storage.Bag.MemoryAware;
 import nars.storage.DelayBag;
 import nars.storage.FairDelayBag;
@@ -39,6 +40,9 @@ abstract public class WaveAttention implements Attention {
     int novelTaskPriority = 2;
     int conceptPriority = 2;
     private final int maxConcepts;
+    
+    /** worker threads used by this instance, from Parameters.THREADS when created */
+    protected final int threads = Parameters.THREADS;
                
     public WaveAttention(int maxConcepts, ConceptBuilder conceptBuilder) {
         this.maxConcepts = maxConcepts;
@@ -67,7 +71,7 @@ abstract public class WaveAttention implements Attention {
             });
         }
 
-        memory.run(run, Parameters.THREADS);
+        memory.run(run, threads);
         
         /*if (!run.isEmpty())
             System.out.println("run: "+ run.size() + " " + run + " " + concepts.size());*/
@@ -119,6 +123,7 @@ abstract public class WaveAttention implements Attention {
         this.memory = m;
         
         this.concepts = new FairDelayBag(memory.param.conceptForgetDurations, maxConcepts);      
+        this.concepts.setStatistics(new ConceptStatistics());
         
         if (concepts instanceof MemoryAware)
             ((MemoryAware)concepts).setMemory(m);
@@ -150,6 +155,11 @@ abstract public class WaveAttention implements Attention {
     public Memory getMemory() {
         return memory;
     }
+
+    @Override
+    public ConceptStatistics getStatistics() {
+        return (ConceptStatistics) concepts.getStatistics();
+    }
     
     
     
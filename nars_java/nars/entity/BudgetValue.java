@@ -70,18 +70,19 @@ public class BudgetValue implements Cloneable {
      * @param q Initial quality
      */
     public BudgetValue(final float p, final float d, final float q) {
-        priority = p;
-        durability = d;
+        priority = limitPriority(p);
+        durability = limitDurability(d);
         quality = q;
-        
-        if(d>=1.0) {
-            durability=(float) (1.0-TRUTH_EPSILON);
-            //throw new RuntimeException("durability value above or equal 1");
-        }
-        if(p>1.0) {
-            priority=1.0f;
-            //throw new RuntimeException("priority value above 1");
-        }
+    }
+    
+    private static float limitPriority(final float p) {
+        //throw new RuntimeException("priority value above 1");
+        return (p > 1.0) ? 1.0f : p;
+    }
+    
+    private static float limitDurability(final float d) {
+        //throw new RuntimeException("durability value above or equal 1");
+        return (d >= 1.0) ? (float) (1.0-TRUTH_EPSILON) : d;
     }
 
     /**
@@ -267,6 +268,11 @@ public class BudgetValue implements Cloneable {
         return (summary() >= Parameters.BUDGET_THRESHOLD);
     }
 
+    /** whether a BudgetValue constructed with these values would be above threshold, without allocating it */
+    public static boolean aboveThreshold(final float p, final float d, final float q) {
+        return (aveGeo(limitPriority(p), limitDurability(d), q) >= Parameters.BUDGET_THRESHOLD);
+    }
+
     /**
      * Fully display the BudgetValue
      * @return String representation of the value
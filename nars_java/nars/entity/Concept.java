@@ -460,7 +460,10 @@ public class Concept extends Item<Term> implements Termable {
 //              }
             }
 
-            buildTermLinks(taskBudget);  // recursively insert TermLink
+            if (memory.termLinkBuilder.isEnabled())
+                memory.termLinkBuilder.add(this, taskBudget);  // at the end of the cycle
+            else
+                buildTermLinks(taskBudget);  // recursively insert TermLink
         }
     }
 
@@ -834,7 +837,7 @@ public class Concept extends Item<Term> implements Termable {
         if (beliefs.isEmpty()) return null;
         
         float totalConfidence = getBeliefConfidenceSum();
-        float r = Memory.randomNumber.nextFloat() * totalConfidence;
+        float r = memory.random.nextFloat() * totalConfidence;
                 
         Sentence s = null;
         for (int i = 0; i < beliefs.size(); i++) {
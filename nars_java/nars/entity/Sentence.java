@@ -464,14 +464,9 @@ public class Sentence<T extends Term> implements Cloneable, Termable, Truthable
     
         CharSequence contentName = term.name();
         
-        final long t = nar.memory.time();
-
-        final String tenseString = stamp.getTense(t, nar.memory.getDuration());
-        
-        
         CharSequence stampString = showStamp ? stamp.name() : null;
         
-        int stringLength = contentName.length() + tenseString.length() + 1 + 1;
+        int stringLength = contentName.length() + 1 + 1 + 8;
                 
         if (truth != null)
             stringLength += 11;
@@ -479,9 +474,18 @@ public class Sentence<T extends Term> implements Cloneable, Termable, Truthable
         if (showStamp)
             stringLength += stampString.length()+1;
         
+        return appendTo(new StringBuilder(stringLength), nar.memory.time(), nar.memory.getDuration(), showStamp);
+    }
+    
+    /**
+     * Appends the display representation of the sentence, as of a given time
+     * (which determines the tense shown), to a buffer which can be reused
+     */
+    public StringBuilder appendTo(final StringBuilder buffer, final long now, final int duration, final boolean showStamp) {
+        
+        final String tenseString = stamp.getTense(now, duration);
         
-        final StringBuilder buffer = new StringBuilder(stringLength).
-                    append(contentName).append(punctuation);
+        buffer.append(term.name()).append(punctuation);
         
         if (tenseString.length() > 0)
             buffer.append(' ').append(tenseString);
@@ -492,7 +496,7 @@ public class Sentence<T extends Term> implements Cloneable, Termable, Truthable
         }
         
         if (showStamp)
-            buffer.append(' ').append(stampString);
+            buffer.append(' ').append(stamp.name());
         
         return buffer;
     }
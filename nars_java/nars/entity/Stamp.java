@@ -443,13 +443,14 @@ public class Stamp implements Cloneable {
 
     /**
      * Get the derivationChain, called from derivedTask in Memory
-     * Provides a snapshot copy if in multi-threaded mode.
+     * Provides a snapshot copy if the current memory runs tasks in parallel.
      * @return The evidentialBase of numbers
      */
     public Collection<Term> getChain() {
         ensureChain();
         
-        if (Parameters.THREADS == 1)
+        final Memory m = Memory.current();
+        if ((m == null) || !m.isParallel())
             return derivationChain;
         else {
             //unmodifiable list copy
@@ -297,6 +297,129 @@ public class TruthValue implements Cloneable { // implements Cloneable {
         return this;
     }
 
+    /** number of distinct frequencies (and confidences) at TRUTH_EPSILON resolution */
+    public static final int LEVELS = Math.round(Parameters.TRUTH_PRECISION) + 1;
+
+    /**
+     * Encodes a truth value, rounded to TRUTH_EPSILON, as an int in
+     * 0..LEVELS*LEVELS-1.  Values which are equal according to equals()
+     * usually, but not necessarily, have the same packed value.
+     */
+    public static int pack(final float f, final float c) {
+        return level(f) * LEVELS + level(c);
+    }
+
+    private static int level(final float x) {
+        final int l = Math.round(x * Parameters.TRUTH_PRECISION);
+        return (l < 0) ? 0 : ((l >= LEVELS) ? LEVELS - 1 : l);
+    }
+
+    public static float unpackFrequency(final int packed) {
+        return (packed / LEVELS) / Parameters.TRUTH_PRECISION;
+    }
+
+    public static float unpackConfidence(final int packed) {
+        return (packed % LEVELS) / Parameters.TRUTH_PRECISION;
+    }
+
+    /** this truth value rounded to TRUTH_EPSILON, packed */
+    public int pack() {
+        return pack(frequency, confidence);
+    }
+
+    /**
+     * Encodes a frequency and confidence exactly, as the bits of two floats
+     * in a long, so a truth function can return its result without
+     * allocating a TruthValue.  The confidence is limited as by
+     * setConfidence, so new TruthValue(pair(f, c)) equals new TruthValue(f, c).
+     */
+    public static long pair(final float f, final float c) {
+        final float conf = (c < Parameters.MAX_CONFIDENCE) ? c : Parameters.MAX_CONFIDENCE;
+        return (((long) Float.floatToRawIntBits(f)) << 32) | (Float.floatToRawIntBits(conf) & 0xffffffffL);
+    }
+
+    /** no truth value, as for a question; two NaNs which pair() of a computed value never encodes */
+    public static final long NO_PAIR = -1L;
+
+    public static float pairFrequency(final long pair) {
+        return Float.intBitsToFloat((int) (pair >>> 32));
+    }
+
+    public static float pairConfidence(final long pair) {
+        return Float.intBitsToFloat((int) pair);
+    }
+
+    /** same as getExpectation() of the TruthValue of a pair */
+    public static float pairExpectation(final long pair) {
+        return pairConfidence(pair) * (pairFrequency(pair) - 0.5f) + 0.5f;
+    }
+
+    /**
+     * Constructor with a truth value encoded by pair()
+     *
+     * @param pair The frequency and confidence
+     */
+    public TruthValue(final long pair) {
+        this(pairFrequency(pair), pairConfidence(pair));
+    }
+
+    /**
+     * A shared TruthValue which can not be changed, from {@link #frozen}.
+     * Setting a factor to its current value is allowed.
+     */
+    static final class Frozen extends TruthValue {
+
+        /** false while the superclass constructor initializes the factors */
+        private final boolean frozen;
+
+        Frozen(final float f, final float c) {
+            super(f, c);
+            frozen = true;
+        }
+
+        private void check(final boolean unchanged) {
+            if (frozen && !unchanged)
+                throw new UnsupportedOperationException("Shared TruthValue " + this + " can not be modified");
+        }
+
+        @Override public TruthValue setFrequency(final float f) {
+            check(f == getFrequency());
+            return super.setFrequency(f);
+        }
+
+        @Override public TruthValue setConfidence(final float c) {
+            check(Math.min(c, Parameters.MAX_CONFIDENCE) == getConfidence());
+            return super.setConfidence(c);
+        }
+
+        @Override public TruthValue setAnalytic(final boolean a) {
+            check(a == getAnalytic());
+            return super.setAnalytic(a);
+        }
+
+        @Override public void setAnalytic() {
+            setAnalytic(true);
+        }
+
+        @Override public boolean isShared() {
+            return true;
+        }
+    }
+
+    /**
+     * A TruthValue which can not be changed, for a constant which is shared
+     * instead of allocated where it is only read, like a constant result of
+     * a truth function.  Use clone() to obtain a modifiable copy.
+     */
+    public static TruthValue frozen(final float f, final float c) {
+        return new Frozen(f, c);
+    }
+
+    /** whether this is a shared value from frozen() */
+    public boolean isShared() {
+        return false;
+    }
+
     /** indicates an implementation has, or is associated with a specific TruthValue */
     public interface Truthable {
         public TruthValue getTruth();
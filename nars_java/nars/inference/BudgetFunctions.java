@@ -24,6 +24,7 @@ import static java.lang.Math.max;
 import static java.lang.Math.pow;
 import static java.lang.Math.sqrt;
 import nars.core.Memory;
+import nars.core.Parameters;
 import nars.entity.BudgetValue;
 import nars.entity.Concept;
 import nars.entity.Item;
@@ -33,6 +34,7 @@ import nars.entity.TaskLink;
 import nars.entity.TermLink;
 import nars.entity.TruthValue;
 import nars.language.Term;
+import nars.util.FunctionTable;
 
 /**
  * Budget functions for resources allocation
@@ -49,7 +51,15 @@ public final class BudgetFunctions extends UtilityFunctions {
      * @return The quality of the judgment, according to truth value only
      */
     public final static float truthToQuality(final TruthValue t) {
-        final float exp = t.getExpectation();
+        return expectationToQuality(t.getExpectation());
+    }
+
+    /** truthToQuality of a truth value encoded by {@link TruthValue#pair} */
+    public final static float truthToQuality(final long truth) {
+        return expectationToQuality(TruthValue.pairExpectation(truth));
+    }
+
+    private static float expectationToQuality(final float exp) {
         return (float) max(exp, (1 - exp)*0.75);
     }
 
@@ -199,6 +209,40 @@ public final class BudgetFunctions extends UtilityFunctions {
         return quality;
     }
 
+    /** durability below which forgetIterativeTabulated uses Math.pow */
+    static final float FORGET_TABLE_MIN_DURABILITY = 0.01f;
+    /** exponent below which d^k is taken as 0 (e^-16 &lt; 1.2e-7) */
+    static final float FORGET_TABLE_MIN_EXPONENT = -16f;
+
+    /** ln(d), for the durabilities at which the forget curve is tabulated */
+    static final FunctionTable forgetLn = new FunctionTable(Math::log, FORGET_TABLE_MIN_DURABILITY, 1.0, Parameters.BUDGET_EPSILON);
+    static final FunctionTable forgetExp = new FunctionTable(Math::exp, FORGET_TABLE_MIN_EXPONENT, 0, 16 * Parameters.BUDGET_EPSILON);
+
+    /**
+     * forgetIterative, with durability^(1/(forgetCycles*p)) evaluated as
+     * exp(ln(durability)/(forgetCycles*p)) from precomputed tables instead
+     * of Math.pow.  The resulting priority is within BUDGET_EPSILON of
+     * forgetIterative's.
+     */
+    public static float forgetIterativeTabulated(final BudgetValue budget, final float forgetCycles, final float relativeThreshold) {
+        float quality = budget.getQuality() * relativeThreshold;      // re-scaled quality
+        final float p = budget.getPriority() - quality;                     // priority above quality
+        if (p > 0) {
+            final float d = budget.getDurability();
+            final float decay;
+            if (d < FORGET_TABLE_MIN_DURABILITY) {
+                decay = (float) pow(d, 1.0 / (forgetCycles * p));
+            }
+            else {
+                final float u = forgetLn.y(d) / (forgetCycles * p);
+                decay = (u < FORGET_TABLE_MIN_EXPONENT) ? 0 : forgetExp.y(u);
+            }
+            quality += p * decay;
+        }    // priority Durability
+        budget.setPriority(quality);
+        return quality;
+    }
+
     /** forgetting calculation for real-time timing */
     public static float forgetPeriodic(final BudgetValue budget, final float forgetTime, float minPriority, final long currentTime) {
         long forgetDelta = budget.setLastForgetTime(currentTime);        
@@ -253,18 +297,28 @@ public final class BudgetFunctions extends UtilityFunctions {
      * Forward inference result and adjustment
      *
      * @param truth The truth value of the conclusion
-     * @return The budget value of the conclusion
+     * @return The budget value of the conclusion, or null if below threshold
      */
     public static BudgetValue forward(final TruthValue truth, final nars.core.control.NAL nal) {
         return budgetInference(truthToQuality(truth), 1, nal);
     }
 
+    /**
+     * Forward inference result and adjustment
+     *
+     * @param truth The truth value of the conclusion, from {@link TruthValue#pair}
+     * @return The budget value of the conclusion, or null if below threshold
+     */
+    public static BudgetValue forward(final long truth, final nars.core.control.NAL nal) {
+        return budgetInference(truthToQuality(truth), 1, nal);
+    }
+
     /**
      * Backward inference result and adjustment, stronger case
      *
      * @param truth The truth value of the belief deriving the conclusion
      * @param nal Reference to the memory
-     * @return The budget value of the conclusion
+     * @return The budget value of the conclusion, or null if below threshold
      */
     public static BudgetValue backward(final TruthValue truth, final nars.core.control.NAL nal) {
         return budgetInference(truthToQuality(truth), 1, nal);
@@ -275,7 +329,7 @@ public final class BudgetFunctions extends UtilityFunctions {
      *
      * @param truth The truth value of the belief deriving the conclusion
      * @param nal Reference to the memory
-     * @return The budget value of the conclusion
+     * @return The budget value of the conclusion, or null if below threshold
      */
     public static BudgetValue backwardWeak(final TruthValue truth, final nars.core.control.NAL nal) {
         return budgetInference(w2c(1) * truthToQuality(truth), 1, nal);
@@ -288,7 +342,7 @@ public final class BudgetFunctions extends UtilityFunctions {
      * @param truth The truth value of the conclusion
      * @param content The content of the conclusion
      * @param nal Reference to the memory
-     * @return The budget of the conclusion
+     * @return The budget of the conclusion, or null if below threshold
      */
     public static BudgetValue compoundForward(final TruthValue truth, final Term content, final nars.core.control.NAL nal) {
         final int complexity = (content == null) ? 1 : content.getComplexity();
@@ -300,7 +354,7 @@ public final class BudgetFunctions extends UtilityFunctions {
      *
      * @param content The content of the conclusion
      * @param memory Reference to the memory
-     * @return The budget of the conclusion
+     * @return The budget of the conclusion, or null if below threshold
      */
     public static BudgetValue compoundBackward(final Term content, final nars.core.control.NAL nal) {
         return budgetInference(1, content.getComplexity(), nal);
@@ -311,7 +365,7 @@ public final class BudgetFunctions extends UtilityFunctions {
      *
      * @param content The content of the conclusion
      * @param nal Reference to the memory
-     * @return The budget of the conclusion
+     * @return The budget of the conclusion, or null if below threshold
      */
     public static BudgetValue compoundBackwardWeak(final Term content, final nars.core.control.NAL nal) {
         return budgetInference(w2c(1), content.getComplexity(), nal);
@@ -323,7 +377,8 @@ public final class BudgetFunctions extends UtilityFunctions {
      * @param qual Quality of the inference
      * @param complexity Syntactic complexity of the conclusion
      * @param nal Reference to the memory
-     * @return Budget of the conclusion task
+     * @return Budget of the conclusion task, or null if it would be below
+     * the budget threshold, as no task is derived with it then
      */
     private static BudgetValue budgetInference(final float qual, final int complexity, final nars.core.control.NAL nal) {
         Item t = nal.getCurrentTaskLink();
@@ -341,6 +396,9 @@ public final class BudgetFunctions extends UtilityFunctions {
             bLink.incPriority(or(quality, targetActivation));
             bLink.incDurability(quality);
         }
+        if (!BudgetValue.aboveThreshold(priority, durability, quality)) {
+            return null;
+        }
         return new BudgetValue(priority, durability, quality);
     }
 
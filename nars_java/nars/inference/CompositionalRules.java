@@ -1252,7 +1252,7 @@ OUT: <(&&,<#1 --> lock>,<#1 --> (/,open,$2,_)>) ==> <$2 --> key>>.
 
                 BudgetValue budget = BudgetFunctions.compoundForward(truth, newSentence.term, nal);
 
-                if (budget.aboveThreshold()) {
+                if (budget != null) {
                     Task newTask = new Task(newSentence, budget, task, null);
                     Task dummy = new Task(second_belief, budget, task, null);
 
@@ -1318,7 +1318,7 @@ OUT: <(&&,<#1 --> lock>,<#1 --> (/,open,$2,_)>) ==> <$2 --> key>>.
                 BudgetValue budget = BudgetFunctions.compoundForward(truth, newSentence.term, nal);
 
 
-                if (budget.aboveThreshold()) {
+                if (budget != null) {
                     Task newTask = new Task(newSentence, budget, task, null);
                     Task dummy = new Task(second_belief, budget, task, null);
 
@@ -78,8 +78,8 @@ public final class SyllogisticRules {
         }
         TruthValue value1 = sentence.truth;
         TruthValue value2 = belief.truth;
-        TruthValue truth1 = null;
-        TruthValue truth2 = null;
+        long truth1 = TruthValue.NO_PAIR;
+        long truth2 = TruthValue.NO_PAIR;
         BudgetValue budget1, budget2;
         if (sentence.isQuestion()) {
             budget1 = BudgetFunctions.backwardWeak(value2, nal);
@@ -89,12 +89,12 @@ public final class SyllogisticRules {
              budget2 = BudgetFunctions.backward(value2, nal);
         } else {
             if (sentence.isGoal()) {
-                truth1 = TruthFunctions.desireWeak(value1, value2);
-                truth2 = TruthFunctions.desireWeak(value1, value2);
+                truth1 = TruthFunctions.desireWeakPair(value1, value2);
+                truth2 = TruthFunctions.desireWeakPair(value1, value2);
             } else { 
                 // isJudgment
-                truth1 = TruthFunctions.deduction(value1, value2);
-                truth2 = TruthFunctions.exemplification(value1, value2);
+                truth1 = TruthFunctions.deductionPair(value1, value2);
+                truth2 = TruthFunctions.exemplificationPair(value1, value2);
             }
 
             budget1 = BudgetFunctions.forward(truth1, nal);
@@ -133,9 +133,9 @@ public final class SyllogisticRules {
             return;
         }
         Statement taskContent = (Statement) sentence1.term;
-        TruthValue truth1 = null;
-        TruthValue truth2 = null;
-        TruthValue truth3 = null;
+        long truth1 = TruthValue.NO_PAIR;
+        long truth2 = TruthValue.NO_PAIR;
+        long truth3 = TruthValue.NO_PAIR;
         BudgetValue budget1, budget2, budget3;
         TruthValue value1 = sentence1.truth;
         TruthValue value2 = sentence2.truth;
@@ -149,14 +149,14 @@ public final class SyllogisticRules {
             budget3 = BudgetFunctions.backwardWeak(value2, nal);            
         } else {
             if (sentence1.isGoal()) {
-                truth1 = TruthFunctions.desireStrong(value1, value2);
-                truth2 = TruthFunctions.desireWeak(value2, value1);
-                truth3 = TruthFunctions.desireStrong(value1, value2);
+                truth1 = TruthFunctions.desireStrongPair(value1, value2);
+                truth2 = TruthFunctions.desireWeakPair(value2, value1);
+                truth3 = TruthFunctions.desireStrongPair(value1, value2);
             } else { 
                 // isJudgment
-                truth1 = TruthFunctions.abduction(value1, value2);
-                truth2 = TruthFunctions.abduction(value2, value1);
-                truth3 = TruthFunctions.comparison(value1, value2);
+                truth1 = TruthFunctions.abductionPair(value1, value2);
+                truth2 = TruthFunctions.abductionPair(value2, value1);
+                truth3 = TruthFunctions.comparisonPair(value1, value2);
             }
 
             budget1 = BudgetFunctions.forward(truth1, nal);
@@ -199,7 +199,7 @@ public final class SyllogisticRules {
             order = reverseOrder(order);
         }
         Statement st = (Statement) asym.term;
-        TruthValue truth = null;
+        long truth = TruthValue.NO_PAIR;
         BudgetValue budget;
         Sentence sentence = nal.getCurrentTask().sentence;
         CompoundTerm taskTerm = (CompoundTerm) sentence.term;
@@ -218,12 +218,12 @@ public final class SyllogisticRules {
         } else {
             if (sentence.isGoal()) {
                 if (taskTerm.isCommutative()) {
-                    truth = TruthFunctions.desireWeak(asym.truth, sym.truth);
+                    truth = TruthFunctions.desireWeakPair(asym.truth, sym.truth);
                 } else {
-                    truth = TruthFunctions.desireStrong(asym.truth, sym.truth);
+                    truth = TruthFunctions.desireStrongPair(asym.truth, sym.truth);
                 }
             } else {
-                truth = TruthFunctions.analogy(asym.truth, sym.truth);
+                truth = TruthFunctions.analogyPair(asym.truth, sym.truth);
             }
             
             budget = BudgetFunctions.forward(truth, nal);
@@ -254,15 +254,15 @@ public final class SyllogisticRules {
             return;
         }
         Statement st = (Statement) belief.term;
-        TruthValue truth = null;
+        long truth = TruthValue.NO_PAIR;
         BudgetValue budget;
         if (sentence.isQuestion() || sentence.isQuest()) {
             budget = BudgetFunctions.backward(belief.truth, nal);
         } else {
             if (sentence.isGoal()) {
-                truth = TruthFunctions.desireStrong(sentence.truth, belief.truth);
+                truth = TruthFunctions.desireStrongPair(sentence.truth, belief.truth);
             } else {
-                truth = TruthFunctions.resemblance(belief.truth, sentence.truth);
+                truth = TruthFunctions.resemblancePair(belief.truth, sentence.truth);
             }            
             budget = BudgetFunctions.forward(truth, nal);
         }
@@ -234,6 +234,9 @@ public class TemporalRules {
             if(whole!=null) {
                 TruthValue truth = TruthFunctions.deduction(s1.truth, s2.truth);
                 BudgetValue budget = BudgetFunctions.forward(truth, nal);
+                if (budget == null) {
+                    return false;
+                }
                 budget.setPriority((float) Math.min(0.99, budget.getPriority()));
                 
                 return nal.doublePremiseTask(whole, truth, budget, true)!=null;
@@ -28,6 +28,10 @@ import nars.entity.TruthValue;
  */
 public final class TruthFunctions extends UtilityFunctions {
 
+    /** shared result of the rules which can not draw a conclusion from analytic premises */
+    static final TruthValue NO_EVIDENCE = TruthValue.frozen(0.5f, 0f);
+    static final long NO_EVIDENCE_PAIR = TruthValue.pair(0.5f, 0f);
+
     /* ----- Single argument functions, called in MatchingRules ----- */
     /**
      * {<A ==> B>} |- <B ==> A>
@@ -97,13 +101,18 @@ public final class TruthFunctions extends UtilityFunctions {
      * @return Truth value of the conclusion
      */
     public static final TruthValue deduction(final TruthValue v1, final TruthValue v2) {
+        return new TruthValue(deductionPair(v1, v2));
+    }
+
+    /** {@link #deduction(TruthValue, TruthValue)} as a {@link TruthValue#pair}, without allocating */
+    public static final long deductionPair(final TruthValue v1, final TruthValue v2) {
         final float f1 = v1.getFrequency();
         final float f2 = v2.getFrequency();
         final float c1 = v1.getConfidence();
         final float c2 = v2.getConfidence();
         final float f = and(f1, f2);
         final float c = and(c1, c2, f);
-        return new TruthValue(f, c);
+        return TruthValue.pair(f, c);
     }
 
     /**
@@ -126,13 +135,18 @@ public final class TruthFunctions extends UtilityFunctions {
      * @return Truth value of the conclusion
      */
     static final TruthValue analogy(final TruthValue v1, final TruthValue v2) {
+        return new TruthValue(analogyPair(v1, v2));
+    }
+
+    /** {@link #analogy(TruthValue, TruthValue)} as a {@link TruthValue#pair}, without allocating */
+    static final long analogyPair(final TruthValue v1, final TruthValue v2) {
         final float f1 = v1.getFrequency();
         final float f2 = v2.getFrequency();
         final float c1 = v1.getConfidence();
         final float c2 = v2.getConfidence();
         final float f = and(f1, f2);
         final float c = and(c1, c2, f2);
-        return new TruthValue(f, c);
+        return TruthValue.pair(f, c);
     }
 
     /**
@@ -142,13 +156,18 @@ public final class TruthFunctions extends UtilityFunctions {
      * @return Truth value of the conclusion
      */
     static final TruthValue resemblance(final TruthValue v1, final TruthValue v2) {
+        return new TruthValue(resemblancePair(v1, v2));
+    }
+
+    /** {@link #resemblance(TruthValue, TruthValue)} as a {@link TruthValue#pair}, without allocating */
+    static final long resemblancePair(final TruthValue v1, final TruthValue v2) {
         final float f1 = v1.getFrequency();
         final float f2 = v2.getFrequency();
         final float c1 = v1.getConfidence();
         final float c2 = v2.getConfidence();
         final float f = and(f1, f2);
         final float c = and(c1, c2, or(f1, f2));
-        return new TruthValue(f, c);
+        return TruthValue.pair(f, c);
     }
 
     /**
@@ -159,7 +178,15 @@ public final class TruthFunctions extends UtilityFunctions {
      */
     public static final TruthValue abduction(final TruthValue v1, final TruthValue v2) {
         if (v1.getAnalytic() || v2.getAnalytic()) {
-            return new TruthValue(0.5f, 0f);
+            return NO_EVIDENCE;
+        }
+        return new TruthValue(abductionPair(v1, v2));
+    }
+
+    /** {@link #abduction(TruthValue, TruthValue)} as a {@link TruthValue#pair}, without allocating */
+    public static final long abductionPair(final TruthValue v1, final TruthValue v2) {
+        if (v1.getAnalytic() || v2.getAnalytic()) {
+            return NO_EVIDENCE_PAIR;
         }
         final float f1 = v1.getFrequency();
         final float f2 = v2.getFrequency();
@@ -167,7 +194,7 @@ public final class TruthFunctions extends UtilityFunctions {
         final float c2 = v2.getConfidence();
         final float w = and(f2, c1, c2);
         final float c = w2c(w);
-        return new TruthValue(f1, c);
+        return TruthValue.pair(f1, c);
     }
 
     /**
@@ -178,7 +205,7 @@ public final class TruthFunctions extends UtilityFunctions {
      */
     static final TruthValue abduction(final TruthValue v1, final float reliance) {
         if (v1.getAnalytic()) {
-            return new TruthValue(0.5f, 0f);
+            return NO_EVIDENCE;
         }
         final float f1 = v1.getFrequency();
         final float c1 = v1.getConfidence();
@@ -205,7 +232,15 @@ public final class TruthFunctions extends UtilityFunctions {
      */
     static final TruthValue exemplification(final TruthValue v1, final TruthValue v2) {
         if (v1.getAnalytic() || v2.getAnalytic()) {
-            return new TruthValue(0.5f, 0f);
+            return NO_EVIDENCE;
+        }
+        return new TruthValue(exemplificationPair(v1, v2));
+    }
+
+    /** {@link #exemplification(TruthValue, TruthValue)} as a {@link TruthValue#pair}, without allocating */
+    static final long exemplificationPair(final TruthValue v1, final TruthValue v2) {
+        if (v1.getAnalytic() || v2.getAnalytic()) {
+            return NO_EVIDENCE_PAIR;
         }
         final float f1 = v1.getFrequency();
         final float f2 = v2.getFrequency();
@@ -213,7 +248,7 @@ public final class TruthFunctions extends UtilityFunctions {
         final float c2 = v2.getConfidence();
         final float w = and(f1, f2, c1, c2);
         final float c = w2c(w);
-        return new TruthValue(1, c);
+        return TruthValue.pair(1, c);
     }
 
     /**
@@ -223,6 +258,11 @@ public final class TruthFunctions extends UtilityFunctions {
      * @return Truth value of the conclusion
      */
     static final TruthValue comparison(final TruthValue v1, final TruthValue v2) {
+        return new TruthValue(comparisonPair(v1, v2));
+    }
+
+    /** {@link #comparison(TruthValue, TruthValue)} as a {@link TruthValue#pair}, without allocating */
+    static final long comparisonPair(final TruthValue v1, final TruthValue v2) {
         final float f1 = v1.getFrequency();
         final float f2 = v2.getFrequency();
         final float c1 = v1.getConfidence();
@@ -231,7 +271,7 @@ public final class TruthFunctions extends UtilityFunctions {
         final float f = (f0 == 0) ? 0 : (and(f1, f2) / f0);
         final float w = and(f0, c1, c2);
         final float c = w2c(w);
-        return new TruthValue(f, c);
+        return TruthValue.pair(f, c);
     }
 
     /* ----- desire-value functions, called in SyllogisticRules ----- */
@@ -242,13 +282,18 @@ public final class TruthFunctions extends UtilityFunctions {
      * @return Truth value of the conclusion
      */
     static final TruthValue desireStrong(final TruthValue v1, final TruthValue v2) {
+        return new TruthValue(desireStrongPair(v1, v2));
+    }
+
+    /** {@link #desireStrong(TruthValue, TruthValue)} as a {@link TruthValue#pair}, without allocating */
+    static final long desireStrongPair(final TruthValue v1, final TruthValue v2) {
         final float f1 = v1.getFrequency();
         final float f2 = v2.getFrequency();
         final float c1 = v1.getConfidence();
         final float c2 = v2.getConfidence();
         final float f = and(f1, f2);
         final float c = and(c1, c2, f2);
-        return new TruthValue(f, c);
+        return TruthValue.pair(f, c);
     }
 
     /**
@@ -258,13 +303,18 @@ public final class TruthFunctions extends UtilityFunctions {
      * @return Truth value of the conclusion
      */
     static final TruthValue desireWeak(final TruthValue v1, final TruthValue v2) {
+        return new TruthValue(desireWeakPair(v1, v2));
+    }
+
+    /** {@link #desireWeak(TruthValue, TruthValue)} as a {@link TruthValue#pair}, without allocating */
+    static final long desireWeakPair(final TruthValue v1, final TruthValue v2) {
         final float f1 = v1.getFrequency();
         final float f2 = v2.getFrequency();
         final float c1 = v1.getConfidence();
         final float c2 = v2.getConfidence();
         final float f = and(f1, f2);
         final float c = and(c1, c2, f2, w2c(1.0f));
-        return new TruthValue(f, c);
+        return TruthValue.pair(f, c);
     }
 
     /**
@@ -339,8 +389,10 @@ public final class TruthFunctions extends UtilityFunctions {
      * @return Truth value of the conclusion
      */
     static final TruthValue reduceDisjunction(final TruthValue v1, final TruthValue v2) {
-        final TruthValue v0 = intersection(v1, negation(v2));
-        return deduction(v0, 1f);
+        //deduction(intersection(v1, negation(v2)), 1), without the intermediate values
+        final float f0 = and(v1.getFrequency(), 1 - v2.getFrequency());
+        final float c0 = and(v1.getConfidence(), v2.getConfidence());
+        return new TruthValue(f0, and(f0, c0), true);
     }
 
     /**
@@ -350,8 +402,7 @@ public final class TruthFunctions extends UtilityFunctions {
      * @return Truth value of the conclusion
      */
     static final TruthValue reduceConjunction(final TruthValue v1, final TruthValue v2) {
-        final TruthValue v0 = intersection(negation(v1), v2);
-        return negation(deduction(v0, 1f));
+        return reduceConjunction(v1, v2.getFrequency(), v2.getConfidence());
     }
 
     /**
@@ -361,7 +412,14 @@ public final class TruthFunctions extends UtilityFunctions {
      * @return Truth value of the conclusion
      */
     static final TruthValue reduceConjunctionNeg(final TruthValue v1, final TruthValue v2) {
-        return reduceConjunction(v1, negation(v2));
+        return reduceConjunction(v1, 1 - v2.getFrequency(), v2.getConfidence());
+    }
+
+    /** negation(deduction(intersection(negation(v1), (f2, c2)), 1)), without the intermediate values */
+    private static TruthValue reduceConjunction(final TruthValue v1, final float f2, final float c2) {
+        final float f0 = and(1 - v1.getFrequency(), f2);
+        final float c0 = and(v1.getConfidence(), c2);
+        return new TruthValue(1 - f0, and(f0, c0));
     }
 
     /**
@@ -371,10 +429,12 @@ public final class TruthFunctions extends UtilityFunctions {
      * @return Truth value of the conclusion
      */
     static final TruthValue anonymousAnalogy(final TruthValue v1, final TruthValue v2) {
+        //analogy(v2, (f1, w2c(c1)))
         final float f1 = v1.getFrequency();
-        final float c1 = v1.getConfidence();
-        final TruthValue v0 = new TruthValue(f1, w2c(c1));
-        return analogy(v2, v0);
+        final float c0 = w2c(v1.getConfidence());
+        final float f = and(v2.getFrequency(), f1);
+        final float c = and(v2.getConfidence(), c0, f1);
+        return new TruthValue(f, c);
     }
     
     
@@ -15,6 +15,20 @@ abstract public class InPort<X,Y> implements Iterator<Y> {
     public final Buffer<Y> buffer;
     private float attention;
     
+    /** share of the dequeue turns accumulated from attention, see takeTurn() */
+    private float credit = 0;
+    
+    /** max items read per second, or 0 for unlimited */
+    private double rate = 0;
+    private double tokens = 0;
+    private long lastRefill = 0;
+    
+    /** whether update() is called by an InputPipeline instead of the reasoner */
+    private volatile boolean pipelined = false;
+    
+    /** true while update() reads input; an item then may be between input and buffer */
+    private volatile boolean updating = false;
+    
     
 //    /** initializes with default FIFO and attention=1.0 */
 //    public InPort(Input<X> input, float initialAttention) {        
@@ -74,32 +88,92 @@ abstract public class InPort<X,Y> implements Iterator<Y> {
         return yy;
     }
     
-    public void update() throws IOException {
-        if (buffer == null) return;
+    /** reads input while the buffer has room (and the rate limit allows)
+     *  @return number of input items read */
+    public int update() throws IOException {
+        if (buffer == null) return 0;
         
-        while (!input.finished(false) && (buffer.available() > 0) ) {            
-            X x = input.next();
-            if (x == null)
-                continue;
-            
-            perceive(x);
+        int n = 0;
+        updating = true;
+        try {
+            while (!input.finished(false) && (buffer.available() > 0) && acquire()) {
+                X x = input.next();
+                if (x == null)
+                    continue;
+
+                n++;
+                perceive(x);
+            }
+        }
+        finally {
+            updating = false;
         }
+        return n;
+    }
+    
+    /** takes a token from the rate limit's bucket, which holds at most one second of input */
+    private boolean acquire() {
+        if (rate <= 0) return true;
+        
+        final long now = System.nanoTime();
+        tokens = Math.min(rate, tokens + (now - lastRefill) * rate / 1e9);
+        lastRefill = now;
+        if (tokens < 1)
+            return false;
+        tokens--;
+        return true;
+    }
+
+    /** limits the number of input items read per second; 0 for unlimited */
+    public void setRate(final double itemsPerSecond) {
+        this.rate = itemsPerSecond;
+        this.tokens = Math.min(1, itemsPerSecond);
+        this.lastRefill = System.nanoTime();
+    }
+
+    public double getRate() {
+        return rate;
     }
 
     public float getAttention() {
         return attention;
     }        
     
+    public void setAttention(final float attention) {
+        this.attention = attention;
+    }
+    
+    /** weighted round-robin among ports: a port with attention a gets a turn
+     *  in about a of the rounds, so attention 1.0 (or more) takes every turn */
+    public boolean takeTurn() {
+        if (attention >= 1f)
+            return true;
+        credit += attention;
+        if (credit >= 1f) {
+            credit -= 1f;
+            return true;
+        }
+        return false;
+    }
+    
+    public boolean isPipelined() {
+        return pipelined;
+    }
+
+    public void setPipelined(final boolean pipelined) {
+        this.pipelined = pipelined;
+    }
+    
     public boolean finish() {
         return input.finished(true);
     }
     
     public boolean finished() {
-        if (buffer!=null)
-            if (buffer.size() > 0)
-                return false;
+        //in this order, so an item read by a pipeline thread is not missed between input and buffer
+        if (!input.finished(false) || updating)
+            return false;
         
-        return input.finished(false);
+        return (buffer == null) || (buffer.size() == 0);
     }
     
     public Y next() {
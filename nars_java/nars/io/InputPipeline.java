@@ -0,0 +1,114 @@
+package nars.io;
+
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import nars.core.Memory;
+import nars.io.Output.ERR;
+
+/**
+ * Reads and parses the input of InPorts on a pool of producer threads, so the
+ * reasoner only takes finished tasks from the ports' buffers.  The buffers
+ * must be safe for one producer and one consumer (ex: ConcurrentFIFO).
+ *
+ * Each port is updated by one task at a time, which reschedules itself
+ * immediately while it makes progress and after IDLE_MICROSECONDS when the
+ * input has nothing to give, the buffer is full, or the port's rate limit is
+ * reached.  It ends when the input finishes.  When the pipeline stops, its
+ * unfinished ports return to being updated by the reasoner.
+ */
+public class InputPipeline {
+
+    /** delay before updating a port again after it read nothing */
+    public static final long IDLE_MICROSECONDS = 1000;
+
+    private static final AtomicInteger pipelines = new AtomicInteger();
+
+    public final Memory memory;
+    private final ScheduledThreadPoolExecutor exe;
+    private final CopyOnWriteArrayList<InPort> ports = new CopyOnWriteArrayList();
+
+    public InputPipeline(final Memory memory, final int threads) {
+        this.memory = memory;
+
+        final int id = pipelines.incrementAndGet();
+        this.exe = new ScheduledThreadPoolExecutor(threads, new ThreadFactory() {
+            private final AtomicInteger n = new AtomicInteger();
+            @Override public Thread newThread(Runnable r) {
+                final Thread t = new Thread(r, "Input-" + id + "-" + n.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            }
+        });
+    }
+
+    public int getThreads() {
+        return exe.getCorePoolSize();
+    }
+
+    /** starts updating the port on the pipeline's threads */
+    public void add(final InPort port) {
+        port.setPipelined(true);
+        ports.add(port);
+        submit(new Producer(port), 0);
+    }
+
+    private void submit(final Producer p, final long delayMicroseconds) {
+        try {
+            if (delayMicroseconds == 0)
+                exe.execute(p);
+            else
+                exe.schedule(p, delayMicroseconds, TimeUnit.MICROSECONDS);
+        }
+        catch (RejectedExecutionException stopped) {
+        }
+    }
+
+    /** stops the threads, waiting for ports being updated */
+    public void stop() {
+        exe.shutdownNow();
+        try {
+            exe.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (final InPort p : ports)
+            p.setPipelined(false);
+        ports.clear();
+    }
+
+    public boolean isStopped() {
+        return exe.isShutdown();
+    }
+
+    final class Producer implements Runnable {
+        final InPort port;
+
+        Producer(final InPort port) {
+            this.port = port;
+        }
+
+        @Override
+        public void run() {
+            if (port.input.finished(false)) {
+                ports.remove(port);
+                return;
+            }
+
+            int read;
+            try {
+                read = port.update();
+            }
+            catch (Throwable e) {
+                memory.emit(ERR.class, e);
+                read = 0;
+            }
+
+            submit(this, (read > 0) ? 0 : IDLE_MICROSECONDS);
+        }
+    }
+
+}
@@ -41,7 +41,7 @@ public class TextInput extends Symbols implements Input {
      */
     protected BufferedReader input;
     
-    private boolean finished = false;
+    private volatile boolean finished = false;
     
     public TextInput(String input) {
         this(new BufferedReader(new StringReader(input)));
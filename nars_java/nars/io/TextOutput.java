@@ -27,7 +27,13 @@ import java.io.PrintStream;
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Pattern;
 import nars.core.Events.Answer;
+import nars.core.Events.FrameEnd;
 import nars.core.NAR;
 import nars.entity.Concept;
 import nars.entity.Sentence;
@@ -43,6 +49,10 @@ import nars.operator.Operator;
 
 /**
  * To read and write experience as Task streams
+ * 
+ * Tasks can be filtered by priority, punctuation and term before any text is
+ * generated.  In batched mode, the accepted events of a frame are collected
+ * and formatted together on a separate thread, into reused buffers.
  */
 public class TextOutput extends Output {
 
@@ -57,6 +67,17 @@ public class TextOutput extends Output {
     private boolean showStamp = true;
     private boolean showInput = true;
     private float minPriority = 0;
+    
+    /** punctuations of the tasks shown, or null for all */
+    private String punctuations = null;
+    /** pattern which the term of a task must contain to be shown, or null */
+    private Pattern termPattern = null;
+    
+    /** the events of the current frame, when batched */
+    private Batch batch = null;
+    /** batches not being filled or formatted */
+    private ArrayBlockingQueue<Batch> freeBatches;
+    private ExecutorService formatter;
 
     public interface LineOutput {
         public void println(String s);
@@ -110,6 +131,7 @@ public class TextOutput extends Output {
      * Close an output experience file
      */
     public void closeSaveFile() {
+        flush();
         outExp.close();
         stop();
     }
@@ -121,11 +143,13 @@ public class TextOutput extends Output {
      */
     @Override
     public void event(final Class channel, final Object... oo) {
-        if (!showErrors && (channel == ERR.class))
-            return;
-        
-        if (!showInput && (channel == IN.class))
+        if (batch != null) {
+            if (channel == FrameEnd.class)
+                formatBatch();
+            else if (accept(channel, oo[0]))
+                batch.add(channel, oo[0], nar.time());
             return;
+        }
         
         if ((outExp!=null) || (outExp2!=null)) {
             Object o = oo[0];
@@ -145,17 +169,175 @@ public class TextOutput extends Output {
     final StringBuilder result = new StringBuilder(16 /* estimate */);
     
     public String process(final Class c, final Object o) {
+        if (!accept(c, o))
+            return null;
+        return getOutputString(c, o, true, showStamp, nar, result, 0);
+    }
+    
+    /** applies the filters, before any formatting */
+    protected boolean accept(final Class c, final Object o) {
+        if (!showErrors && (c == ERR.class))
+            return false;
+        
+        if (!showInput && (c == IN.class))
+            return false;
+        
         if (o instanceof Task) {
-            if (!allowTask((Task)o))
-                return null;
+            final Task t = (Task)o;
+            if (t.getPriority() < minPriority)
+                return false;
+            if ((punctuations != null) && (punctuations.indexOf(t.sentence.punctuation) == -1))
+                return false;
+            if ((termPattern != null) && !termPattern.matcher(t.sentence.term.name()).find())
+                return false;
+            return allowTask(t);
         }
-        return getOutputString(c, o, true, showStamp, nar, result, minPriority);
+        return true;
     }
     
     /** may be overridden in subclass to filter certain tasks */
     protected boolean allowTask(Task t) {
         return true;
     }
+    
+    public TextOutput setMinPriority(final float minPriority) {
+        this.minPriority = minPriority;
+        return this;
+    }
+    
+    /** @param punctuations punctuation characters of the tasks to show (ex: "!?"), or null for all */
+    public TextOutput setPunctuations(final String punctuations) {
+        this.punctuations = punctuations;
+        return this;
+    }
+    
+    /** @param termPattern pattern which must be found in the term of a task to show it, or null */
+    public TextOutput setTermPattern(final Pattern termPattern) {
+        this.termPattern = termPattern;
+        return this;
+    }
+    
+    /** 
+     * Batched output: events are collected during a frame, and formatted and
+     * written at its end by a separate thread (which also calls the LineOutput).
+     * Events outside of frames are written at the next frame end or flush().
+     */
+    public TextOutput setBatched(final boolean batched) {
+        if (batched == isBatched())
+            return this;
+        
+        if (batched) {
+            freeBatches = new ArrayBlockingQueue(2);
+            freeBatches.add(new Batch());
+            freeBatches.add(new Batch());
+            batch = new Batch();
+            formatter = Executors.newSingleThreadExecutor(r -> {
+                final Thread t = new Thread(r, "TextOutput");
+                t.setDaemon(true);
+                return t;
+            });
+            source.set(this, true, FrameEnd.class);
+        }
+        else {
+            source.set(this, false, FrameEnd.class);
+            flush();
+            formatter.shutdown();
+            formatter = null;
+            batch = null;
+            freeBatches = null;
+        }
+        return this;
+    }
+    
+    public boolean isBatched() {
+        return batch != null;
+    }
+    
+    /** columns of the events of a frame, and the buffers to format them */
+    static final class Batch {
+        int size = 0;
+        Class[] channels = new Class[64];
+        Object[] signals = new Object[64];
+        long[] times = new long[64];
+        
+        final StringBuilder line = new StringBuilder(128);
+        final StringBuilder text = new StringBuilder(4096);
+        
+        void add(final Class channel, final Object signal, final long time) {
+            if (size == channels.length) {
+                channels = Arrays.copyOf(channels, size * 2);
+                signals = Arrays.copyOf(signals, size * 2);
+                times = Arrays.copyOf(times, size * 2);
+            }
+            channels[size] = channel;
+            signals[size] = signal;
+            times[size] = time;
+            size++;
+        }
+        
+        void clear() {
+            Arrays.fill(signals, 0, size, null);
+            size = 0;
+            text.setLength(0);
+        }
+    }
+    
+    /** hands the current batch to the formatter thread, waiting if it is two batches behind */
+    protected void formatBatch() {
+        final Batch b = batch;
+        if (b.size == 0)
+            return;
+        
+        try {
+            batch = freeBatches.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            batch = new Batch();
+        }
+        
+        final int duration = nar.memory.getDuration();
+        formatter.execute(() -> {
+            write(b, duration);
+            b.clear();
+            freeBatches.offer(b);
+        });
+    }
+    
+    private void write(final Batch b, final int duration) {
+        final StringBuilder line = b.line, text = b.text;
+        
+        for (int i = 0; i < b.size; i++) {
+            line.setLength(0);
+            appendOutput(line, b.channels[i], b.signals[i], true, showStamp, b.times[i], duration);
+            
+            final int start = text.length();
+            Texts.unescape(line, text.append(prefix));
+            
+            if (outExp2 != null)
+                outExp2.println(text.substring(start));
+            text.append('\n');
+        }
+        
+        if (outExp != null) {
+            outExp.append(text);
+            outExp.flush();
+        }
+    }
+    
+    /** in batched mode, writes the events collected so far and waits until they are written */
+    public void flush() {
+        if (batch == null)
+            return;
+        
+        formatBatch();
+        try {
+            formatter.submit(() -> { }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        }
+    }
 
     public TextOutput setErrors(boolean errors) {
         this.showErrors = errors;
@@ -185,8 +367,20 @@ public class TextOutput extends Output {
             
     /** generates a human-readable string from an output channel and signal */
     public static String getOutputString(final Class channel, Object signal, final boolean showChannel, final boolean showStamp, final NAR nar, final StringBuilder buffer, float minPriority) {
+        if ((signal instanceof Task) && (((Task)signal).getPriority() < minPriority))
+            return null;
+        
         buffer.setLength(0);
         
+        appendOutput(buffer, channel, signal, showChannel, showStamp, nar.time(), nar.memory.getDuration());
+        
+        return Texts.unescape(buffer).toString();
+        
+    }
+    
+    /** appends the (still escaped) representation of an output signal, with tenses as of a given time */
+    static void appendOutput(final StringBuilder buffer, final Class channel, Object signal, final boolean showChannel, final boolean showStamp, final long now, final int duration) {
+        
         if (showChannel)
             buffer.append(channel.getSimpleName()).append(": ");        
         
@@ -206,27 +400,17 @@ public class TextOutput extends Output {
             
         }        
         else if ((channel == OUT.class) || (channel == IN.class) || (channel == ECHO.class) || (channel == EXE.class) || (channel == Answer.class))  {
-
-
-
             
             if (signal instanceof Task) {
                 Task t = (Task)signal;                
-                if (t.getPriority() < minPriority)
-                    return null;
-                
-                buffer.append(t.sentence.toString(nar, showStamp));                    
                 
+                t.sentence.appendTo(buffer, now, duration, showStamp);
                 
                 /*
                 Task root = t.getRootTask();
                 if (root!=null)
                     buffer.append(" {{").append(root.sentence).append("}}");
                 */
-//            }            
-//            else if (signal instanceof Sentence) {
-//                Sentence s = (Sentence)signal;                
-//                buffer.append(s.toString(nar, showStamp));                        
             } else {
                 buffer.append(signal.toString());
             }
@@ -236,8 +420,6 @@ public class TextOutput extends Output {
             buffer.append(signal.toString());
         }
         
-        return Texts.unescape(buffer).toString();
-        
     }
     
     public static CharSequence getOutputString(Class channel, Object signal, boolean showChannel, boolean showStamp, NAR nar) {
@@ -306,6 +488,7 @@ public class TextOutput extends Output {
     
     
     public void stop() {
+        setBatched(false);
         setActive(false);
     }
     
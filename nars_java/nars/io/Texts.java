@@ -76,8 +76,11 @@ public class Texts {
     
 
     protected static StringBuilder escape(CharSequence s, boolean unescape, boolean useQuotes) {       
-        StringBuilder b = new StringBuilder(s.length());
-        
+        return escape(s, unescape, useQuotes, new StringBuilder(s.length()));
+    }
+    
+    /** appends the (un)escaped input to b */
+    protected static StringBuilder escape(CharSequence s, boolean unescape, boolean useQuotes, final StringBuilder b) {       
         
         final Map<Character,Character> map = unescape ? escapeMapReverse : escapeMap;
         
@@ -127,6 +130,11 @@ public class Texts {
     public static StringBuilder unescape(CharSequence s) {
         return escape(s, true, true);
     }
+
+    /** appends an unescaped representation of input to a buffer, which can be reused */
+    public static StringBuilder unescape(CharSequence s, StringBuilder target) {
+        return escape(s, true, true, target);
+    }
     
     
     
@@ -0,0 +1,62 @@
+package nars.io.buffer;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded FIFO which one thread can fill while another empties it, without
+ * locking.  Used by ports whose input is parsed on an InputPipeline thread.
+ */
+public class ConcurrentFIFO<B> extends ConcurrentLinkedQueue<B> implements Buffer<B> {
+
+    public final int capacity;
+    private final AtomicInteger size = new AtomicInteger();
+
+    public ConcurrentFIFO(int capacity) {
+        super();
+        this.capacity = capacity;
+    }
+
+    /** adds even when full: a producer checks available() before producing, but one input item can result in several tasks */
+    @Override
+    public boolean offer(final B b) {
+        if (super.offer(b)) {
+            size.incrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public B poll() {
+        final B b = super.poll();
+        if (b != null)
+            size.decrementAndGet();
+        return b;
+    }
+
+    @Override
+    public boolean remove(final Object o) {
+        if (super.remove(o)) {
+            size.decrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public int size() {
+        return size.get();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size.get() == 0;
+    }
+
+    @Override
+    public int available() {
+        return capacity - size();
+    }
+
+}
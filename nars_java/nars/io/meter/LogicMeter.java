@@ -31,7 +31,9 @@ public class LogicMeter extends AbstractMeter implements Serializable {
     
     
     public final EventValueSensor TASK_ADD_NEW;
+    public final EventValueSensor TASK_ADD_NEW_OVERFLOW;
     public final EventValueSensor TASK_DERIVED;
+    public final EventValueSensor TASK_DERIVED_DUPLICATE;
     public final EventValueSensor TASK_EXECUTED;
     
     public final EventValueSensor CONCEPT_NEW;
@@ -98,8 +100,11 @@ public class LogicMeter extends AbstractMeter implements Serializable {
 
         add(TASK_ADD_NEW = new EventValueSensor("task.new.add"));
         TASK_ADD_NEW.setSampleWindow(32);
+        add(TASK_ADD_NEW_OVERFLOW = new EventValueSensor("task.new.overflow"));
         add(TASK_DERIVED = new EventValueSensor("task.derived"));
         TASK_DERIVED.setSampleWindow(32);
+        add(TASK_DERIVED_DUPLICATE = new EventValueSensor("task.derived.duplicate"));
+        TASK_DERIVED_DUPLICATE.setSampleWindow(32);
         add(TASK_EXECUTED = new EventValueSensor("task.executed"));
         TASK_EXECUTED.setSampleWindow(32);
         
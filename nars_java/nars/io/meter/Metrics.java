@@ -0,0 +1,285 @@
+package nars.io.meter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Lightweight registry of metrics which can be updated from any thread
+ * without locking, and written in the Prometheus text exposition format.
+ *
+ * Metrics are registered once, by name, and updated through the returned
+ * handle, so updating one never involves a lookup.
+ */
+public class Metrics {
+
+    abstract public static class Metric {
+        public final String name;
+        public final String help;
+
+        Metric(String name, String help) {
+            this.name = name;
+            this.help = help;
+        }
+
+        /** Prometheus metric type */
+        abstract String type();
+
+        /** writes the samples of this metric, with optional labels (ex: nar="1") */
+        abstract void write(Appendable out, String labels) throws IOException;
+    }
+
+    /** monotonically increasing count, striped to avoid contention */
+    public static class Counter extends Metric {
+        private final LongAdder count = new LongAdder();
+
+        Counter(String name, String help) {
+            super(name, help);
+        }
+
+        public void inc() {
+            count.increment();
+        }
+
+        public void add(final long n) {
+            count.add(n);
+        }
+
+        public long get() {
+            return count.sum();
+        }
+
+        @Override String type() { return "counter"; }
+
+        @Override void write(Appendable out, String labels) throws IOException {
+            sample(out, name, labels, get());
+        }
+    }
+
+    /** value read when the metrics are written */
+    public static class Gauge extends Metric {
+        private final DoubleSupplier value;
+
+        Gauge(String name, String help, DoubleSupplier value) {
+            super(name, help);
+            this.value = value;
+        }
+
+        public double get() {
+            return value.getAsDouble();
+        }
+
+        @Override String type() { return "gauge"; }
+
+        @Override void write(Appendable out, String labels) throws IOException {
+            sample(out, name, labels, get());
+        }
+    }
+
+    /**
+     * Distribution of non-negative long values (ex: nanoseconds), recorded in
+     * log-linear buckets like an HDR histogram: values below 2^SIGNIFICANT_BITS
+     * are exact, larger ones are bucketed with a relative error below
+     * 2^-(SIGNIFICANT_BITS-1).  Written as a Prometheus summary.
+     */
+    public static class Histogram extends Metric {
+
+        public static final int SIGNIFICANT_BITS = 5;
+        static final int SUB = 1 << SIGNIFICANT_BITS;
+        static final int HALF = SUB / 2;
+        static final int BUCKETS = SUB + (63 - SIGNIFICANT_BITS) * HALF;
+
+        static final double[] QUANTILES = { 0.5, 0.9, 0.99, 0.999 };
+
+        private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+        private final LongAdder count = new LongAdder();
+        private final LongAdder sum = new LongAdder();
+        private final AtomicLong max = new AtomicLong();
+
+        /** factor from recorded values to written values (ex: 1e-9 for nanoseconds to seconds) */
+        public final double scale;
+
+        Histogram(String name, String help, double scale) {
+            super(name, help);
+            this.scale = scale;
+        }
+
+        static int bucket(final long v) {
+            if (v < SUB)
+                return (int) v;
+            final int e = 63 - Long.numberOfLeadingZeros(v);
+            final int m = (int) (v >>> (e - SIGNIFICANT_BITS + 1));
+            return SUB + (e - SIGNIFICANT_BITS) * HALF + (m - HALF);
+        }
+
+        /** highest value which falls in a bucket */
+        static long bucketMax(final int b) {
+            if (b < SUB)
+                return b;
+            final int k = b - SUB;
+            final int shift = k / HALF + 1;
+            final long m = HALF + (k % HALF);
+            return ((m + 1) << shift) - 1;
+        }
+
+        public void record(long v) {
+            if (v < 0) v = 0;
+            counts.incrementAndGet(bucket(v));
+            count.increment();
+            sum.add(v);
+            long m;
+            while (v > (m = max.get())) {
+                if (max.compareAndSet(m, v))
+                    break;
+            }
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        public long getSum() {
+            return sum.sum();
+        }
+
+        public long getMax() {
+            return max.get();
+        }
+
+        /**
+         * @param q quantile, in 0..1
+         * @return upper bound of the bucket containing the quantile (at most the maximum recorded), or 0 if empty
+         */
+        public long getQuantile(final double q) {
+            long total = 0;
+            final int n = counts.length();
+            final long[] c = new long[n];
+            for (int i = 0; i < n; i++)
+                total += (c[i] = counts.get(i));
+            if (total == 0)
+                return 0;
+
+            final long rank = Math.max(1, (long) Math.ceil(q * total));
+            long seen = 0;
+            for (int i = 0; i < n; i++) {
+                seen += c[i];
+                if (seen >= rank)
+                    return Math.min(bucketMax(i), getMax());
+            }
+            return getMax();
+        }
+
+        public void clear() {
+            for (int i = 0; i < counts.length(); i++)
+                counts.set(i, 0);
+            count.reset();
+            sum.reset();
+            max.set(0);
+        }
+
+        @Override String type() { return "summary"; }
+
+        @Override void write(Appendable out, String labels) throws IOException {
+            for (final double q : QUANTILES) {
+                final String ql = "quantile=\"" + q + "\"";
+                sample(out, name, (labels == null) ? ql : labels + "," + ql, getQuantile(q) * scale);
+            }
+            sample(out, name + "_sum", labels, getSum() * scale);
+            sample(out, name + "_count", labels, getCount());
+        }
+    }
+
+    private final Map<String, Metric> metrics = new LinkedHashMap();
+
+    protected synchronized <M extends Metric> M register(final M m) {
+        final Metric existing = metrics.get(m.name);
+        if (existing != null) {
+            if (existing.getClass() != m.getClass())
+                throw new IllegalArgumentException("Metric " + m.name + " already registered as " + existing.type());
+            return (M) existing;
+        }
+        metrics.put(m.name, m);
+        return m;
+    }
+
+    public Counter counter(final String name, final String help) {
+        return register(new Counter(name, help));
+    }
+
+    public Gauge gauge(final String name, final String help, final DoubleSupplier value) {
+        return register(new Gauge(name, help, value));
+    }
+
+    /** @param scale factor applied to the recorded values when written */
+    public Histogram histogram(final String name, final String help, final double scale) {
+        return register(new Histogram(name, help, scale));
+    }
+
+    public synchronized Metric get(final String name) {
+        return metrics.get(name);
+    }
+
+    public synchronized List<Metric> getMetrics() {
+        return new ArrayList(metrics.values());
+    }
+
+    /** writes all metrics in the Prometheus text format */
+    public void write(final Appendable out) throws IOException {
+        for (final Metric m : getMetrics()) {
+            header(out, m);
+            m.write(out, null);
+        }
+    }
+
+    /**
+     * writes the metrics of several registries (ex: one per NAR) in the
+     * Prometheus text format, distinguished by a label
+     */
+    public static void write(final Appendable out, final String labelName, final Map<String, ? extends Metrics> sources) throws IOException {
+        //group the samples of each metric together, as the format requires
+        final Map<String, List<Object[]>> byName = new LinkedHashMap();
+        for (final Map.Entry<String, ? extends Metrics> e : sources.entrySet()) {
+            final String labels = labelName + "=\"" + escape(e.getKey()) + "\"";
+            for (final Metric m : e.getValue().getMetrics()) {
+                List<Object[]> l = byName.get(m.name);
+                if (l == null)
+                    byName.put(m.name, l = new ArrayList());
+                l.add(new Object[] { m, labels });
+            }
+        }
+
+        for (final List<Object[]> l : byName.values()) {
+            header(out, (Metric) l.get(0)[0]);
+            for (final Object[] x : l)
+                ((Metric) x[0]).write(out, (String) x[1]);
+        }
+    }
+
+    static void header(final Appendable out, final Metric m) throws IOException {
+        out.append("# HELP ").append(m.name).append(' ').append(m.help).append('\n');
+        out.append("# TYPE ").append(m.name).append(' ').append(m.type()).append('\n');
+    }
+
+    static void sample(final Appendable out, final String name, final String labels, final double value) throws IOException {
+        out.append(name);
+        if (labels != null)
+            out.append('{').append(labels).append('}');
+        out.append(' ');
+        if ((value == Math.rint(value)) && (Math.abs(value) < 1e15))
+            out.append(Long.toString((long) value));
+        else
+            out.append(Double.toString(value));
+        out.append('\n');
+    }
+
+    static String escape(final String labelValue) {
+        return labelValue.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+}
@@ -0,0 +1,69 @@
+package nars.io.meter;
+
+import nars.core.Memory;
+import nars.storage.BagStatistics;
+
+/**
+ * Metrics of a Memory, for monitoring.  Unlike LogicMeter and ResourceMeter,
+ * these are always active and are cheap enough to update on every cycle.
+ */
+public class NARMetrics extends Metrics {
+
+    public final Counter CYCLES;
+    public final Histogram CYCLE_TIME;
+
+    public final Counter TASKS_INPUT;
+    public final Counter TASKS_DERIVED;
+    public final Counter TASKS_EXECUTED;
+
+    public final Histogram IMMEDIATE_PROCESS_TIME;
+    public final Histogram FIRE_CONCEPT_TIME;
+
+    /** cycles between the creation of a derived task's premises and the derivation */
+    public final Histogram DERIVATION_LATENCY;
+
+    /** gauge values, sampled on the memory's thread by {@link #sample} */
+    private volatile double time, concepts, conceptPriorityMean, newTasks, novelTasks;
+
+    private final Memory memory;
+
+    public NARMetrics(final Memory m) {
+        super();
+        this.memory = m;
+
+        CYCLES = counter("nars_cycles_total", "Memory cycles run");
+        CYCLE_TIME = histogram("nars_cycle_seconds", "Duration of a memory cycle", 1e-9);
+
+        TASKS_INPUT = counter("nars_tasks_input_total", "Tasks input from outside");
+        TASKS_DERIVED = counter("nars_tasks_derived_total", "Tasks derived by inference");
+        TASKS_EXECUTED = counter("nars_tasks_executed_total", "Operations executed");
+
+        IMMEDIATE_PROCESS_TIME = histogram("nars_immediate_process_seconds", "Duration of the immediate processing of a new task", 1e-9);
+        FIRE_CONCEPT_TIME = histogram("nars_fire_concept_seconds", "Duration of firing a concept", 1e-9);
+
+        DERIVATION_LATENCY = histogram("nars_derivation_latency_cycles", "Cycles between the newest premise and a derivation", 1);
+
+        gauge("nars_time", "Memory time", () -> time);
+        gauge("nars_concepts", "Concepts in attention", () -> concepts);
+        gauge("nars_concept_priority_mean", "Mean priority of the concepts in attention", () -> conceptPriorityMean);
+        gauge("nars_tasks_new", "New tasks waiting to be processed", () -> newTasks);
+        gauge("nars_tasks_novel", "Novel tasks waiting to be processed", () -> novelTasks);
+    }
+
+    /**
+     * Samples the gauges' values.  Called by the memory at the end of each
+     * cycle, since the memory's structures (ex: the statistics of a bag) can
+     * not be read safely from another thread while it runs.  The statistics
+     * of the default concept bag (LevelBag) are kept incrementally, so this
+     * does not scan the concepts.
+     */
+    public void sample() {
+        final BagStatistics s = memory.concepts.getStatistics();
+        time = memory.time();
+        concepts = s.size();
+        conceptPriorityMean = s.getPriorityMean();
+        newTasks = memory.getNewTasks().size();
+        novelTasks = memory.novelTasks.size();
+    }
+
+}
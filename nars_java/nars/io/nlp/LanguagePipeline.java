@@ -0,0 +1,221 @@
+package nars.io.nlp;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import nars.core.Events.CycleStart;
+import nars.core.Memory;
+import nars.core.NAR;
+import nars.core.control.AbstractTask;
+import nars.entity.Stamp;
+import nars.entity.Task;
+import nars.inference.AbstractObserver;
+import nars.io.Output.ERR;
+import nars.io.narsese.Narsese;
+import nars.io.narsese.Narsese.InvalidInputException;
+import nars.operator.io.Echo;
+
+/**
+ * Translates natural language documents to tasks on a pool of worker threads,
+ * and inputs the resulting batches at the start of a cycle, in the order the
+ * documents were added.
+ *
+ * Each line of a document is translated separately, by default with Twenglish.
+ * Each worker has its own translator and Narsese parser, and tokenizing reuses
+ * the precompiled patterns and per-thread matchers of Twokenize, so documents
+ * are translated without contention.  Lines which fail to translate are
+ * reported on the ERR channel when their batch is input.
+ */
+public class LanguagePipeline extends AbstractObserver {
+
+    /** translates one line of text to tasks; an instance is used by only one thread */
+    public interface Translator {
+        List<AbstractTask> parse(String line, Narsese narsese) throws InvalidInputException;
+    }
+
+    /** a Twenglish translator for each worker */
+    public static Supplier<Translator> twenglish(final Memory memory) {
+        return () -> {
+            final Twenglish t = new Twenglish(memory);
+            return (line, narsese) -> t.parse(line, narsese, true);
+        };
+    }
+
+    /** translates with Englisch; its vocabulary is shared, so translations are serialized */
+    public static Supplier<Translator> englisch(final Englisch e) {
+        return () -> (line, narsese) -> {
+            synchronized (e) {
+                return e.parse(line, narsese, true);
+            }
+        };
+    }
+
+    static final Pattern lineSeparator = Pattern.compile("\\r?\\n");
+
+    private final class Worker {
+        final Translator translator = translators.get();
+        final Narsese narsese = new Narsese(nar);
+    }
+
+    public final NAR nar;
+    private final Supplier<Translator> translators;
+    private final ThreadLocal<Worker> workers;
+    private final ThreadPoolExecutor pool;
+
+    /** documents added and not yet input, in the order they were added */
+    private final ArrayDeque<Future<List<AbstractTask>>> batches = new ArrayDeque();
+    /** remainder of the batch being input */
+    private Iterator<AbstractTask> current = null;
+
+    /** maximum number of tasks input per cycle, 0 for no limit */
+    private int tasksPerCycle = 0;
+
+    public LanguagePipeline(final NAR n, final int threads) {
+        this(n, threads, twenglish(n.memory));
+    }
+
+    public LanguagePipeline(final NAR n, final int threads, final Supplier<Translator> translators) {
+        super(n, true, CycleStart.class);
+        this.nar = n;
+        this.translators = translators;
+        this.workers = ThreadLocal.withInitial(Worker::new);
+
+        final AtomicInteger count = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue(), r -> {
+            final Thread t = new Thread(r, "Language-" + count.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        pool.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * translates a document on a worker; its tasks are input at the start of
+     * a cycle after it, and all documents added before it, are translated
+     */
+    public Future<List<AbstractTask>> add(final String document) {
+        final Future<List<AbstractTask>> f = pool.submit(() -> translate(document));
+        synchronized (batches) {
+            batches.add(f);
+        }
+        return f;
+    }
+
+    /** translates a document in the calling thread */
+    public List<AbstractTask> translate(final String document) {
+        final Worker w = workers.get();
+        final List<AbstractTask> tasks = new ArrayList();
+        for (String line : lineSeparator.split(document)) {
+            line = line.trim();
+            if (line.isEmpty())
+                continue;
+            try {
+                final List<AbstractTask> l = w.translator.parse(line, w.narsese);
+                if (l != null)
+                    tasks.addAll(l);
+            }
+            catch (InvalidInputException e) {
+                tasks.add(new Echo(ERR.class, e));
+            }
+        }
+        return tasks;
+    }
+
+    @Override
+    public void event(final Class event, final Object[] args) {
+        if (nar.memory.isProcessingInput())
+            update();
+    }
+
+    /** inputs the completed batches, up to the limit of tasks per cycle */
+    protected void update() {
+        final Memory m = nar.memory;
+        int remaining = (tasksPerCycle > 0) ? tasksPerCycle : Integer.MAX_VALUE;
+
+        while (remaining > 0) {
+            if ((current == null) || !current.hasNext()) {
+                current = next();
+                if (current == null)
+                    return;
+                continue;
+            }
+
+            final AbstractTask t = current.next();
+            if (t instanceof Task)
+                redate((Task) t, m);
+            m.inputTask(t);
+            remaining--;
+        }
+    }
+
+    /** the tasks of the earliest document, if it is translated */
+    private Iterator<AbstractTask> next() {
+        final Future<List<AbstractTask>> f;
+        synchronized (batches) {
+            f = batches.peek();
+            if ((f == null) || !f.isDone())
+                return null;
+            batches.poll();
+        }
+        try {
+            return f.get().iterator();
+        }
+        catch (ExecutionException e) {
+            nar.memory.emit(ERR.class, e.getCause());
+        }
+        catch (InterruptedException | RuntimeException e) {
+            nar.memory.emit(ERR.class, e);
+        }
+        return Collections.emptyIterator();
+    }
+
+    /** moves a tensed task, created when its document was translated, to the current cycle */
+    private static void redate(final Task t, final Memory m) {
+        final Stamp s = t.sentence.stamp;
+        final long now = m.time();
+        final long created = s.getCreationTime();
+        final long occurrence = s.getOccurrenceTime();
+        if ((created == -1) || (created == now))
+            return;
+        s.setCreationTime(now, m.param.duration.get());
+        if (occurrence != Stamp.ETERNAL)
+            s.setOccurrenceTime(occurrence + (now - created));
+    }
+
+    /** number of documents added and not yet input */
+    public int getPending() {
+        synchronized (batches) {
+            return batches.size() + (((current != null) && current.hasNext()) ? 1 : 0);
+        }
+    }
+
+    public LanguagePipeline setTasksPerCycle(final int n) {
+        this.tasksPerCycle = n;
+        return this;
+    }
+
+    public int getTasksPerCycle() {
+        return tasksPerCycle;
+    }
+
+    /** stops the workers, and inputting; documents not yet input are discarded */
+    public void stop() {
+        setActive(false);
+        pool.shutdownNow();
+        synchronized (batches) {
+            batches.clear();
+        }
+        current = null;
+    }
+
+}
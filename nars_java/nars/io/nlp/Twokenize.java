@@ -199,6 +199,19 @@ public class Twokenize {
             put("mention", Pattern.compile(AtMention));
         }
     };
+
+    /** the protected patterns and their names, in the iteration order of 'patterns' */
+    static final String[] patternNames;
+    static final Pattern[] patternArray;
+    static {
+        patternNames = new String[patterns.size()];
+        patternArray = new Pattern[patterns.size()];
+        int i = 0;
+        for (Entry<String,Pattern> p : patterns.entrySet()) {
+            patternNames[i] = p.getKey();
+            patternArray[i++] = p.getValue();
+        }
+    }
     /*));
                             
      */
@@ -218,11 +231,32 @@ public class Twokenize {
     static Pattern EdgePunctLeft = Pattern.compile(offEdge + "(" + edgePunct + "+)(" + notEdgePunct + ")");
     static Pattern EdgePunctRight = Pattern.compile("(" + notEdgePunct + ")(" + edgePunct + "+)" + offEdge);
 
+    static final Pattern EscapedAmp = Pattern.compile("&amp;", Pattern.LITERAL);
+
+    /**
+     * Matchers of the patterns, reset for each input instead of created, so
+     * that tokenizing allocates no matchers.  Each thread has its own, which
+     * allows tokenizing in parallel.
+     */
+    private static final class Matchers {
+        final Matcher[] protect = new Matcher[patternArray.length];
+        final Matcher edgeLeft = EdgePunctLeft.matcher("");
+        final Matcher edgeRight = EdgePunctRight.matcher("");
+        final Matcher whitespace = Whitespace.matcher("");
+        final Matcher amp = EscapedAmp.matcher("");
+
+        Matchers() {
+            for (int i = 0; i < protect.length; i++)
+                protect[i] = patternArray[i].matcher("");
+        }
+    }
+
+    private static final ThreadLocal<Matchers> matchers = ThreadLocal.withInitial(Matchers::new);
+
     public static String splitEdgePunct(String input) {
-        Matcher m1 = EdgePunctLeft.matcher(input);
-        input = m1.replaceAll("$1$2 $3");
-        m1 = EdgePunctRight.matcher(input);
-        input = m1.replaceAll("$1 $2$3");
+        final Matchers m = matchers.get();
+        input = m.edgeLeft.reset(input).replaceAll("$1$2 $3");
+        input = m.edgeRight.reset(input).replaceAll("$1 $2$3");
         return input;
     }
 
@@ -288,8 +322,9 @@ public class Twokenize {
         //Storing as List[List[String]] to make zip easier later on 
         List<Span> spans = new ArrayList<>();	//linked list?
 
-        for (Entry<String,Pattern> p : patterns.entrySet()) {
-            Matcher matches = p.getValue().matcher(splitPunctText);
+        final Matcher[] protect = matchers.get().protect;
+        for (int p = 0; p < protect.length; p++) {
+            Matcher matches = protect[p].reset(splitPunctText);
             while (matches.find()) {
 
                 // The spans of the "bads" should not be split.
@@ -297,7 +332,7 @@ public class Twokenize {
 
                     //List<Pair<String,Object>> bad = new ArrayList<>(1);
                     spans.add(
-                            new Span(splitPunctText.substring(matches.start(), matches.end()), p.getKey(), matches.start(), matches.end()));
+                            new Span(splitPunctText.substring(matches.start(), matches.end()), patternNames[p], matches.start(), matches.end()));
                     //bads.add(bad);
                     //badSpans.add(new Pair<Integer, Integer>(matches.start(), matches.end()));
                 }
@@ -368,7 +403,7 @@ public class Twokenize {
      * "foo bar " => "foo bar"
      */
     public static String squeezeWhitespace(String input) {
-        return Whitespace.matcher(input).replaceAll(" ").trim();
+        return matchers.get().whitespace.reset(input).replaceAll(" ").trim();
     }
 
     // Final pass tokenization based on special patterns
@@ -414,7 +449,8 @@ public class Twokenize {
      * &amp;'s, in case the text has been buggily double-escaped.
      */
     public static String normalizeTextForTagger(String text) {
-        text = text.replaceAll("&amp;", "&");
+        if (text.indexOf("&amp;") != -1)
+            text = matchers.get().amp.reset(text).replaceAll("&");
         //text = StringEscapeUtils.unescapeHtml(text);
         return text;
     }
@@ -0,0 +1,204 @@
+package nars.io.query;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeoutException;
+import nars.core.Events.Answer;
+import nars.core.Events.CycleEnd;
+import nars.core.Events.ResetStart;
+import nars.core.NAR;
+import nars.entity.Concept;
+import nars.entity.Sentence;
+import nars.entity.Task;
+import nars.inference.AbstractObserver;
+import nars.inference.TemporalRules;
+import nars.language.Term;
+
+/**
+ * Index of pending Query handles, keyed by question term.
+ *
+ * A single observer receives all Answer events and dispatches each one only
+ * to the handles waiting on that term, so the cost of an answer does not grow
+ * with the number of open questions.  Deadlines are kept in priority queues
+ * ordered by expiry and checked once per cycle.
+ */
+public class Queries extends AbstractObserver {
+
+    private final NAR nar;
+
+    private final Map<Term, List<Query>> waiting = new HashMap();
+
+    private final PriorityQueue<Query> timeDeadlines = new PriorityQueue<>(16, new Comparator<Query>() {
+        @Override public int compare(final Query a, final Query b) {
+            return Long.compare(a.deadlineTime, b.deadlineTime);
+        }
+    });
+
+    private final PriorityQueue<Query> msDeadlines = new PriorityQueue<>(16, new Comparator<Query>() {
+        @Override public int compare(final Query a, final Query b) {
+            return Long.compare(a.deadlineMS, b.deadlineMS);
+        }
+    });
+
+    private int pending = 0;
+
+    public Queries(NAR n) {
+        super(n, true, Answer.class, CycleEnd.class, ResetStart.class);
+        this.nar = n;
+    }
+
+    /**
+     * Registers a handle for a question Task which has been (or is about to be) input.
+     *
+     * @param timeoutCycles memory time units until timeout, or -1 for none
+     * @param timeoutMS wall-clock milliseconds until timeout, or -1 for none
+     */
+    public synchronized Query add(final Task question, final long timeoutCycles, final long timeoutMS) {
+        final long now = nar.time();
+
+        final Query q = new Query(this, question, now,
+                timeoutCycles < 0 ? -1 : now + timeoutCycles,
+                timeoutMS < 0 ? -1 : System.currentTimeMillis() + timeoutMS);
+
+        if (answerExisting(q, now))
+            return q;
+
+        final Term term = q.getTerm();
+        List<Query> l = waiting.get(term);
+        if (l == null) {
+            l = new ArrayList(1);
+            waiting.put(term, l);
+        }
+        l.add(q);
+        pending++;
+
+        if (q.deadlineTime!=-1)
+            timeDeadlines.add(q);
+        if (q.deadlineMS!=-1)
+            msDeadlines.add(q);
+
+        return q;
+    }
+
+    /** completes a query immediately if its concept already holds a matching belief (or desire, for quests) */
+    protected boolean answerExisting(final Query q, final long now) {
+        final Concept c = nar.memory.concept(q.getTerm());
+        if (c == null) return false;
+
+        final Sentence problem = q.question.sentence;
+        final List<Sentence> table = problem.isQuestion() ? c.beliefs : c.desires;
+        synchronized (table) {
+            for (int i = 0; i < table.size(); i++) {
+                final Sentence s = table.get(i);
+                if (TemporalRules.matchingOrder(problem.getTemporalOrder(), s.getTemporalOrder()))
+                    return q.answer(s, now);
+            }
+        }
+        return false;
+    }
+
+    /** number of queries still waiting for an answer */
+    public synchronized int size() {
+        return pending;
+    }
+
+    @Override
+    public void event(final Class event, final Object[] args) {
+        if (event == Answer.class) {
+            onAnswer((Task)args[0], (Sentence)args[1]);
+        }
+        else if (event == CycleEnd.class) {
+            expire();
+        }
+        else if (event == ResetStart.class) {
+            cancelAll();
+        }
+    }
+
+    protected synchronized void onAnswer(final Task task, final Sentence belief) {
+        if (pending == 0) return;
+
+        final Term term = task.getTerm();
+        final List<Query> l = waiting.get(term);
+        if (l == null) return;
+
+        final char punc = task.sentence.punctuation;
+        final long now = nar.time();
+        for (int i = 0; i < l.size(); ) {
+            final Query q = l.get(i);
+            if (q.isDone() || ((q.getPunctuation() == punc) && q.answer(belief, now))) {
+                l.remove(i);
+                pending--;
+            }
+            else {
+                i++;
+            }
+        }
+        if (l.isEmpty())
+            waiting.remove(term);
+    }
+
+    /** times out any queries whose deadline has passed */
+    protected synchronized void expire() {
+        if (pending == 0) return;
+
+        if (!timeDeadlines.isEmpty()) {
+            final long now = nar.time();
+            while (!timeDeadlines.isEmpty() && (timeDeadlines.peek().deadlineTime < now)) {
+                timeout(timeDeadlines.poll());
+            }
+        }
+        if (!msDeadlines.isEmpty()) {
+            final long now = System.currentTimeMillis();
+            while (!msDeadlines.isEmpty() && (msDeadlines.peek().deadlineMS < now)) {
+                timeout(msDeadlines.poll());
+            }
+        }
+    }
+
+    protected void timeout(final Query q) {
+        if (q.isDone()) return;
+
+        q.completeExceptionally(new TimeoutException(q.question.sentence.toString()));
+        remove(q);
+    }
+
+    protected void remove(final Query q) {
+        final Term term = q.getTerm();
+        final List<Query> l = waiting.get(term);
+        if ((l != null) && l.remove(q)) {
+            pending--;
+            if (l.isEmpty())
+                waiting.remove(term);
+        }
+    }
+
+    /** removes a query which was cancelled by its caller */
+    protected synchronized void cancelled(final Query q) {
+        remove(q);
+        if (q.deadlineTime!=-1)
+            timeDeadlines.remove(q);
+        if (q.deadlineMS!=-1)
+            msDeadlines.remove(q);
+    }
+
+    /** cancels all pending queries, ex: when the memory is reset */
+    public synchronized void cancelAll() {
+        final List<Query> all = new ArrayList(pending);
+        for (final List<Query> l : waiting.values())
+            all.addAll(l);
+
+        waiting.clear();
+        timeDeadlines.clear();
+        msDeadlines.clear();
+        pending = 0;
+
+        for (final Query q : all)
+            q.cancel(false);
+    }
+
+}
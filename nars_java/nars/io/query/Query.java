@@ -0,0 +1,84 @@
+package nars.io.query;
+
+import java.util.concurrent.CompletableFuture;
+import nars.entity.Sentence;
+import nars.entity.Task;
+import nars.language.Term;
+
+/**
+ * Handle to a pending question (or quest) Task.  Completes with the first
+ * solution reported for the question's term, or exceptionally with a
+ * TimeoutException once its deadline passes.
+ *
+ * Created and tracked by {@link Queries}; the best solution found after
+ * completion remains available through the question Task itself.
+ */
+public class Query extends CompletableFuture<Sentence> {
+
+    private final Queries queries;
+
+    public final Task question;
+
+    /** memory time after which this query times out, or -1 for none */
+    public final long deadlineTime;
+
+    /** system clock (ms) after which this query times out, or -1 for none */
+    public final long deadlineMS;
+
+    /** memory time when the query was submitted */
+    public final long startTime;
+
+    /** memory time when the query was answered, or -1 if not (yet) answered */
+    private long answerTime = -1;
+
+    Query(Queries queries, Task question, long startTime, long deadlineTime, long deadlineMS) {
+        super();
+        this.queries = queries;
+        this.question = question;
+        this.startTime = startTime;
+        this.deadlineTime = deadlineTime;
+        this.deadlineMS = deadlineMS;
+    }
+
+    public Term getTerm() {
+        return question.getTerm();
+    }
+
+    public char getPunctuation() {
+        return question.sentence.punctuation;
+    }
+
+    /** the best solution the reasoner has found so far, which may have improved since completion */
+    public Sentence getBestSolution() {
+        return question.getBestSolution();
+    }
+
+    /** number of memory time units between submission and answer, or -1 if unanswered */
+    public long getLatency() {
+        if (answerTime == -1) return -1;
+        return answerTime - startTime;
+    }
+
+    boolean answer(final Sentence solution, final long now) {
+        if (complete(solution)) {
+            answerTime = now;
+            return true;
+        }
+        return false;
+    }
+
+    /** cancels the query and stops waiting for an answer */
+    @Override
+    public boolean cancel(final boolean mayInterruptIfRunning) {
+        final boolean cancelled = super.cancel(mayInterruptIfRunning);
+        if (cancelled)
+            queries.cancelled(this);
+        return cancelled;
+    }
+
+    @Override
+    public String toString() {
+        return "Query[" + question.sentence + (isDone() ? ",done" : "") + "]";
+    }
+
+}
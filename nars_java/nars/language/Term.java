@@ -24,6 +24,7 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 import nars.core.Memory;
 import nars.core.Parameters;
 import nars.inference.TemporalRules;
@@ -43,7 +44,8 @@ import nars.util.sort.SortedList;
  * exists. Multiple objects may represent the same Term.
  */
 public class Term implements AbstractTerm, Termable {
-    private static final Map<CharSequence,Term> atoms = new HashMap();
+    /** interned atomic terms; being immutable they are shared by all NAR instances */
+    private static final Map<CharSequence,Term> atoms = new ConcurrentHashMap();
 
     final public static Term SELF = Term.get("SELF");
 
@@ -98,8 +100,8 @@ public class Term implements AbstractTerm, Termable {
         Term x = atoms.get(name);
         if (x != null) return x;
         x = new Term(name);
-        atoms.put(name, x);
-        return x;
+        final Term existing = atoms.putIfAbsent(name, x);
+        return (existing != null) ? existing : x;
     }
     
     /** gets the atomic term of an integer */
@@ -0,0 +1,46 @@
+package nars.operator;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import nars.core.Memory;
+import nars.core.Parameters;
+import nars.entity.Task;
+import nars.language.Term;
+
+/**
+ * Operator whose executions run outside of the reasoning cycle.  call()
+ * starts the operation and returns; when it completes, the execution is
+ * recorded and its feedback is input in the next cycle, as for a synchronous
+ * operator (see OperationPool).
+ *
+ * By default execute() runs on the memory's operation pool; an operator
+ * doing its own asynchronous work (ex: I/O) can instead override
+ * executeLater() to return its own future.
+ */
+public abstract class AsynchronousOperator extends Operator {
+
+    protected AsynchronousOperator(String name) {
+        super(name);
+    }
+
+    /** max executions of this operator running at once in a memory; more are rejected */
+    public int getMaxConcurrency() {
+        return 1;
+    }
+
+    /** time (ms) after which a running execution is cancelled, and reported as failed */
+    public long getTimeout() {
+        return Parameters.OPERATION_TIMEOUT;
+    }
+
+    /**
+     * starts an execution
+     * @param pool the memory's operation pool
+     * @return the future feedback of the operation
+     */
+    protected Future<List<Task>> executeLater(final Operation operation, final Term[] args, final Memory memory, final ExecutorService pool) {
+        return pool.submit(() -> execute(operation, args, memory));
+    }
+
+}
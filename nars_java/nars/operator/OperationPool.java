@@ -0,0 +1,217 @@
+package nars.operator;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import nars.core.Memory;
+import nars.core.Parameters;
+import nars.entity.Stamp;
+import nars.entity.Task;
+import nars.language.Term;
+
+/**
+ * Runs the asynchronous operations of a memory on a bounded thread pool, and
+ * inputs their feedback at the start of the cycle after they complete.
+ *
+ * Operations are asynchronous when their operator is an AsynchronousOperator,
+ * or was registered with setAsynchronous (ex: to keep Javascript or Prolog
+ * queries from blocking the reasoner).  Each operator has a limit of
+ * concurrent executions and a timeout.  Tensed feedback is re-dated to the
+ * cycle of its input, as it is perceived then.
+ */
+public class OperationPool {
+
+    /** limits and state of an asynchronous operator */
+    static final class Limits {
+        final int maxConcurrency;
+        final long timeout;
+        final AtomicInteger running = new AtomicInteger();
+
+        Limits(final int maxConcurrency, final long timeout) {
+            this.maxConcurrency = maxConcurrency;
+            this.timeout = timeout;
+        }
+    }
+
+    static final class Execution {
+        final Operator operator;
+        final Operation operation;
+        final Term[] args;
+        final Limits limits;
+        final Future<List<Task>> future;
+        final long deadline;
+
+        Execution(Operator operator, Operation operation, Term[] args, Limits limits, Future<List<Task>> future) {
+            this.operator = operator;
+            this.operation = operation;
+            this.args = args;
+            this.limits = limits;
+            this.future = future;
+            this.deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(limits.timeout);
+        }
+    }
+
+    private final Memory memory;
+    private ThreadPoolExecutor pool;
+
+    private final ConcurrentHashMap<Operator, Limits> limits = new ConcurrentHashMap();
+    private final List<Execution> running = new ArrayList();
+
+    public OperationPool(final Memory memory) {
+        this.memory = memory;
+    }
+
+    /** created when first needed */
+    synchronized ThreadPoolExecutor pool() {
+        if (pool == null) {
+            final AtomicInteger n = new AtomicInteger();
+            pool = new ThreadPoolExecutor(Parameters.OPERATION_THREADS, Parameters.OPERATION_THREADS,
+                    60, TimeUnit.SECONDS, new ArrayBlockingQueue(Parameters.OPERATION_QUEUE), r -> {
+                        final Thread t = new Thread(r, "Operation-" + n.incrementAndGet());
+                        t.setDaemon(true);
+                        return t;
+                    });
+            pool.allowCoreThreadTimeOut(true);
+        }
+        return pool;
+    }
+
+    /** executes an operator's operations asynchronously */
+    public void setAsynchronous(final Operator o, final int maxConcurrency, final long timeoutMS) {
+        limits.put(o, new Limits(maxConcurrency, timeoutMS));
+    }
+
+    /** executes an operator's operations in the reasoning cycle (the default, except for AsynchronousOperator) */
+    public void setSynchronous(final Operator o) {
+        limits.remove(o);
+    }
+
+    public boolean isAsynchronous(final Operator o) {
+        return (o instanceof AsynchronousOperator) || limits.containsKey(o);
+    }
+
+    private Limits limits(final Operator o) {
+        Limits l = limits.get(o);
+        if ((l == null) && (o instanceof AsynchronousOperator)) {
+            final AsynchronousOperator a = (AsynchronousOperator) o;
+            final Limits m = limits.putIfAbsent(o, l = new Limits(a.getMaxConcurrency(), a.getTimeout()));
+            if (m != null) l = m;
+        }
+        return l;
+    }
+
+    /** starts an operation
+     * @throws RejectedExecutionException if the operator or the pool is at its limit */
+    void start(final Operator o, final Operation operation, final Term[] args) {
+        final Limits l = limits(o);
+
+        if (l.running.incrementAndGet() > l.maxConcurrency) {
+            l.running.decrementAndGet();
+            throw new RejectedExecutionException(o + " is running its maximum of " + l.maxConcurrency + " operations");
+        }
+
+        final Future<List<Task>> f;
+        try {
+            if (o instanceof AsynchronousOperator)
+                f = ((AsynchronousOperator) o).executeLater(operation, args, memory, pool());
+            else
+                f = pool().submit(() -> o.execute(operation, args, memory));
+        }
+        catch (RuntimeException e) {
+            l.running.decrementAndGet();
+            throw e;
+        }
+
+        synchronized (running) {
+            running.add(new Execution(o, operation, args, l, f));
+        }
+    }
+
+    /** number of operations started and not yet reported */
+    public int size() {
+        synchronized (running) {
+            return running.size();
+        }
+    }
+
+    /**
+     * called by the memory at the start of a cycle: reports completed
+     * operations and inputs their feedback, and cancels those past their timeout
+     */
+    public void update() {
+        final List<Execution> finished;
+        final long now = System.nanoTime();
+        synchronized (running) {
+            if (running.isEmpty())
+                return;
+            finished = new ArrayList();
+            for (final Iterator<Execution> i = running.iterator(); i.hasNext(); ) {
+                final Execution e = i.next();
+                if (e.future.isDone() || (now - e.deadline >= 0)) {
+                    finished.add(e);
+                    i.remove();
+                }
+            }
+        }
+
+        for (final Execution e : finished) {
+            e.limits.running.decrementAndGet();
+            try {
+                if (!e.future.isDone()) {
+                    e.future.cancel(true);
+                    throw new TimeoutException(e.operator + " exceeded " + e.limits.timeout + "ms");
+                }
+                final List<Task> feedback = e.future.get();
+                redate(feedback);
+                Operator.executed(e.operation, e.args, feedback, memory);
+            }
+            catch (ExecutionException x) {
+                final Throwable cause = x.getCause();
+                Operator.reportExecution(e.operation, e.args, (cause instanceof Exception) ? cause : x, memory);
+            }
+            catch (TimeoutException | CancellationException | InterruptedException x) {
+                Operator.reportExecution(e.operation, e.args, x, memory);
+            }
+        }
+    }
+
+    /** moves tensed feedback, created during the operation, to the current cycle */
+    private void redate(final List<Task> feedback) {
+        if (feedback == null)
+            return;
+        final long now = memory.time();
+        final int duration = memory.param.duration.get();
+        for (final Task t : feedback) {
+            final Stamp s = t.sentence.stamp;
+            final long created = s.getCreationTime();
+            final long occurrence = s.getOccurrenceTime();
+            if ((created == -1) || (created == now))
+                continue;
+            s.setCreationTime(now, duration);
+            if (occurrence != Stamp.ETERNAL)
+                s.setOccurrenceTime(occurrence + (now - created));
+        }
+    }
+
+    /** cancels the running operations, without reporting them */
+    public void clear() {
+        synchronized (running) {
+            for (final Execution e : running) {
+                e.future.cancel(true);
+                e.limits.running.decrementAndGet();
+            }
+            running.clear();
+        }
+    }
+
+}
@@ -77,22 +77,18 @@ public abstract class Operator extends Term implements Plugin {
     * @param op The operator to be executed
     * @param args The arguments to be taken by the operator
     * @param memory The memory on which the operation is executed
-    * @return true if successful, false if an error occurred
+    * @return true if successful (or started, if asynchronous), false if an error occurred
     */
     public final boolean call(final Operation operation, final Term[] args, final Memory memory) {
         try {
-            List<Task> feedback = execute(operation, args, memory);            
-            
-            memory.executedTask(operation, new TruthValue(1f,executionConfidence));
+            if (memory.operations.isAsynchronous(this)) {
+                memory.operations.start(this, operation, args);
+                return true;
+            }
             
-            reportExecution(operation, args, feedback, memory);
+            List<Task> feedback = execute(operation, args, memory);            
             
-
-            if (feedback!=null) {
-                for (final Task t : feedback) {
-                    memory.inputTask(t);
-                }            
-            }
+            executed(operation, args, feedback, memory);
             
             return true;
         }
@@ -126,6 +122,18 @@ public abstract class Operator extends Term implements Plugin {
         
     }
     
+    /** records the execution of an operation, and inputs its feedback */
+    static void executed(final Operation operation, final Term[] args, final List<Task> feedback, final Memory memory) {
+        memory.executedTask(operation, new TruthValue(1f,executionConfidence));
+        
+        reportExecution(operation, args, feedback, memory);
+        
+        if (feedback!=null) {
+            for (final Task t : feedback) {
+                memory.inputTask(t);
+            }            
+        }
+    }
    
     public static String operationExecutionString(final Statement operation) {
         Term operator = operation.getPredicate();
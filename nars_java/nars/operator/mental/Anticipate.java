@@ -50,6 +50,7 @@ import nars.language.Term;
 import nars.operator.Operation;
 import nars.operator.Operator;
 import nars.plugin.mental.InternalExperience;
+import nars.storage.TemporalBeliefIndex;
 
 //**
 //* Operator that creates a judgment with a given statement
@@ -60,6 +61,10 @@ public class Anticipate extends Operator implements EventObserver, Mental {
             
     final Set<Term> newTasks = new LinkedHashSet();
     NAL nal;
+    Memory memory;
+    
+    /** observed temporal beliefs, to confirm anticipations; null if disabled */
+    TemporalBeliefIndex beliefs;
 
     final static TruthValue expiredTruth = new TruthValue(0.0f, Parameters.DEFAULT_JUDGMENT_CONFIDENCE);
     final static BudgetValue expiredBudget = new BudgetValue(Parameters.DEFAULT_JUDGMENT_PRIORITY, Parameters.DEFAULT_JUDGMENT_DURABILITY, BudgetFunctions.truthToQuality(expiredTruth));
@@ -71,9 +76,42 @@ public class Anticipate extends Operator implements EventObserver, Mental {
     @Override
     public boolean setEnabled(NAR n, boolean enabled) {
         n.memory.event.set(this, enabled, Events.InduceSucceedingEvent.class, Events.CycleEnd.class);
+        this.memory = n.memory;
+        if (!enabled)
+            setConfirmFromBeliefs(false);
         return true;
     }
     
+    /**
+     * Whether an anticipated event also counts as happened if a concept
+     * holds a belief that it occurred, positively, between the prediction
+     * and its expiration; otherwise only events which participate in
+     * temporal induction (ex: input) confirm it.  Keeps a TemporalBeliefIndex
+     * while enabled.
+     */
+    public void setConfirmFromBeliefs(boolean b) {
+        if (b && (beliefs == null) && (memory != null)) {
+            beliefs = new TemporalBeliefIndex(memory);
+        }
+        else if (!b && (beliefs != null)) {
+            beliefs.setActive(false);
+            beliefs = null;
+        }
+    }
+    
+    public boolean isConfirmFromBeliefs() {
+        return beliefs != null;
+    }
+    
+    /** whether a concept believes the term occurred in [start, end], as observed rather than predicted */
+    protected boolean believedHappened(Term term, long start, long end) {
+        for (Sentence s : beliefs.between(term, start, end)) {
+            if ((s.stamp.getCreationTime() >= s.getOccurenceTime()) && (s.truth.getExpectation() > 0.5f))
+                return true;
+        }
+        return false;
+    }
+    
     class Vector2Int {
         public long predictionCreationTime; //2014 and this is still the best way to define a data structure that simple?
         public long predictedOccurenceTime; 
@@ -133,7 +171,8 @@ public class Anticipate extends Operator implements EventObserver, Mental {
                 boolean remove = false;
                 
                 if (didntHappen) {
-                    deriveDidntHappen(aTerm,aTime);                                
+                    if ((beliefs == null) || !believedHappened(aTerm, predictionstarted, (long)expiredate))
+                        deriveDidntHappen(aTerm,aTime);                                
                     remove = true;
                 }
 
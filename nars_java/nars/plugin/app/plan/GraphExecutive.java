@@ -29,12 +29,16 @@ import static nars.plugin.app.plan.MultipleExecutionManager.isPlanTerm;
 import nars.util.graph.ImplicationGraph;
 import nars.util.graph.ImplicationGraph.Cause;
 import nars.util.graph.ImplicationGraph.PostCondition;
+import nars.util.graph.ImplicationPaths;
 
 public class GraphExecutive {
 
     public final Memory memory;
     public final ImplicationGraph implication;
     
+    /** cached shortest-path trees over the implication graph, for deterministic planning */
+    public final ImplicationPaths paths;
+    
 
     final int maxConsecutiveIntervalTerms = 1;
         
@@ -52,6 +56,7 @@ public class GraphExecutive {
 
         this.memory = memory;
         this.implication = new ImplicationGraph(memory);
+        this.paths = new ImplicationPaths(implication, minEdgeCost, costPerDelayMagniutde);
     }
 
     
@@ -380,7 +385,7 @@ public class GraphExecutive {
             //TODO disallow edge that completes cycle back to target or traversed edge?
             //  probably an option to allow cycles
 
-            double r = Memory.randomNumber.nextDouble() * totalProb;
+            double r = memory.random.nextDouble() * totalProb;
 
 
             final int pes = possibleEdge.size();
@@ -686,87 +691,110 @@ public class GraphExecutive {
                 
         TreeSet<ParticlePlan> plans = new TreeSet();
         for (final ParticlePath pp : roots) {
-
-            Cause[] path = pp.bestPath;
+            ParticlePlan rp = newPlan(pp.bestPath, pp.score(), pp.distance);
+            if (rp!=null)
+                plans.add(rp);
+        }
+        
+        return plans;
+    } 
+    
+    /**
+     * Deterministic alternative to particlePlan: plans from the cached shortest-path
+     * tree toward the target's postcondition.  Each leaf of the tree (or the required
+     * source, if given) yields at most one candidate plan.
+     */
+    public TreeSet<ParticlePlan> shortestPathPlan(final Term target, final double distance, final Term source) {
+        
+        PostCondition targetPost = new PostCondition(target);
+        
+        if (!implication.containsVertex(targetPost)) {
+            return null;
+        }
+        
+        ImplicationPaths.Tree tree = paths.get(targetPost, distance);
+        
+        List<Term> roots = (source!=null) ? 
+                Arrays.asList(source) : tree.leaves();
+        
+        TreeSet<ParticlePlan> plans = new TreeSet();
+        for (final Term root : roots) {
+            Cause[] path = tree.path(root);
+            if (path == null)
+                continue;
             
-            if (path.length == 0)
-                throw new RuntimeException("ParticlePath empty: " + pp);
+            double pathScore = 0;
+            for (final Cause c : path)
+                pathScore += c.getTruth().getExpectation();
             
-            int operations = 0;
+            ParticlePlan rp = newPlan(path, pathScore, tree.getDistance(root));
+            if (rp!=null) {
+                accumulate(target, path);
+                plans.add(rp);
+            }
+        }
+        
+        return plans;
+    }
+    
+    /** builds the executable sequence for a path from the goal backward, or returns null if it contains no operations */
+    protected ParticlePlan newPlan(final Cause[] path, final double score, final double distance) {
+        
+        if (path.length == 0)
+            throw new RuntimeException("ParticlePath empty");
+        
+        int operations = 0;
+        
+        List<Term> seq = new ArrayList(path.length);
+                    
+        //Calculate path back to target
+        long accumulatedDelay = 0;
+                                                                   
+        for (int i = path.length-1; i >=0; ) {
+            Cause s = path[i];
             
-            List<Term> seq = new ArrayList(path.length);
-                        
-            //Calculate path back to target
-            long accumulatedDelay = 0;
-                                                                       
-            for (int i = path.length-1; i >=0; ) {
-                Cause s = path[i];
-                
-                                
-                Term term = s.cause;
-                
-                i--; //next impl                                
-                                                
-                if (isPlanTerm(term)) {                                        
-                    boolean isInterval = term instanceof Interval;
-                    if (!isInterval) {
-                                                
-                        
-                        if (accumulatedDelay > 0) {
-                            seq.addAll(Interval.intervalTimeSequence(
-                                    accumulatedDelay, maxConsecutiveIntervalTerms, memory)  );
-                            accumulatedDelay = 0;                            
-                        }
-                                                
-                        seq.add(term);
-                        
+                            
+            Term term = s.cause;
+            
+            i--; //next impl                                
+                                            
+            if (isPlanTerm(term)) {                                        
+                boolean isInterval = term instanceof Interval;
+                if (!isInterval) {
+                                            
+                    
+                    if (accumulatedDelay > 0) {
+                        seq.addAll(Interval.intervalTimeSequence(
+                                accumulatedDelay, maxConsecutiveIntervalTerms, memory)  );
+                        accumulatedDelay = 0;                            
                     }
-                    else {
-                        Interval in = (Interval)term;
-                        long time = in.getTime(memory);
-                        accumulatedDelay += time;
-                    }                    
+                                            
+                    seq.add(term);
+                    
                 }
                 else {
-                    //accumulate delay if the temporal rule involves time difference??
-                    /*
-                    if (nonIntervalAdded) { 
-                        ////ignore prefix intervals                        
-                        int temporal = (s.content).getTemporalOrder();
-                        if (temporal == TemporalRules.ORDER_FORWARD) {                            
-                            accumulatedDelay++;
-                        }                        
-                    }
-                    */
-                }
-                
-                if (term instanceof Operation)
-                    operations++;
-            }            
-                
-            //TODO check this prior to above loop, to avoid wasting that effort
-            if (operations == 0)
-                continue;
-                        
-            if (seq.isEmpty())
-                continue;
-            
-            int lastTerm = seq.size()-1;
-            if (seq.get(lastTerm) instanceof Interval)
-                seq.remove(lastTerm);
-
-            
+                    Interval in = (Interval)term;
+                    long time = in.getTime(memory);
+                    accumulatedDelay += time;
+                }                    
+            }
             
-            //System.out.println("  cause: " + Arrays.toString(path));
-            ParticlePlan rp = new ParticlePlan(path, seq, pp.score(), pp.distance);            
-            //System.out.println(" +path: " + pp);
-            plans.add(rp);
+            if (term instanceof Operation)
+                operations++;
+        }            
             
-
-        }
+        if (operations == 0)
+            return null;
+                    
+        if (seq.isEmpty())
+            return null;
         
-        return plans;
-    } 
+        int lastTerm = seq.size()-1;
+        if (seq.get(lastTerm) instanceof Interval)
+            seq.remove(lastTerm);
+
+        return new ParticlePlan(path, seq, score, distance);
+    }
     
     protected Task planTask(nars.core.control.NAL nal, ParticlePlan plan, Concept c, Task task, Term target, char punctuation) {
         
@@ -781,8 +809,18 @@ public class GraphExecutive {
     }
 
    public int plan(final nars.core.control.NAL nal, Concept c, Task task, Term target, int particles, double searchDistance, char punctuation, int maxTasks) {
-
-        TreeSet<ParticlePlan> plans = particlePlan(target, searchDistance, particles);
+       return plan(nal, c, task, target, particles, searchDistance, punctuation, maxTasks, false);
+   }
+   
+   /** @param shortestPath whether to use the shortest-path index instead of particle traversal */
+   public int plan(final nars.core.control.NAL nal, Concept c, Task task, Term target, int particles, double searchDistance, char punctuation, int maxTasks, boolean shortestPath) {
+
+        TreeSet<ParticlePlan> plans = shortestPath ?
+                shortestPathPlan(target, searchDistance, null) :
+                particlePlan(target, searchDistance, particles);
+        
+        if (plans == null)
+            return 0;
         
         int n = 0;
         
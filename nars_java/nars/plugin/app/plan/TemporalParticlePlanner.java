@@ -67,6 +67,12 @@ public class TemporalParticlePlanner implements Plugin, EventObserver {
      * max number of tasks that a plan can generate. chooses the N best
      */
     int maxPlannedTasks = 1;
+    
+    /**
+     * plan from the incrementally maintained shortest-path index rather than 
+     * by random particle traversals
+     */
+    final boolean shortestPath;
        
     MultipleExecutionManager executive;
     GraphExecutive graph;
@@ -77,7 +83,12 @@ public class TemporalParticlePlanner implements Plugin, EventObserver {
     
     
     public TemporalParticlePlanner(float searchDepth, int planParticles, int inlineParticles) {
+        this(searchDepth, planParticles, inlineParticles, false);
+    }
+    
+    public TemporalParticlePlanner(float searchDepth, int planParticles, int inlineParticles, boolean shortestPath) {
         super();
+        this.shortestPath = shortestPath;
         this.searchDepth = this.inlineSearchDepth = searchDepth;
         this.planParticles = planParticles;
         this.inlineParticles = inlineParticles;
@@ -149,7 +160,7 @@ public class TemporalParticlePlanner implements Plugin, EventObserver {
 
         boolean plannable = graph.isPlannable(t.getTerm());
         if (plannable) {
-            graph.plan(nal, concept, t, t.getTerm(), planParticles, searchDepth, '!', maxPlannedTasks);
+            graph.plan(nal, concept, t, t.getTerm(), planParticles, searchDepth, '!', maxPlannedTasks, shortestPath);
         }
 
     }
@@ -167,11 +178,12 @@ public class TemporalParticlePlanner implements Plugin, EventObserver {
                 if (!isPlanTerm(e)) {
                     if (graph.isPlannable(e)) {
 
-                        TreeSet<GraphExecutive.ParticlePlan> plans = 
+                        TreeSet<GraphExecutive.ParticlePlan> plans = shortestPath ?
+                                graph.shortestPathPlan(e, inlineSearchDepth, null) :
                                 graph.particlePlan(e, 
                                         inlineSearchDepth, inlineParticles);
                         
-                        if (plans.size() > 0) {
+                        if ((plans != null) && (plans.size() > 0)) {
                             //use the first
                             GraphExecutive.ParticlePlan pp = plans.first();
 
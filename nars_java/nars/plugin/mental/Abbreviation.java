@@ -41,7 +41,7 @@ public class Abbreviation implements Plugin {
             super("^abbreviate");
         }
 
-        private static AtomicInteger currentTermSerial = new AtomicInteger(1);
+        private final AtomicInteger currentTermSerial = new AtomicInteger(1);
 
         public Term newSerialTerm(char prefix) {
             return new Term(prefix + String.valueOf(currentTermSerial.incrementAndGet()));
@@ -109,7 +109,7 @@ public class Abbreviation implements Plugin {
                     if (event != TaskDerive.class)
                         return;
                     
-                    if ((abbreviationProbability < 1.0) && (Memory.randomNumber.nextDouble() > abbreviationProbability))
+                    if ((abbreviationProbability < 1.0) && (memory.random.nextDouble() > abbreviationProbability))
                         return;
 
                     Task task = (Task)a[0];
@@ -2,6 +2,7 @@ package nars.storage;
 
 import java.util.Iterator;
 import java.util.Set;
+import java.util.function.Consumer;
 import nars.core.Memory;
 import nars.core.Parameters;
 import nars.entity.Item;
@@ -13,6 +14,9 @@ public abstract class Bag<E extends Item<K>,K> implements Iterable<E> {
         public void setMemory(Memory m);
     }
     
+    /** statistics of the items, if attached */
+    protected BagStatistics<E> statistics = null;
+    
     public static final int bin(final float x, final int bins) {
         int i = (int)Math.floor((x + 0.5f/bins) * bins);
         return i;
@@ -151,6 +155,36 @@ public abstract class Bag<E extends Item<K>,K> implements Iterable<E> {
     }
     
     
+    /**
+     * Changes an item while it is in the bag (ex: its budget), and moves it
+     * for its new priority, as take(key), then putIn of the item would.
+     * Implementations override this to move the item within their index,
+     * without removing it from the bag.
+     *
+     * @param key The key of the item
+     * @param mutator applied to the item
+     * @return the item, or null if it is not in the bag (and was not changed)
+     */
+    public E update(final K key, final Consumer<E> mutator) {
+        final E item = take(key);
+        if (item == null)
+            return null;
+        mutator.accept(item);
+        putIn(item);
+        return item;
+    }
+
+    /**
+     * update, applying forgetting after the mutator, as take(key) followed
+     * by putBack would
+     */
+    public E update(final K key, final Consumer<E> mutator, final float forgetCycles, final Memory m) {
+        return update(key, item -> {
+            mutator.accept(item);
+            m.forget(item, getForgetCycles(forgetCycles, item), Parameters.FORGET_QUALITY_RELATIVE);
+        });
+    }
+
     /** x = takeOut(), then putBack(x)
      *  @forgetCycles forgetting time in cycles
      *  @return the variable that was updated, or null if none was taken out
@@ -189,6 +223,27 @@ public abstract class Bag<E extends Item<K>,K> implements Iterable<E> {
         return getClass().getSimpleName();// + "(" + size() + "/" + getCapacity() +")";
     }
     
+    /** 
+     * Attaches the statistics returned by getStatistics(), for example to 
+     * use a subclass of BagStatistics 
+     */
+    public void setStatistics(final BagStatistics<E> s) {
+        this.statistics = s;
+    }
+    
+    /** 
+     * aggregate statistics of the items.  slow (recomputed from all items), 
+     * override in subclasses which maintain them incrementally 
+     */
+    public BagStatistics<E> getStatistics() {
+        if (statistics == null)
+            statistics = new BagStatistics();
+        statistics.clear();
+        for (final E e : values())
+            statistics.add(e);
+        return statistics;
+    }
+    
     /** slow, probably want to override in subclasses */
     public float getMinPriority() {
         float min = 1.0f;
@@ -0,0 +1,103 @@
+package nars.storage;
+
+import nars.entity.Item;
+
+/**
+ * Aggregate priority statistics of the items of a bag: count, sum, sum of
+ * squares and a histogram.
+ *
+ * Bags which support it update these as items are added and removed, so
+ * reading them costs nothing; others refill them with a scan of their items
+ * (see {@link Bag#getStatistics()}).  Like the mass of LevelBag, this relies
+ * on an item's priority not changing while it is in the bag.
+ */
+public class BagStatistics<E extends Item> {
+
+    /** number of priority histogram bins, from the highest priorities (bin 0) to the lowest */
+    public static final int HISTOGRAM_BINS = 4;
+
+    private int count;
+    private double prioritySum;
+    private double prioritySumSq;
+    private final int[] histogram = new int[HISTOGRAM_BINS];
+
+    /** histogram bin of a priority: 0 = (0.75, 1], 1 = (0.5, 0.75], ... */
+    static int bin(final float p) {
+        final int level = (int) Math.ceil(p * HISTOGRAM_BINS) - 1;
+        if (level < 0) return HISTOGRAM_BINS - 1;
+        if (level >= HISTOGRAM_BINS) return 0;
+        return HISTOGRAM_BINS - 1 - level;
+    }
+
+    /** called after an item has been added to the bag */
+    public void add(final E item) {
+        final float p = item.getPriority();
+        count++;
+        prioritySum += p;
+        prioritySumSq += p * p;
+        histogram[bin(p)]++;
+    }
+
+    /** called after an item has been removed from the bag */
+    public void remove(final E item) {
+        final float p = item.getPriority();
+        count--;
+        histogram[bin(p)]--;
+        if (count == 0) {
+            //discard accumulated rounding error
+            prioritySum = prioritySumSq = 0;
+        }
+        else {
+            prioritySum -= p;
+            prioritySumSq -= p * p;
+        }
+    }
+
+    /** adds the statistics of another bag, to aggregate several */
+    public void merge(final BagStatistics<E> s) {
+        count += s.count;
+        prioritySum += s.prioritySum;
+        prioritySumSq += s.prioritySumSq;
+        for (int i = 0; i < HISTOGRAM_BINS; i++)
+            histogram[i] += s.histogram[i];
+    }
+
+    public void clear() {
+        count = 0;
+        prioritySum = prioritySumSq = 0;
+        for (int i = 0; i < HISTOGRAM_BINS; i++)
+            histogram[i] = 0;
+    }
+
+    /** number of items */
+    public int size() {
+        return count;
+    }
+
+    public double getPrioritySum() {
+        return prioritySum;
+    }
+
+    public double getPriorityMean() {
+        return (count > 0) ? prioritySum / count : 0;
+    }
+
+    /** sample variance of the priorities */
+    public double getPriorityVariance() {
+        if (count < 2) return 0;
+        //http://en.wikipedia.org/wiki/Algorithms_for_calculating_variance
+        final double v = (prioritySumSq - ((prioritySum * prioritySum) / count)) / (count - 1);
+        return Math.max(v, 0);
+    }
+
+    /**
+     * fraction of items in each priority bin, highest priorities first
+     * @param x array of HISTOGRAM_BINS length to fill
+     */
+    public double[] getPriorityHistogram(final double[] x) {
+        for (int i = 0; i < HISTOGRAM_BINS; i++)
+            x[i] = (count > 0) ? ((double) histogram[i]) / count : 0;
+        return x;
+    }
+
+}
@@ -7,9 +7,11 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 import nars.core.Memory;
 import nars.core.Parameters;
 import nars.entity.Item;
+import nars.util.FunctionTable;
 import nars.util.sort.ArraySortedIndex;
 import nars.util.sort.SortedIndex;
 
@@ -278,6 +280,8 @@ public class CurveBag<E extends Item<K>, K> extends Bag<E,K> {
      * @return 
      */
     public float getFocus(final float x) {
+        if (curve instanceof TabulatedCurve)
+            return ((TabulatedCurve)curve).y(x);
         return (float)curve.y(x);
     }
     
@@ -296,6 +300,20 @@ public class CurveBag<E extends Item<K>, K> extends Bag<E,K> {
         return nameTable.remove(name);
     }
 
+    /** re-sorts the item for its new priority, keeping it in the name table */
+    @Override public E update(final K key, final Consumer<E> mutator) {
+        final E item = nameTable.get(key);
+        if (item == null)
+            return null;
+
+        items.remove(item);
+        mass -= item.budget.getPriority();
+        mutator.accept(item);
+        items.add(item);
+        mass += item.budget.getPriority();
+        return item;
+    }
+
 
 
     @Override
@@ -403,6 +421,32 @@ public class CurveBag<E extends Item<K>, K> extends Bag<E,K> {
 
 
     
+    /**
+     * A BagCurve evaluated from a table of another curve, sampled at
+     * BUDGET_EPSILON intervals of x, which avoids evaluating the curve
+     * (ex: Math.exp) on every removal.  The curve is assumed to be smooth
+     * (like the curves below) so that the table is within BUDGET_EPSILON of it.
+     */
+    public static class TabulatedCurve implements BagCurve {
+
+        public final BagCurve curve;
+        private final FunctionTable table;
+
+        public TabulatedCurve(final BagCurve curve) {
+            this.curve = curve;
+            this.table = new FunctionTable(curve::y, 0, 1.0, Parameters.BUDGET_EPSILON);
+        }
+
+        @Override public final double y(final double x) {
+            return table.y((float) x);
+        }
+
+        public final float y(final float x) {
+            return table.y(x);
+        }
+
+    }
+
     public static class CubicBagCurve implements nars.storage.CurveBag.BagCurve {
 
         @Override public final double y(final double x) {
@@ -9,6 +9,7 @@ import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 import java.util.WeakHashMap;
+import java.util.function.Consumer;
 import javolution.util.FastSet;
 import javolution.util.function.Equality;
 import nars.core.Parameters;
@@ -347,6 +348,28 @@ public class GearBag<E extends Item<K>,K> extends Bag<E,K> {
 
 
 
+    /**
+     * moves the item to the level for its new priority, if it changed; an
+     * item in the outgoing queue stays there
+     */
+    @Override public E update(final K key, final Consumer<E> mutator) {
+        final E item = index.get(key);
+        if (item == null)
+            return null;
+
+        final int before = getLevel(item);
+        removeMass(item);
+        mutator.accept(item);
+        addMass(item);
+
+        final int after = getLevel(item);
+        if ((after != before) && level[before].remove(item)) {
+            sizeLevels--;
+            level[after].addLast(item);
+        }
+        return item;
+    }
+
     /**
      * Decide the put-in level according to priority
      *
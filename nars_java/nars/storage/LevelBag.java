@@ -29,6 +29,7 @@ import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 import nars.core.Parameters;
 import nars.entity.Item;
 
@@ -208,6 +209,8 @@ public class LevelBag<E extends Item<K>,K> extends Bag<E,K> {
         levelIndex = capacity % levels; // so that different bags start at different point
         mass = 0;
         currentCounter = 0;
+        if (statistics != null)
+            statistics.clear();
     }
 
     /**
@@ -374,7 +377,27 @@ public class LevelBag<E extends Item<K>,K> extends Bag<E,K> {
             return null;
         }
         
-        
+        return takeFromLevel(oldItem);
+    }
+
+    /** moves the item to the end of the level for its new priority, keeping it in the name table */
+    @Override public E update(final K key, final Consumer<E> mutator) {
+        final E item = nameTable.get(key);
+        if (item == null)
+            return null;
+
+        takeFromLevel(item);
+        mutator.accept(item);
+
+        final int inLevel = getLevel(item);
+        ensureLevelExists(inLevel);
+        level[inLevel].add(item);
+        addMass(item);
+        return item;
+    }
+
+    /** removes an item, which was removed from the name table, from its level */
+    private E takeFromLevel(final E oldItem) {
         final int expectedLevel = getLevel(oldItem);
 
         //TODO scan up/down iteratively, it is likely to be near where it was
@@ -486,9 +509,30 @@ public class LevelBag<E extends Item<K>,K> extends Bag<E,K> {
 
     protected void removeMass(E item) {
         mass -= item.getPriority();
+        if (statistics != null)
+            statistics.remove(item);
     }
     protected void addMass(E item) {
         mass += item.getPriority();
+        if (statistics != null)
+            statistics.add(item);
+    }
+
+    /** the statistics are filled with the current items, and then kept up to date */
+    @Override
+    public void setStatistics(final BagStatistics<E> s) {
+        s.clear();
+        for (final E e : values())
+            s.add(e);
+        super.setStatistics(s);
+    }
+
+    /** maintained incrementally, no scan needed */
+    @Override
+    public BagStatistics<E> getStatistics() {
+        if (statistics == null)
+            setStatistics(new BagStatistics());
+        return statistics;
     }
     
 
@@ -0,0 +1,337 @@
+package nars.storage;
+
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.Consumer;
+import nars.core.Memory;
+import nars.core.Parameters;
+import nars.entity.Item;
+
+/**
+ * Bag which samples items with probability proportional to their priority,
+ * in O(log n), from a sum tree over a fixed array of slots.
+ *
+ * Each slot holds at most one item.  The tree stores, for each node, the sum
+ * of the weights of the slots below it, and which of those slots has the
+ * lowest and highest priority, so that sampling, inserting, removing,
+ * finding the item to displace when full, and changing the priority of an
+ * item in place (see reindex) each visit one path of the tree, without
+ * shifting other items as in a sorted array.
+ *
+ * An item's weight is its priority plus MIN_WEIGHT, so that items of zero
+ * priority can still be selected.  The priority is read when the item is
+ * inserted or reindexed; if an item's budget is changed while it is in the
+ * bag, reindex it for the bag to see the change.
+ */
+public class SumTreeBag<E extends Item<K>, K> extends Bag<E,K> {
+
+    /** weight added to the priority of each item */
+    public static final float MIN_WEIGHT = Parameters.BUDGET_EPSILON;
+
+    final int capacity;
+
+    /** number of leaves of the tree, the least power of 2 >= capacity */
+    private final int leaves;
+
+    /** items by slot, null where empty */
+    private final E[] items;
+    /** priority of each slot's item, as of its insertion or reindexing */
+    private final float[] priority;
+
+    /** sum of the weights below each node; node 1 is the root, leaf i is node leaves+i */
+    private final double[] sum;
+    /** slot of the lowest and highest priority below each node, -1 if none */
+    private final int[] min, max;
+
+    /** empty slots */
+    private final int[] free;
+    private int freeCount;
+
+    /** mapping from key to slot */
+    private final Map<K, Integer> index;
+
+    public SumTreeBag(final int capacity) {
+        super();
+        this.capacity = capacity;
+
+        int l = 1;
+        while (l < capacity) l <<= 1;
+        this.leaves = l;
+
+        this.items = (E[]) new Item[capacity];
+        this.priority = new float[capacity];
+        this.sum = new double[2 * leaves];
+        this.min = new int[2 * leaves];
+        this.max = new int[2 * leaves];
+        this.free = new int[capacity];
+        this.index = new HashMap(capacity * 2);
+
+        clear();
+    }
+
+    @Override
+    public final void clear() {
+        Arrays.fill(items, null);
+        Arrays.fill(sum, 0);
+        Arrays.fill(min, -1);
+        Arrays.fill(max, -1);
+        index.clear();
+        freeCount = capacity;
+        for (int i = 0; i < capacity; i++)
+            free[i] = capacity - 1 - i; //lowest slots first
+    }
+
+    @Override
+    public int size() {
+        return index.size();
+    }
+
+    @Override
+    public int getCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public E get(final K key) {
+        final Integer i = index.get(key);
+        return (i == null) ? null : items[i];
+    }
+
+    @Override
+    public boolean contains(final E it) {
+        final Integer i = index.get(it.name());
+        return (i != null) && (items[i].equals(it));
+    }
+
+    @Override
+    public Set<K> keySet() {
+        return index.keySet();
+    }
+
+    /**
+     * Add a new Item into the Bag.  An item with the same key is merged with
+     * it in place, and its priority reindexed.
+     */
+    @Override
+    public E putIn(final E newItem) {
+        final Integer i = index.get(newItem.name());
+        if (i == null)
+            return addItem(newItem);
+
+        final E existing = items[i];
+        if (existing != newItem)
+            existing.merge(newItem);
+        update(i);
+        return null;
+    }
+
+    @Override
+    protected E addItem(final E newItem) {
+        E overflow = null;
+        if (size() >= capacity) {
+            final int lowest = min[1];
+            if (newItem.getPriority() < priority[lowest])
+                return newItem;
+            overflow = remove(lowest);
+        }
+
+        final int i = free[--freeCount];
+        items[i] = newItem;
+        index.put(newItem.name(), i);
+        update(i);
+        return overflow;
+    }
+
+    @Override
+    public E take(final K key) {
+        final Integer i = index.get(key);
+        return (i == null) ? null : remove(i);
+    }
+
+    /**
+     * Choose an item with probability proportional to its priority and take
+     * it out of the Bag
+     */
+    @Override
+    public E takeNext() {
+        if (size() == 0) return null;
+        return remove(sample(Memory.randomNumber.nextDouble()));
+    }
+
+    @Override
+    public E peekNext() {
+        if (size() == 0) return null;
+        return items[sample(Memory.randomNumber.nextDouble())];
+    }
+
+    /** changes the item in its slot, and updates its weight in O(log n) */
+    @Override
+    public E update(final K key, final Consumer<E> mutator) {
+        final Integer i = index.get(key);
+        if (i == null)
+            return null;
+        final E item = items[i];
+        mutator.accept(item);
+        update(i);
+        return item;
+    }
+
+    /**
+     * Updates the position of an item whose priority was changed while in
+     * the bag, in O(log n)
+     * @return whether the key is in the bag
+     */
+    public boolean reindex(final K key) {
+        final Integer i = index.get(key);
+        if (i == null)
+            return false;
+        update(i);
+        return true;
+    }
+
+    /**
+     * the slot at a proportion x (0 &lt;= x &lt; 1) of the total weight, in
+     * slot order; the bag must not be empty
+     */
+    protected int sample(final double x) {
+        double r = x * sum[1];
+        int n = 1;
+        while (n < leaves) {
+            final int left = n << 1;
+            //prefer a non-empty side when r is at the rounded end of the sum
+            if ((r < sum[left]) || (sum[left + 1] <= 0)) {
+                n = left;
+            }
+            else {
+                r -= sum[left];
+                n = left + 1;
+            }
+        }
+        return n - leaves;
+    }
+
+    private E remove(final int i) {
+        final E e = items[i];
+        items[i] = null;
+        index.remove(e.name());
+        free[freeCount++] = i;
+        update(i);
+        return e;
+    }
+
+    /** re-reads the slot's priority and updates the path to the root */
+    private void update(final int i) {
+        int n = leaves + i;
+        final E e = items[i];
+        if (e != null) {
+            final float p = e.getPriority();
+            priority[i] = p;
+            sum[n] = p + MIN_WEIGHT;
+            min[n] = max[n] = i;
+        }
+        else {
+            sum[n] = 0;
+            min[n] = max[n] = -1;
+        }
+
+        while (n > 1) {
+            n >>= 1;
+            final int left = n << 1, right = left + 1;
+            sum[n] = sum[left] + sum[right];
+            min[n] = lower(min[left], min[right]);
+            max[n] = higher(max[left], max[right]);
+        }
+    }
+
+    private int lower(final int a, final int b) {
+        if (a == -1) return b;
+        if (b == -1) return a;
+        return (priority[b] < priority[a]) ? b : a;
+    }
+
+    private int higher(final int a, final int b) {
+        if (a == -1) return b;
+        if (b == -1) return a;
+        return (priority[b] > priority[a]) ? b : a;
+    }
+
+    @Override
+    public float getMass() {
+        final float m = (float) (sum[1] - size() * (double) MIN_WEIGHT);
+        return (m > 0) ? m : 0;
+    }
+
+    @Override
+    public float getAveragePriority() {
+        final int s = size();
+        if (s == 0) {
+            return 0.01f;
+        }
+        final float f = getMass() / s;
+        if (f > 1f)
+            return 1.0f;
+        return f;
+    }
+
+    @Override
+    public float getMinPriority() {
+        return (min[1] == -1) ? 0 : priority[min[1]];
+    }
+
+    @Override
+    public float getMaxPriority() {
+        return (max[1] == -1) ? 0 : priority[max[1]];
+    }
+
+    @Override
+    public Collection<E> values() {
+        return new AbstractCollection<E>() {
+
+            @Override public Iterator<E> iterator() {
+                return new Iterator<E>() {
+                    int next = advance(0);
+
+                    private int advance(int i) {
+                        while ((i < capacity) && (items[i] == null)) i++;
+                        return i;
+                    }
+
+                    @Override public boolean hasNext() {
+                        return next < capacity;
+                    }
+
+                    @Override public E next() {
+                        if (next >= capacity)
+                            throw new NoSuchElementException();
+                        final E e = items[next];
+                        next = advance(next + 1);
+                        return e;
+                    }
+                };
+            }
+
+            @Override public int size() {
+                return SumTreeBag.this.size();
+            }
+        };
+    }
+
+    /** iterates a copy of the items, in descending priority */
+    @Override
+    public Iterator<E> iterator() {
+        final List<E> l = new ArrayList(size());
+        for (final E e : values())
+            l.add(e);
+        l.sort((a, b) -> Float.compare(b.getPriority(), a.getPriority()));
+        return l.iterator();
+    }
+
+}
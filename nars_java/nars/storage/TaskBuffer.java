@@ -0,0 +1,119 @@
+package nars.storage;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import nars.entity.Task;
+
+/**
+ * Buffer of new tasks waiting to be processed.
+ *
+ * Without a capacity (capacity <= 0) it is a plain FIFO queue.  With a
+ * capacity it keeps the tasks ordered by priority (highest first, FIFO among
+ * equals) and, when full, displaces the lowest priority task, so that high
+ * priority input is not delayed behind a burst of weak derivations.
+ *
+ * The priority of a task is sampled when it is added.
+ */
+public class TaskBuffer implements Iterable<Task> {
+
+    private final AtomicInteger capacity;
+
+    private final ArrayDeque<Task> fifo = new ArrayDeque();
+    private final TreeSet<Entry> ordered = new TreeSet();
+
+    private long serial = 0;
+    private long overflow = 0;
+
+    static final class Entry implements Comparable<Entry> {
+        final Task task;
+        final float priority;
+        final long serial;
+
+        Entry(Task task, long serial) {
+            this.task = task;
+            this.priority = task.getPriority();
+            this.serial = serial;
+        }
+
+        @Override
+        public int compareTo(final Entry o) {
+            int c = Float.compare(o.priority, priority);
+            if (c != 0) return c;
+            return Long.compare(serial, o.serial);
+        }
+    }
+
+    /** @param capacity maximum number of buffered tasks, or <= 0 for an unbounded FIFO */
+    public TaskBuffer(AtomicInteger capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Adds a task.
+     *
+     * @return the task displaced to make room (possibly the added task itself), or null
+     */
+    public synchronized Task putIn(final Task t) {
+        final int c = capacity.get();
+        if (c <= 0) {
+            fifo.add(t);
+            return null;
+        }
+
+        ordered.add(new Entry(t, serial++));
+
+        if ((size() > c) && (!ordered.isEmpty())) {
+            overflow++;
+            return ordered.pollLast().task;
+        }
+        return null;
+    }
+
+    /** removes and returns the next task to process, or null if empty */
+    public synchronized Task poll() {
+        //tasks queued before a capacity was set are drained first
+        if (!fifo.isEmpty())
+            return fifo.poll();
+
+        final Entry e = ordered.pollFirst();
+        return (e != null) ? e.task : null;
+    }
+
+    public synchronized int size() {
+        return fifo.size() + ordered.size();
+    }
+
+    public synchronized boolean isEmpty() {
+        return fifo.isEmpty() && ordered.isEmpty();
+    }
+
+    public synchronized void clear() {
+        fifo.clear();
+        ordered.clear();
+        overflow = 0;
+    }
+
+    /** number of tasks displaced because the buffer was full */
+    public synchronized long getOverflow() {
+        return overflow;
+    }
+
+    /** snapshot of the buffered tasks, in processing order */
+    public synchronized List<Task> values() {
+        final List<Task> l = new ArrayList(size());
+        l.addAll(fifo);
+        for (final Entry e : ordered)
+            l.add(e.task);
+        return l;
+    }
+
+    @Override
+    public Iterator<Task> iterator() {
+        return values().iterator();
+    }
+
+}
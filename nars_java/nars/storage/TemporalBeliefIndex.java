@@ -0,0 +1,208 @@
+package nars.storage;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import nars.core.Events.ConceptBeliefAdd;
+import nars.core.Events.ConceptBeliefRemove;
+import nars.core.Events.ConceptForget;
+import nars.core.Events.ResetEnd;
+import nars.core.Memory;
+import nars.entity.Concept;
+import nars.entity.Sentence;
+import nars.entity.Task;
+import nars.inference.AbstractObserver;
+import nars.language.Term;
+
+/**
+ * Index of the temporal (non-eternal) beliefs held in the concepts' belief
+ * tables, by occurrence time, both over all concepts and for each term.
+ *
+ * Follows the belief tables through their add and remove events, so it
+ * contains exactly the temporal beliefs which the concepts currently hold.
+ * Finding the beliefs in a time range, or the belief nearest to a time, is
+ * O(log n) plus the size of the result, instead of a scan of every concept.
+ *
+ * Used by Anticipate, when enabled, to confirm anticipated events which
+ * were believed to happen without being input.
+ */
+public class TemporalBeliefIndex extends AbstractObserver {
+
+    public final Memory memory;
+
+    /** all temporal beliefs, by occurrence time */
+    private final TreeMap<Long, List<Sentence>> all = new TreeMap();
+
+    /** temporal beliefs of each term, by occurrence time */
+    private final Map<Term, TreeMap<Long, List<Sentence>>> terms = new HashMap();
+
+    private int size;
+
+    public TemporalBeliefIndex(final Memory memory) {
+        super(memory.event, true, ConceptBeliefAdd.class, ConceptBeliefRemove.class, ConceptForget.class, ResetEnd.class);
+        this.memory = memory;
+
+        for (final Concept c : memory.concepts)
+            synchronized (c.beliefs) {
+                for (final Sentence s : c.beliefs)
+                    add(s);
+            }
+    }
+
+    @Override
+    public void event(final Class event, final Object[] args) {
+        if (event == ConceptBeliefAdd.class) {
+            add(((Task)args[1]).sentence);
+        }
+        else if (event == ConceptBeliefRemove.class) {
+            remove((Sentence)args[1]);
+        }
+        else if (event == ConceptForget.class) {
+            final Concept c = (Concept)args[0];
+            synchronized (c.beliefs) {
+                for (final Sentence s : c.beliefs)
+                    remove(s);
+            }
+        }
+        else if (event == ResetEnd.class) {
+            clear();
+        }
+    }
+
+    public synchronized void clear() {
+        all.clear();
+        terms.clear();
+        size = 0;
+    }
+
+    protected synchronized void add(final Sentence s) {
+        if (s.isEternal())
+            return;
+        final long t = s.getOccurenceTime();
+
+        add(all, t, s);
+
+        TreeMap<Long, List<Sentence>> m = terms.get(s.term);
+        if (m == null) {
+            m = new TreeMap();
+            terms.put(s.term, m);
+        }
+        add(m, t, s);
+
+        size++;
+    }
+
+    protected synchronized void remove(final Sentence s) {
+        if (s.isEternal())
+            return;
+        final long t = s.getOccurenceTime();
+
+        if (!remove(all, t, s))
+            return;
+
+        final TreeMap<Long, List<Sentence>> m = terms.get(s.term);
+        if (m != null) {
+            remove(m, t, s);
+            if (m.isEmpty())
+                terms.remove(s.term);
+        }
+
+        size--;
+    }
+
+    private static void add(final TreeMap<Long, List<Sentence>> m, final long t, final Sentence s) {
+        List<Sentence> l = m.get(t);
+        if (l == null) {
+            l = new ArrayList(1);
+            m.put(t, l);
+        }
+        l.add(s);
+    }
+
+    /** removes the same instance, not an equal sentence which may be another concept's */
+    private static boolean remove(final TreeMap<Long, List<Sentence>> m, final long t, final Sentence s) {
+        final List<Sentence> l = m.get(t);
+        if (l == null)
+            return false;
+        for (int i = 0; i < l.size(); i++) {
+            if (l.get(i) == s) {
+                l.remove(i);
+                if (l.isEmpty())
+                    m.remove(t);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** number of temporal beliefs indexed */
+    public synchronized int size() {
+        return size;
+    }
+
+    /** the temporal beliefs occurring in [start, end], in order of occurrence */
+    public synchronized List<Sentence> between(final long start, final long end) {
+        return flatten(all, start, end);
+    }
+
+    /** the temporal beliefs of a term occurring in [start, end], in order of occurrence */
+    public synchronized List<Sentence> between(final Term term, final long start, final long end) {
+        final TreeMap<Long, List<Sentence>> m = terms.get(term);
+        if (m == null)
+            return new ArrayList(0);
+        return flatten(m, start, end);
+    }
+
+    private static List<Sentence> flatten(final TreeMap<Long, List<Sentence>> m, final long start, final long end) {
+        final List<Sentence> result = new ArrayList();
+        if (start > end)
+            return result;
+        for (final List<Sentence> l : m.subMap(start, true, end, true).values())
+            result.addAll(l);
+        return result;
+    }
+
+    /**
+     * the temporal belief of a term occurring nearest to a time, the most
+     * confident if several are as near; null if the term has none
+     */
+    public synchronized Sentence nearest(final Term term, final long time) {
+        final NavigableMap<Long, List<Sentence>> m = terms.get(term);
+        if (m == null)
+            return null;
+
+        final Map.Entry<Long, List<Sentence>> before = m.floorEntry(time);
+        final Map.Entry<Long, List<Sentence>> after = m.ceilingEntry(time);
+
+        final List<Sentence> l;
+        if (before == null) l = after.getValue();
+        else if (after == null) l = before.getValue();
+        else if ((after.getKey() - time) < (time - before.getKey())) l = after.getValue();
+        else if ((after.getKey() - time) > (time - before.getKey())) l = before.getValue();
+        else {
+            l = new ArrayList(before.getValue());
+            if (!after.getKey().equals(before.getKey())) l.addAll(after.getValue());
+        }
+
+        Sentence best = null;
+        for (final Sentence s : l)
+            if ((best == null) || (s.truth.getConfidence() > best.truth.getConfidence()))
+                best = s;
+        return best;
+    }
+
+    /**
+     * the temporal belief of a term nearest to a time, with its truth
+     * projected to that time by Sentence.projection; null if the term has none
+     */
+    public Sentence projection(final Term term, final long targetTime) {
+        final Sentence s = nearest(term, targetTime);
+        if (s == null)
+            return null;
+        return s.projection(targetTime, memory.time());
+    }
+
+}
@@ -0,0 +1,77 @@
+package nars.util;
+
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * A real function of one variable sampled at evenly spaced points of an
+ * interval, and evaluated by linear interpolation between the samples.
+ * Outside of the interval, the value at the nearest end is returned.
+ *
+ * For a function with a bounded second derivative f'' on the interval, the
+ * interpolation error is at most (step^2 / 8) * max|f''|.
+ */
+public class FunctionTable {
+
+    public final float min, max;
+
+    private final float[] y;
+    private final int last;
+    /** samples per unit of x */
+    private final float scale;
+
+    /**
+     * @param n number of samples, at least 2
+     */
+    public FunctionTable(final DoubleUnaryOperator f, final double min, final double max, final int n) {
+        if (n < 2)
+            throw new IllegalArgumentException("At least 2 samples are required");
+        if (!(max > min))
+            throw new IllegalArgumentException("Empty interval: " + min + ".." + max);
+
+        this.min = (float) min;
+        this.max = (float) max;
+        this.y = new float[n];
+        this.last = n - 1;
+        this.scale = (float) (last / (max - min));
+
+        for (int i = 0; i < n; i++) {
+            final double x = (i == last) ? max : min + i * (max - min) / last;
+            y[i] = (float) f.applyAsDouble(x);
+        }
+    }
+
+    /** samples of [min, max] spaced at most 'step' apart */
+    public FunctionTable(final DoubleUnaryOperator f, final double min, final double max, final double step) {
+        this(f, min, max, (int) Math.ceil((max - min) / step) + 1);
+    }
+
+    public float y(final float x) {
+        final float i = (x - min) * scale;
+        if (!(i > 0))
+            return (i == i) ? y[0] : Float.NaN;
+        if (i >= last)
+            return y[last];
+
+        final int j = (int) i;
+        final float a = y[j];
+        return a + (y[j + 1] - a) * (i - j);
+    }
+
+    public int size() {
+        return y.length;
+    }
+
+    /**
+     * largest difference to f found at 'n' evenly spaced points of [min, max],
+     * for verifying a table
+     */
+    public double maxError(final DoubleUnaryOperator f, final int n) {
+        double e = 0;
+        for (int i = 0; i < n; i++) {
+            final double x = min + i * (double) (max - min) / (n - 1);
+            e = Math.max(e, Math.abs(f.applyAsDouble(x) - y((float) x)));
+        }
+        return e;
+    }
+
+}
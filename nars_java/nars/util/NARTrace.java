@@ -10,6 +10,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
+import nars.core.Attention;
 import nars.core.Events;
 import nars.core.Events.ConceptNew;
 import nars.core.Events.InferenceEvent;
@@ -299,6 +300,11 @@ public class NARTrace extends MemoryObserver implements Serializable {
 
         @Override
         public float next(long time, NAR nar) {
+            if ((mode == Mode.ConceptPriorityTotal) && (concepts instanceof Attention)) {
+                //maintained incrementally
+                return (float)((Attention)concepts).getStatistics().getPrioritySum();
+            }
+            
             float r = 0;
             int numConcepts = 0;
             for (Concept c : concepts) {
@@ -0,0 +1,223 @@
+package nars.util;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import nars.core.Build;
+import nars.core.Events.CycleStart;
+import nars.core.Events.TaskDerive;
+import nars.core.Events.TaskSourceInput;
+import nars.core.NAR;
+import nars.entity.BudgetValue;
+import nars.entity.Sentence;
+import nars.entity.Task;
+import nars.entity.TruthValue;
+import nars.inference.AbstractObserver;
+import nars.operator.io.PauseInput;
+import nars.operator.io.Reset;
+
+/**
+ * Records the inputs of a NAR's input channels, with the cycle in which each
+ * entered memory,
+ * to a compact binary log from which {@link TraceReplay} re-runs the NAR
+ * deterministically.  Tasks input from within memory, like operator feedback,
+ * are not recorded since the replay produces them again.  Derived tasks can be
+ * recorded too, to check a replay.
+ *
+ * The log starts with the random seed, the build and the parameters, so recording must
+ * begin with a new NAR (or after a reset).  It is written to a memory-mapped
+ * file, which is extended as needed and truncated to its content on close.
+ *
+ * Format (big-endian): header = MAGIC, VERSION, random seed (long), build
+ * class (string), build (JSON string), parameters (JSON string); then records = type (byte),
+ * cycle (long), content.  Strings are an int length followed by UTF-8 bytes.
+ */
+public class TraceRecorder extends AbstractObserver implements Closeable {
+
+    static final int MAGIC = 0x4E545243; //"NTRC"
+    static final short VERSION = 2;
+
+    static final byte END = 0;
+    static final byte INPUT = 1;
+    static final byte PAUSE = 2;
+    static final byte RESET = 3;
+    static final byte DERIVED = 4;
+
+    /** bytes mapped at a time */
+    static final int CHUNK = 1 << 20;
+
+    private final NAR nar;
+    private final boolean derivations;
+
+    private final RandomAccessFile file;
+    private final FileChannel channel;
+    private MappedByteBuffer buffer;
+    /** file position of the start of buffer */
+    private long mapped = 0;
+
+    /** 
+     * index of the current cycle since recording started, unaffected by resets;
+     * counted at the start of a cycle, since a cycle aborted by an error does not end
+     */
+    private long cycle = -1;
+
+    private long records = 0;
+    private boolean closed = false;
+
+    public TraceRecorder(NAR n, File f, boolean derivations) throws IOException {
+        this(n, null, f, derivations);
+    }
+
+    /**
+     * @param build build of the NAR, recorded so the replay can use the same; may be null (Default)
+     * @param derivations whether to also record derived tasks
+     */
+    public TraceRecorder(NAR n, Build build, File f, boolean derivations) throws IOException {
+        super(n, false, TaskSourceInput.class, CycleStart.class, TaskDerive.class);
+        this.nar = n;
+        this.derivations = derivations;
+
+        this.file = new RandomAccessFile(f, "rw");
+        this.file.setLength(0);
+        this.channel = file.getChannel();
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, CHUNK);
+
+        buffer.putInt(MAGIC);
+        buffer.putShort(VERSION);
+        buffer.putLong(n.memory.getRandomSeed());
+        putString(build != null ? build.getClass().getName() : "");
+        putString(build != null ? build.toString() : "");
+        putString(n.param.toString());
+
+        setActive(true);
+    }
+
+    @Override
+    public void event(final Class event, final Object[] args) {
+        if (event == CycleStart.class) {
+            cycle++;
+        }
+        else if (event == TaskSourceInput.class) {
+            final Object o = args[0];
+            if (o instanceof Task)
+                input((Task) o);
+            else if (o instanceof PauseInput)
+                pause((PauseInput) o);
+            else if (o instanceof Reset)
+                reset();
+        }
+        else if ((event == TaskDerive.class) && derivations) {
+            derived((Task) args[0]);
+        }
+    }
+
+    protected synchronized void input(final Task t) {
+        record(INPUT);
+        putTask(t);
+        ensure(16);
+        buffer.putLong(t.sentence.stamp.evidentialBase[0]);
+        buffer.putLong(nar.memory.getStampSerial());
+    }
+
+    protected synchronized void pause(final PauseInput p) {
+        record(PAUSE);
+        ensure(4);
+        buffer.putInt(p.cycles);
+    }
+
+    protected synchronized void reset() {
+        record(RESET);
+    }
+
+    protected synchronized void derived(final Task t) {
+        record(DERIVED);
+        putTask(t);
+    }
+
+    private void record(final byte type) {
+        if (closed)
+            throw new IllegalStateException("Trace closed");
+        ensure(9);
+        buffer.put(type);
+        buffer.putLong(cycle);
+        records++;
+    }
+
+    private void putTask(final Task t) {
+        final Sentence s = t.sentence;
+        putString(s.term.name().toString());
+
+        ensure(1 + 1 + 8 + 12 + 16);
+        buffer.put((byte) s.punctuation);
+        final TruthValue tv = s.truth;
+        if (tv != null) {
+            buffer.put((byte) 1);
+            buffer.putFloat(tv.getFrequency());
+            buffer.putFloat(tv.getConfidence());
+        }
+        else {
+            buffer.put((byte) 0);
+            buffer.putLong(0);
+        }
+        final BudgetValue b = t.budget;
+        buffer.putFloat(b.getPriority());
+        buffer.putFloat(b.getDurability());
+        buffer.putFloat(b.getQuality());
+        buffer.putLong(s.stamp.getCreationTime());
+        buffer.putLong(s.getOccurenceTime());
+    }
+
+    private void putString(final String s) {
+        final byte[] b = s.getBytes(StandardCharsets.UTF_8);
+        ensure(4 + b.length);
+        buffer.putInt(b.length);
+        buffer.put(b);
+    }
+
+    /** maps the next region of the file if the current one can not hold n more bytes */
+    private void ensure(final int n) {
+        if (buffer.remaining() >= n)
+            return;
+        try {
+            mapped += buffer.position();
+            buffer.force();
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, mapped, Math.max(CHUNK, n));
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to extend trace", e);
+        }
+    }
+
+    /** number of records written */
+    public synchronized long getRecords() {
+        return records;
+    }
+
+    /** writes the end record, and truncates the file to its content */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed)
+            return;
+        setActive(false);
+
+        ensure(9);
+        buffer.put(END);
+        buffer.putLong(cycle + 1);
+        closed = true;
+
+        final long length = mapped + buffer.position();
+        buffer.force();
+        buffer = null;
+        //a mapped region may keep the file from being truncated on some platforms, so this is best effort
+        try {
+            channel.truncate(length);
+        }
+        catch (IOException e) {
+        }
+        file.close();
+    }
+
+}
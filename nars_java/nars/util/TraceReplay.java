@@ -0,0 +1,302 @@
+package nars.util;
+
+import com.google.gson.JsonParseException;
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import nars.core.Build;
+import nars.core.Events.TaskDerive;
+import nars.core.Memory.TaskSource;
+import nars.core.NAR;
+import nars.core.Param;
+import nars.core.build.Default;
+import nars.core.control.AbstractTask;
+import nars.entity.BudgetValue;
+import nars.entity.Sentence;
+import nars.entity.Stamp;
+import nars.entity.Task;
+import nars.entity.TruthValue;
+import nars.inference.AbstractObserver;
+import nars.io.narsese.Narsese;
+import nars.language.Tense;
+import nars.language.Term;
+import nars.operator.io.PauseInput;
+import nars.operator.io.Reset;
+import static nars.util.TraceRecorder.DERIVED;
+import static nars.util.TraceRecorder.END;
+import static nars.util.TraceRecorder.INPUT;
+import static nars.util.TraceRecorder.MAGIC;
+import static nars.util.TraceRecorder.PAUSE;
+import static nars.util.TraceRecorder.RESET;
+import static nars.util.TraceRecorder.VERSION;
+
+/**
+ * Re-runs a NAR from a log written by {@link TraceRecorder}: a new NAR with
+ * the recorded build, random seed and parameters is given the recorded inputs in the
+ * same cycles, as fast as possible.  If the log contains derivations, the
+ * replayed derivations are compared with them.
+ *
+ * Usage: TraceReplay &lt;trace file&gt;
+ */
+public class TraceReplay implements TaskSource, Closeable {
+
+    public final NAR nar;
+
+    private final DataInputStream in;
+    private final Narsese narsese;
+
+    /** type and cycle of the next record, or END */
+    private byte nextType;
+    private long nextCycle;
+
+    /** cycles run since replay started, corresponding to the recorder's count */
+    private long cycle = 0;
+
+    private long inputs = 0, derivations = 0, mismatches = 0;
+    private long firstMismatchCycle = -1;
+
+    /** recorded derivations of the current cycle not yet matched */
+    private final ArrayDeque<Sentence> expected = new ArrayDeque();
+
+    /** uses the recorded build, or Default if none was recorded */
+    public TraceReplay(File f) throws IOException {
+        this(f, null);
+    }
+
+    /** @param build build to use, or null for the recorded one */
+    public TraceReplay(File f, Build build) throws IOException {
+        in = new DataInputStream(new BufferedInputStream(new FileInputStream(f), 1 << 16));
+
+        if (in.readInt() != MAGIC)
+            throw new IOException("Not a NARS trace: " + f);
+        final short version = in.readShort();
+        if (version != VERSION)
+            throw new IOException("Unsupported trace version: " + version);
+
+        final long seed = in.readLong();
+        final String buildClass = readString();
+        final String buildJSON = readString();
+        final String param = readString();
+
+        if (build == null)
+            build = newBuild(buildClass, buildJSON);
+        build.param = Param.fromJSON(param);
+
+        nar = new NAR(build);
+        nar.memory.setRandomSeed(seed);
+        narsese = new Narsese(nar);
+
+        new AbstractObserver(nar, true, TaskDerive.class) {
+            @Override public void event(final Class event, final Object[] args) {
+                derived((Task) args[0]);
+            }
+        };
+
+        readNext();
+    }
+
+    /** the recorded build, with the configuration it had when recorded */
+    static Build newBuild(final String className, final String json) throws IOException {
+        if (className.isEmpty())
+            return new Default();
+        try {
+            final Class<? extends Build> c = Class.forName(className).asSubclass(Build.class);
+            return json.isEmpty() ? c.newInstance() : Param.json.fromJson(json, c);
+        } catch (ReflectiveOperationException | ClassCastException | JsonParseException e) {
+            throw new IOException("Unable to create build " + className, e);
+        }
+    }
+
+    private String readString() throws IOException {
+        final byte[] b = new byte[in.readInt()];
+        in.readFully(b);
+        return new String(b, StandardCharsets.UTF_8);
+    }
+
+    private void readNext() throws IOException {
+        try {
+            nextType = in.readByte();
+            nextCycle = in.readLong();
+        }
+        catch (EOFException e) {
+            //log not closed: ends after its last record
+            nextType = END;
+            nextCycle = -1;
+        }
+    }
+
+    private Task readTask(final boolean input) throws IOException {
+        final String termString = readString();
+        final char punctuation = (char) in.readByte();
+        final boolean hasTruth = in.readByte() != 0;
+        final float f = in.readFloat(), c = in.readFloat();
+        final float p = in.readFloat(), d = in.readFloat(), q = in.readFloat();
+        final long creationTime = in.readLong();
+        final long occurrenceTime = in.readLong();
+        final long serial = input ? in.readLong() : 0;
+        final long nextSerial = input ? in.readLong() : 0;
+
+        final Term term;
+        try {
+            term = narsese.parseTerm(termString);
+        } catch (Narsese.InvalidInputException e) {
+            throw new IOException("Invalid term in trace: " + termString, e);
+        }
+
+        final boolean eternal = occurrenceTime == Stamp.ETERNAL;
+        final Stamp stamp = new Stamp(creationTime, eternal ? null : Tense.Present, serial, nar.param.duration.get());
+        stamp.setOccurrenceTime(occurrenceTime);
+
+        if (input)
+            nar.memory.setStampSerial(nextSerial);
+
+        final Sentence s = new Sentence(term, punctuation, hasTruth ? new TruthValue(f, c) : null, stamp);
+        return new Task(s, new BudgetValue(p, d, q));
+    }
+
+    /** the recorded inputs of the current cycle */
+    @Override
+    public AbstractTask nextTask() {
+        if (nextCycle != cycle)
+            return null;
+        
+        try {
+            switch (nextType) {
+                case INPUT:
+                    final Task t = readTask(true);
+                    readNext();
+                    inputs++;
+                    return t;
+                case PAUSE:
+                    final int pause = in.readInt();
+                    readNext();
+                    return new PauseInput(pause);
+                case RESET:
+                    readNext();
+                    return new Reset("");
+                default:
+                    //derivations are recorded after the inputs of their cycle
+                    return null;
+            }
+        }
+        catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /** reads the recorded derivations of the current cycle, when the replay reaches them */
+    private void readDerivations() throws IOException {
+        while ((nextType == DERIVED) && (nextCycle == cycle)) {
+            expected.add(readTask(false).sentence);
+            readNext();
+        }
+    }
+
+    protected void derived(final Task t) {
+        derivations++;
+        try {
+            readDerivations();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        final Sentence e = expected.poll();
+        if ((e == null) || !matches(e, t.sentence)) {
+            mismatches++;
+            if (firstMismatchCycle == -1)
+                firstMismatchCycle = cycle;
+        }
+    }
+
+    static boolean matches(final Sentence a, final Sentence b) {
+        return (a.punctuation == b.punctuation)
+                && a.term.equals(b.term)
+                && (a.getOccurenceTime() == b.getOccurenceTime())
+                && ((a.truth == null) ? (b.truth == null) : a.truth.equals(b.truth));
+    }
+
+    @Override
+    public int getInputItemsBuffered() {
+        return 0;
+    }
+
+    /** whether records remain */
+    public boolean hasNext() {
+        return nextType != END;
+    }
+
+    /** replays one cycle */
+    public void cycle() {
+        try {
+            nar.memory.cycle(this);
+        }
+        catch (Throwable e) {
+            //as in NAR.frame, so a cycle aborted by an error is replayed the same
+            nar.memory.error(e);
+        }
+        try {
+            readDerivations();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        //recorded derivations which were not replayed
+        mismatches += expected.size();
+        if (!expected.isEmpty() && (firstMismatchCycle == -1))
+            firstMismatchCycle = cycle;
+        expected.clear();
+        
+        if ((nextType != END) && (nextCycle == cycle))
+            throw new IllegalStateException("Replay diverged: recorded input of cycle " + cycle + " was not accepted");
+        
+        cycle++;
+    }
+
+    /**
+     * replays the whole log
+     * @return number of cycles run
+     */
+    public long run() {
+        while (hasNext() || (cycle < nextCycle)) {
+            cycle();
+        }
+        return cycle;
+    }
+
+    public long getCycle() { return cycle; }
+    public long getInputs() { return inputs; }
+    public long getDerivations() { return derivations; }
+
+    /** number of derivations which differed from the recorded ones (if recorded) */
+    public long getMismatches() { return mismatches; }
+
+    /** cycle of the first differing derivation, or -1 */
+    public long getFirstMismatchCycle() { return firstMismatchCycle; }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.out.println("Usage: TraceReplay <trace file>");
+            return;
+        }
+
+        try (TraceReplay r = new TraceReplay(new File(args[0]))) {
+            final long start = System.nanoTime();
+            final long cycles = r.run();
+            final double seconds = (System.nanoTime() - start) / 1e9;
+
+            System.out.println("Replayed " + cycles + " cycles, " + r.getInputs() + " inputs in " + seconds + "s");
+            System.out.println("  derivations: " + r.getDerivations() + ", mismatched: " + r.getMismatches()
+                    + ((r.getFirstMismatchCycle() != -1) ? " (first at cycle " + r.getFirstMismatchCycle() + ")" : ""));
+        }
+    }
+
+}
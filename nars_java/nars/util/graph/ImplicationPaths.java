@@ -0,0 +1,256 @@
+package nars.util.graph;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import nars.core.EventEmitter.EventObserver;
+import nars.language.Interval;
+import nars.language.Term;
+import nars.util.graph.ImplicationGraph.Cause;
+import nars.util.graph.SentenceGraph.EdgeAdd;
+import nars.util.graph.SentenceGraph.EdgeRemove;
+
+/**
+ * Shortest-path index over an ImplicationGraph, for deterministic planning.
+ *
+ * For each goal postcondition a reverse shortest-path tree (costs toward the goal)
+ * is computed on demand and cached.  The trees are maintained incrementally from
+ * the graph's edge events: an added edge is relaxed into every cached tree it can
+ * shorten, while removing an edge only discards the trees which were using it.
+ *
+ * Edge costs depend only on the edge (the implication's truth expectation and
+ * the delay of interval vertices) so that cached trees remain valid between
+ * graph changes; concept priorities are not considered here.
+ */
+public class ImplicationPaths implements EventObserver {
+
+    public final ImplicationGraph graph;
+
+    /** maximum number of goal trees to keep cached; least recently used are dropped */
+    public final int maxGoals;
+
+    /** maximum vertices settled per tree computation, to bound query time */
+    public final int maxExpansions;
+
+    final double minEdgeCost;
+    final double costPerDelayMagnitude;
+
+    private final Map<Term, Tree> trees;
+
+    private int computed = 0, reused = 0, invalidated = 0;
+
+    public ImplicationPaths(ImplicationGraph graph, double minEdgeCost, double costPerDelayMagnitude) {
+        this(graph, minEdgeCost, costPerDelayMagnitude, 64, 4096);
+    }
+
+    public ImplicationPaths(ImplicationGraph graph, double minEdgeCost, double costPerDelayMagnitude, final int maxGoals, int maxExpansions) {
+        this.graph = graph;
+        this.minEdgeCost = minEdgeCost;
+        this.costPerDelayMagnitude = costPerDelayMagnitude;
+        this.maxGoals = maxGoals;
+        this.maxExpansions = maxExpansions;
+        this.trees = new LinkedHashMap<Term, Tree>(16, 0.75f, true) {
+            @Override protected boolean removeEldestEntry(Map.Entry<Term, Tree> eldest) {
+                return size() > maxGoals;
+            }
+        };
+
+        graph.event.set(this, true, EdgeAdd.class, EdgeRemove.class);
+    }
+
+    /** reverse shortest-path tree rooted at a goal vertex */
+    public class Tree {
+        public final Term goal;
+        public final double maxDistance;
+
+        /** cost from each reached vertex to the goal */
+        final Map<Term, Double> distance = new HashMap();
+
+        /** first edge on the shortest path from each reached vertex toward the goal */
+        final Map<Term, Cause> next = new HashMap();
+
+        Tree(Term goal, double maxDistance) {
+            this.goal = goal;
+            this.maxDistance = maxDistance;
+        }
+
+        public double getDistance(final Term t) {
+            Double d = distance.get(t);
+            return (d == null) ? Double.POSITIVE_INFINITY : d;
+        }
+
+        public boolean contains(final Term t) {
+            return distance.containsKey(t);
+        }
+
+        public Set<Term> vertices() {
+            return Collections.unmodifiableSet(distance.keySet());
+        }
+
+        /** vertices which no other reached vertex passes through; the farthest roots of the tree */
+        public List<Term> leaves() {
+            Set<Term> inner = new HashSet(next.size());
+            for (final Cause c : next.values())
+                inner.add(c.effect);
+
+            List<Term> l = new ArrayList();
+            for (final Term t : distance.keySet()) {
+                if (!inner.contains(t))
+                    l.add(t);
+            }
+            return l;
+        }
+
+        /** edges from the goal backward to the given vertex (same order as a particle traversal), or null if unreachable */
+        public Cause[] path(final Term from) {
+            if (!distance.containsKey(from) || from.equals(goal))
+                return null;
+
+            List<Cause> p = new ArrayList();
+            Term t = from;
+            while (!t.equals(goal)) {
+                final Cause c = next.get(t);
+                if (c == null) return null;
+                p.add(c);
+                t = c.effect;
+            }
+            Collections.reverse(p);
+            return p.toArray(new Cause[p.size()]);
+        }
+
+        /** settles vertices from the queue, relaxing incoming edges of each */
+        void relax(final PriorityQueue<Frontier> queue) {
+            int expansions = 0;
+            while (!queue.isEmpty() && (expansions++ < maxExpansions)) {
+                final Frontier f = queue.poll();
+                if (f.distance > getDistance(f.vertex))
+                    continue; //stale entry
+
+                if (!graph.containsVertex(f.vertex))
+                    continue;
+
+                for (final Cause c : graph.incomingEdgesOf(f.vertex)) {
+                    final Term prev = c.cause;
+                    if (prev.equals(goal))
+                        continue;
+
+                    final double d = f.distance + cost(c);
+                    if ((d <= maxDistance) && (d < getDistance(prev))) {
+                        distance.put(prev, d);
+                        next.put(prev, c);
+                        queue.add(new Frontier(prev, d));
+                    }
+                }
+            }
+        }
+
+        void compute() {
+            distance.clear();
+            next.clear();
+            distance.put(goal, 0.0);
+
+            PriorityQueue<Frontier> queue = new PriorityQueue();
+            queue.add(new Frontier(goal, 0));
+            relax(queue);
+        }
+
+        /** relaxes a newly added edge, propagating any improvement */
+        void onAdd(final Cause c) {
+            final Double effectDistance = distance.get(c.effect);
+            if ((effectDistance == null) || c.cause.equals(goal))
+                return;
+
+            final double d = effectDistance + cost(c);
+            if ((d <= maxDistance) && (d < getDistance(c.cause))) {
+                distance.put(c.cause, d);
+                next.put(c.cause, c);
+
+                PriorityQueue<Frontier> queue = new PriorityQueue();
+                queue.add(new Frontier(c.cause, d));
+                relax(queue);
+            }
+        }
+
+        /** whether a removed edge was part of this tree */
+        boolean uses(final Cause c) {
+            return next.get(c.cause) == c;
+        }
+    }
+
+    static final class Frontier implements Comparable<Frontier> {
+        final Term vertex;
+        final double distance;
+
+        Frontier(Term vertex, double distance) {
+            this.vertex = vertex;
+            this.distance = distance;
+        }
+
+        @Override
+        public int compareTo(final Frontier o) {
+            return Double.compare(distance, o.distance);
+        }
+    }
+
+    /** cost of traversing an edge backward from its effect to its cause. any value >= minEdgeCost */
+    public double cost(final Cause c) {
+        double x = minEdgeCost + (1.0 - c.getTruth().getExpectation());
+        if (c.cause instanceof Interval)
+            x += ((Interval)c.cause).magnitude * costPerDelayMagnitude;
+        return x;
+    }
+
+    /**
+     * Returns the shortest-path tree toward a goal vertex, using the cached tree
+     * when one exists that was computed with at least the requested distance.
+     */
+    public synchronized Tree get(final Term goal, final double maxDistance) {
+        Tree t = trees.get(goal);
+        if ((t != null) && (t.maxDistance >= maxDistance)) {
+            reused++;
+            return t;
+        }
+
+        t = new Tree(goal, maxDistance);
+        t.compute();
+        trees.put(goal, t);
+        computed++;
+        return t;
+    }
+
+    @Override
+    public synchronized void event(final Class event, final Object[] args) {
+        if (trees.isEmpty()) return;
+
+        final Cause c = (Cause)args[0];
+        if (event == EdgeAdd.class) {
+            for (final Tree t : trees.values())
+                t.onAdd(c);
+        }
+        else if (event == EdgeRemove.class) {
+            final Iterator<Tree> i = trees.values().iterator();
+            while (i.hasNext()) {
+                if (i.next().uses(c)) {
+                    i.remove();
+                    invalidated++;
+                }
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        trees.clear();
+    }
+
+    public String getStatus() {
+        return "goals=" + trees.size() + ", computed=" + computed + ", reused=" + reused + ", invalidated=" + invalidated;
+    }
+
+}
@@ -26,12 +26,18 @@ abstract public class SentenceGraph<E> extends DirectedMultigraph<Term, E> imple
 
     public static class GraphChange { }
     
+    /** emitted with the edge after it has been added */
+    public static class EdgeAdd { }
+    
+    /** emitted with the edge after it has been removed */
+    public static class EdgeRemove { }
+    
     private boolean needInitialConcepts;
     private boolean started;
     
     public final Map<Sentence, List<E>> components = new HashMap();
     
-    public final EventEmitter event = new EventEmitter( GraphChange.class );
+    public final EventEmitter event = new EventEmitter( GraphChange.class, EdgeAdd.class, EdgeRemove.class );
     
     public SentenceGraph(Memory memory) {
         super(/*null*/new EdgeFactory() {
@@ -181,6 +187,24 @@ abstract public class SentenceGraph<E> extends DirectedMultigraph<Term, E> imple
         catch (NoSuchElementException e) { }
     }
     
+    @Override
+    public boolean addEdge(final Term source, final Term target, final E e) {
+        if (super.addEdge(source, target, e)) {
+            event.emit(EdgeAdd.class, e);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean removeEdge(final E e) {
+        if (super.removeEdge(e)) {
+            event.emit(EdgeRemove.class, e);
+            return true;
+        }
+        return false;
+    }
+    
     protected final void ensureTermConnected(final Term t) {
         if (inDegreeOf(t)+outDegreeOf(t) == 0)  removeVertex(t);        
     }
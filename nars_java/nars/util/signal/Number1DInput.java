@@ -18,7 +18,17 @@ package nars.util.signal;
 
 import java.text.NumberFormat;
 import nars.core.NAR;
+import nars.core.Parameters;
+import nars.entity.Task;
+import nars.inference.TemporalRules;
+import nars.io.Symbols;
 import nars.io.Texts;
+import nars.io.narsese.Narsese;
+import nars.language.Implication;
+import nars.language.Inheritance;
+import nars.language.Product;
+import nars.language.Tense;
+import nars.language.Term;
 
 /** Product Vector */
 public class Number1DInput {
@@ -48,6 +58,10 @@ public class Number1DInput {
     private final int resolution;
     int iteration = 0;
     private final NAR nar;
+    
+    /** terms of the values 0..resolution, parsed once */
+    private Term[] valueTerms;
+    private Term prevID = null;
 
     public Number1DInput(NAR n, String id, double[] data, int resolution) {
 
@@ -74,10 +88,30 @@ public class Number1DInput {
         return Texts.escapeLiteral("\u211d" + ps + "/" + resolution).toString();
     }
 
+    /** the term of a value, as named by getValueTerm */
+    public Term getValue(double v) {
+        int i = (int) Math.round(v * resolution);
+        if ((i >= 0) && (i < valueTerms.length) && (valueTerms[i] != null))
+            return valueTerms[i];
+        return parseTerm(getValueTerm(v, resolution));
+    }
+    
+    private Term parseTerm(String t) {
+        try {
+            return new Narsese(nar).parseTerm(t);
+        } catch (Narsese.InvalidInputException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     public void initPredicates(int resolution) {
         assert (resolution >= 2);
         double v = 0;
         double dv = 1.0 / resolution;
+        
+        valueTerms = new Term[resolution + 1];
+        for (int i = 0; i <= resolution; i++)
+            valueTerms[i] = parseTerm(getValueTerm(i / (double)resolution, resolution));
 
         String prevT = null;
         for (int i = 0; i < (resolution + 1); i++) {
@@ -126,24 +160,22 @@ public class Number1DInput {
      new TextInput(N, s.toString());
      }
      */
+    /** inputs the values as a product of value terms, and its temporal relation to the previous one */
     public Number1DInput next(double[] newValues) {
         assert (data.length == newValues.length);
         data = newValues;
 
-        String product = "<(*,";
-
+        final Term[] product = new Term[data.length];
         for (int i = 0; i < data.length; i++) {
-            product += getValueTerm(data[i], resolution);
-            if (i < data.length - 1) {
-                product += ",";
-            }
+            product[i] = getValue(data[i]);
         }
-        product += ") --> " + getTermID(iteration) + ">. %0.99;" + cert + "%\n";
-        append(product);
+        final Term id = Term.get(getTermID(iteration));
+        input(Inheritance.make(Product.make(product), id));
 
-        if (iteration > 0) {
-            append("<" + getTermID(iteration - 1) + " =\\> " + getTermID(iteration) + ">. %0.99;" + cert + "%\n");
+        if (prevID != null) {
+            input(Implication.make(prevID, id, TemporalRules.ORDER_BACKWARD));
         }
+        prevID = id;
 
 //        
 //        for (int i = 0; i < data.length; i++) {
@@ -162,6 +194,15 @@ public class Number1DInput {
 
     final String cert = "1.00"; //default certainty
 
+    /** inputs an eternal judgment %0.99;cert% */
+    protected void input(Term content) {
+        if (content == null)
+            return;
+        Task t = nar.memory.newTask(content, Symbols.JUDGMENT_MARK, 0.99f, Float.parseFloat(cert), 
+                Parameters.DEFAULT_JUDGMENT_PRIORITY, Parameters.DEFAULT_JUDGMENT_DURABILITY, Tense.Eternal);
+        nar.addInput(t);
+    }
+
     @Deprecated
     public String[] getStatementsFrequencyEncoded(int i, double value) {
         String freq = nf.format(value);
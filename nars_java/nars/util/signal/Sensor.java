@@ -0,0 +1,177 @@
+package nars.util.signal;
+
+import java.util.Arrays;
+import nars.core.Events.CycleStart;
+import nars.core.Memory;
+import nars.core.NAR;
+import nars.core.Parameters;
+import nars.entity.BudgetValue;
+import nars.entity.Sentence;
+import nars.entity.Stamp;
+import nars.entity.Task;
+import nars.entity.TruthValue;
+import nars.inference.AbstractObserver;
+import nars.io.Symbols;
+import nars.language.Inheritance;
+import nars.language.Tense;
+import nars.language.Term;
+
+/**
+ * Inputs numeric readings, one value in 0..1 per channel, as present-tense
+ * judgments about a fixed term per channel, whose frequency is the value.
+ * Unlike formatting the readings as Narsese, the terms are built once and the
+ * tasks are created directly from the array of values.
+ *
+ * Readings can be given from any thread.  They are input at the start of the
+ * next cycle, only the latest reading of each channel, and only for channels
+ * whose value changed by at least the change threshold since it was last input.
+ */
+public class Sensor extends AbstractObserver {
+
+    public final NAR nar;
+    public final Term[] terms;
+
+    /** latest readings, not yet input */
+    private final float[] pending;
+    /** whether a channel has a pending reading */
+    private final boolean[] changed;
+    private volatile int changes = 0;
+
+    /** values last input, NaN if none */
+    private final float[] last;
+
+    private float priority = Parameters.DEFAULT_JUDGMENT_PRIORITY;
+    private float durability = Parameters.DEFAULT_JUDGMENT_DURABILITY;
+    private float confidence = 0.99f;
+    private float changeThreshold = Parameters.TRUTH_EPSILON;
+
+    /** one channel per term */
+    public Sensor(NAR n, Term... terms) {
+        super(n, true, CycleStart.class);
+        this.nar = n;
+        this.terms = terms;
+        this.pending = new float[terms.length];
+        this.changed = new boolean[terms.length];
+        this.last = new float[terms.length];
+        Arrays.fill(last, Float.NaN);
+    }
+
+    /** channels &lt;prefix_i --&gt; prefix&gt;, for i in 0..n-1 */
+    public Sensor(NAR n, String prefix, int channels) {
+        this(n, channelTerms(prefix, channels));
+    }
+
+    public static Term[] channelTerms(final String prefix, final int channels) {
+        final Term whole = Term.get(prefix);
+        final Term[] t = new Term[channels];
+        for (int i = 0; i < channels; i++)
+            t[i] = Inheritance.make(Term.get(prefix + "_" + i), whole);
+        return t;
+    }
+
+    public int size() {
+        return terms.length;
+    }
+
+    /**
+     * sets the readings of all channels; values are limited to 0..1
+     * @return number of channels whose reading will be input
+     */
+    public synchronized int input(final double[] values) {
+        if (values.length != terms.length)
+            throw new IllegalArgumentException("Expected " + terms.length + " values, got " + values.length);
+        for (int i = 0; i < values.length; i++)
+            set(i, (float) values[i]);
+        return changes;
+    }
+
+    public synchronized int input(final float[] values) {
+        if (values.length != terms.length)
+            throw new IllegalArgumentException("Expected " + terms.length + " values, got " + values.length);
+        for (int i = 0; i < values.length; i++)
+            set(i, values[i]);
+        return changes;
+    }
+
+    /** sets the reading of one channel */
+    public synchronized void input(final int channel, final double value) {
+        set(channel, (float) value);
+    }
+
+    private void set(final int i, float v) {
+        if (v > 1f) v = 1f;
+        if (v < 0f) v = 0f;
+
+        final boolean different = !(Math.abs(v - last[i]) < changeThreshold);
+        if (different) {
+            pending[i] = v;
+            if (!changed[i]) {
+                changed[i] = true;
+                changes++;
+            }
+        }
+        else if (changed[i]) {
+            //returned to the value last input before the pending one was
+            changed[i] = false;
+            changes--;
+        }
+    }
+
+    @Override
+    public void event(final Class event, final Object[] args) {
+        if ((changes > 0) && nar.memory.isProcessingInput())
+            flush();
+    }
+
+    /** inputs the pending readings; called at the start of a cycle */
+    protected synchronized void flush() {
+        final Memory m = nar.memory;
+        for (int i = 0; (i < terms.length) && (changes > 0); i++) {
+            if (!changed[i])
+                continue;
+            changed[i] = false;
+            changes--;
+
+            final float v = pending[i];
+            last[i] = v;
+            m.inputTask(newTask(m, terms[i], v));
+        }
+    }
+
+    protected Task newTask(final Memory m, final Term term, final float frequency) {
+        final TruthValue truth = new TruthValue(frequency, confidence);
+        final Sentence s = new Sentence(term, Symbols.JUDGMENT_MARK, truth, new Stamp(m, Tense.Present));
+        return new Task(s, new BudgetValue(priority, durability, truth));
+    }
+
+    /** number of channels whose reading will be input at the next cycle */
+    public synchronized int getPending() {
+        return changes;
+    }
+
+    public Sensor setPriority(final float p) {
+        this.priority = p;
+        return this;
+    }
+
+    public float getPriority() {
+        return priority;
+    }
+
+    public Sensor setDurability(final float d) {
+        this.durability = d;
+        return this;
+    }
+
+    public Sensor setConfidence(final float c) {
+        this.confidence = c;
+        return this;
+    }
+
+    /** minimum change of a reading to input it again; 0 to input every reading */
+    public Sensor setChangeThreshold(final float t) {
+        this.changeThreshold = t;
+        return this;
+    }
+
+}
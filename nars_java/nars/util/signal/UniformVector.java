@@ -1,9 +1,7 @@
 package nars.util.signal;
 
-import java.util.Arrays;
 import nars.core.NAR;
 import nars.core.Parameters;
-import static nars.io.Texts.n2;
 
 /**
  * Represents a changing 1-dimensional array of double[], each element normalized to 0..1.0
@@ -15,6 +13,9 @@ public class UniformVector  {
     private final String prefix;
     private final NAR nar;
     private float priority = Parameters.DEFAULT_JUDGMENT_PRIORITY;
+    
+    /** inputs <prefix_i --> prefix>, created on the first update */
+    private Sensor sensor;
 
     public UniformVector(NAR n, String prefix, double[] data) {
         this.nar = n;
@@ -22,43 +23,19 @@ public class UniformVector  {
         this.data = data;
     }
 
+    /** inputs the elements which changed by at least TRUTH_EPSILON since they were last input */
     public void update() {
         if (priority == 0) 
             return;
         
-        if ((lastData != null) && (Arrays.equals(lastData, data))) {
-            //unchanged
-            return;
-        }
-
-        boolean changed = false;
-        if (lastData == null) {
-            //first time
-            lastData = new double[data.length];     
-            changed = true;
-        }
-        else if (lastData.length!=data.length) {
+        if (sensor == null) {
+            sensor = new Sensor(nar, prefix, data.length);
             lastData = new double[data.length];
-            changed = true;
         }
         
-        
-        StringBuilder s = new StringBuilder();
-        for (int i = 0; i < data.length; i++) {
-            double v = data[i];
-            if ((changed) || (different(v,lastData[i]))) {
-                if (v > 1.0) v = 1.0;
-                if (v < 0.0) v = 0.0;
-                float truth = (float)v;
-                float conf = 0.99f;
-                s.append("$").append(n2(priority)).append("$ <").append(prefix).append("_").append(i).append(" --> ").append(prefix).append(">. :|: %").append(n2(truth)).append(";").append(n2(conf)).append("%\n");
-            }
-        }
+        sensor.setPriority(priority).input(data);
         
         System.arraycopy(data, 0, lastData, 0, data.length);
-        
-        nar.addInput(s.toString());
-        
     }
 
     public boolean different(final double a, final double b) {
@@ -70,5 +47,8 @@ public class UniformVector  {
         return this;
     }
     
+    public Sensor getSensor() {
+        return sensor;
+    }
     
 }
@@ -1,11 +1,13 @@
 package nars;
 
 import com.google.common.collect.Lists;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.PriorityQueue;
 import nars.core.Events;
 import nars.core.Events.ConceptBeliefAdd;
 import nars.core.Events.ConceptBeliefRemove;
@@ -33,12 +35,14 @@ import nars.language.Statement;
 import nars.language.Tense;
 import nars.language.Term;
 import nars.language.Variable;
+import nars.prolog.ClauseInfo;
 import nars.prolog.InvalidTermException;
 import nars.prolog.InvalidTheoryException;
 import nars.prolog.NoMoreSolutionException;
 import nars.prolog.SolveInfo;
 import nars.prolog.Struct;
 import nars.prolog.Theory;
+import nars.prolog.TheoryManager;
 import nars.prolog.Var;
 
 /**
@@ -46,6 +50,10 @@ import nars.prolog.Var;
  * prolog terms from NARS beliefs, and answers NARS questions with the results
  * of a prolog solution (converted to NARS terms), which are input to NARS memory
  * with the hope that this is sooner than NARS can solve it by itself. 
+ * 
+ * The prolog theory is kept in sync incrementally: belief additions and
+ * removals are queued as assert/retract deltas and committed to the
+ * TheoryManager in one batch before the next question is solved.
  */
 public class NARPrologMirror extends AbstractObserver {
 
@@ -56,6 +64,34 @@ public class NARPrologMirror extends AbstractObserver {
     private float falseThreshold = 0.25f;
     private float confidenceThreshold;
     private final Map<Sentence,nars.prolog.Term> beliefs = new HashMap();
+    
+    /** clauses of the committed beliefs, for retracting them */
+    private final Map<Sentence,ClauseInfo> asserted = new HashMap();
+    
+    /** deltas not yet committed to the theory */
+    private final Map<Sentence,Struct> pendingAssert = new LinkedHashMap();
+    private final List<ClauseInfo> pendingRetract = new ArrayList();
+    
+    /** non-eternal beliefs (if presentJudgments), earliest occurrence first, for expiring them */
+    protected final PriorityQueue<Sentence> temporalBeliefs = new PriorityQueue<>(16, new Comparator<Sentence>() {
+        @Override public int compare(final Sentence a, final Sentence b) {
+            return Long.compare(a.getOccurenceTime(), b.getOccurenceTime());
+        }
+    });
+    
+    /** incremented at each commit which changes the theory */
+    private long theoryVersion = 0;
+    private boolean axiomsLoaded = false;
+    
+    /** answers to recent questions, valid while the theory version is unchanged */
+    private final Map<Term,CachedQuery> queries = new LinkedHashMap<Term,CachedQuery>(16, 0.75f, true) {
+        @Override protected boolean removeEldestEntry(Map.Entry<Term,CachedQuery> eldest) {
+            return size() > maxCachedQueries;
+        }
+    };
+    
+    /** max # of questions whose answers are cached */
+    int maxCachedQueries = 256;
         
     private boolean eternalJudgments = true;
     private boolean presentJudgments = false;
@@ -115,7 +151,16 @@ public class NARPrologMirror extends AbstractObserver {
     }
    
     protected boolean forget(Sentence belief) {
+        if (!belief.isEternal())
+            temporalBeliefs.remove(belief);
+        
         if (beliefs.remove(belief)!=null) {
+            if (pendingAssert.remove(belief)==null) {
+                ClauseInfo c = asserted.remove(belief);
+                if (c!=null)
+                    pendingRetract.add(c);
+            }
+
             if (reportForgets) {
                 System.err.println("Prolog forget: " + belief);                
             }
@@ -130,14 +175,9 @@ public class NARPrologMirror extends AbstractObserver {
             durationCycles = (nar.param).duration.get();
             if (now - lastFlush > (long)(durationCycles/ durationDivider) ) {
                 
-                Set<Sentence> toRemove = new HashSet();
-                for (Sentence s : beliefs.keySet()) {
-                    if (!validTemporal(s)) {
-                        toRemove.add(s);
-                    }
-                }
-                for (Sentence s : toRemove) {                    
-                    forget(s);
+                //beliefs expire in order of occurrence time, so only the oldest need to be checked
+                while (!temporalBeliefs.isEmpty() && !validTemporal(temporalBeliefs.peek())) {
+                    forget(temporalBeliefs.peek());
                 }
                 
                 lastFlush = now;
@@ -174,7 +214,70 @@ public class NARPrologMirror extends AbstractObserver {
     }
     
     protected void remove(Sentence s, Task task) {
-        //TODO
+        forget(s);
+    }
+    
+    /** mirrors a belief, queueing its assertion until the next commit */
+    protected boolean believe(Sentence s, nars.prolog.Term t) {
+        if (!(t instanceof Struct))
+            return false;
+        if (beliefs.putIfAbsent(s, t)!=null)
+            return false;
+        
+        pendingAssert.put(s, (Struct)t);
+        //only expired by updateBeliefs when present judgments are mirrored
+        if (presentJudgments && !s.isEternal())
+            temporalBeliefs.add(s);
+        return true;
+    }
+    
+    /** applies the queued deltas to the prolog theory, in one batch */
+    protected void commit() {
+        TheoryManager theory = prolog.getTheoryManager();
+        
+        if (!axiomsLoaded) {
+            try {
+                prolog.addTheory(getAxioms().iterator());
+            }
+            catch (InvalidTheoryException e) {
+                nar.memory.emit(ERR.class, e);
+                return;
+            }
+            axiomsLoaded = true;
+        }
+        
+        if (pendingAssert.isEmpty() && pendingRetract.isEmpty())
+            return;
+        
+        synchronized (theory) {
+            for (ClauseInfo c : pendingRetract)
+                theory.remove(c);
+            //beliefs go before the axioms, as they did in a full theory; 
+            //asserted in reverse so they keep the order in which they were added
+            final List<Map.Entry<Sentence,Struct>> added = new ArrayList(pendingAssert.entrySet());
+            for (int i = added.size()-1; i >= 0; i--) {
+                final Map.Entry<Sentence,Struct> e = added.get(i);
+                asserted.put(e.getKey(), theory.assertA(e.getValue(), true, null, false));
+            }
+        }
+        pendingRetract.clear();
+        pendingAssert.clear();
+        theoryVersion++;
+    }
+    
+    public NARProlog getProlog() {
+        return prolog;
+    }
+    
+    /** answers found for a question term, at a certain theory version */
+    static class CachedQuery {
+        final long version;
+        final List<Term> answers = new ArrayList(1);
+        final List<nars.prolog.Term> solutions = new ArrayList(1);
+
+        CachedQuery(long version) {
+            this.version = version;
+        }
     }
     
     protected void add(Sentence s, Task task) {
@@ -205,29 +308,28 @@ public class NARPrologMirror extends AbstractObserver {
                 return;
             }
             
+            commit();
+            
+            CachedQuery cached = queries.get(s.term);
+            if ((cached!=null) && (cached.version == theoryVersion)) {
+                //theory unchanged since this was last solved
+                for (int i = 0; i < cached.answers.size(); i++)
+                    answer(task, cached.answers.get(i), cached.solutions.get(i));
+                return;
+            }
+            
             try {
                 Struct qh = newQuestion(s);
                 
                 if (qh!=null) {
                     //System.out.println("Prolog question: " + s.toString() + " | " + qh.toString() + " ? (" + Texts.n2(priority) + ")");    
                     
-
-                    Theory theory;
+                    cached = new CachedQuery(theoryVersion);
                     
-                    try {
-                        prolog.setTheory(theory = getTheory(beliefs));
-                        prolog.addTheory(getAxioms().iterator());
-                    }
-                    catch (InvalidTheoryException e) {
-                        nar.memory.emit(ERR.class, e);
-                        return;
-                    }
-
-                    //System.out.println("  Theory: " + theory);
-                    //System.out.println("  Axioms: " + axioms);
-                    
-
+                    final long start = System.nanoTime();
                     SolveInfo si = prolog.solve(qh, solveTime);
+                    //a solve which ran out of time ends like one which failed
+                    boolean timedOut = (System.nanoTime() - start) >= (long)(solveTime * 1e9);
 
                     int answers = 0;
                     
@@ -244,8 +346,11 @@ public class NARPrologMirror extends AbstractObserver {
 
                         try {
                             Term n = nterm(solution);
-                            if (n!=null)
+                            if (n!=null) {
+                                cached.answers.add(n);
+                                cached.solutions.add(solution);
                                 answer(task, n, solution);
+                            }
                         }
                         catch (Exception e) {
                             //problem generating a result
@@ -255,10 +360,16 @@ public class NARPrologMirror extends AbstractObserver {
 
                         if (prolog.hasOpenAlternatives()) {
                             maxSolveTime /= 2d;
+                            final long nextStart = System.nanoTime();
                             si = prolog.solveNext(maxSolveTime);
+                            timedOut |= (System.nanoTime() - nextStart) >= (long)(maxSolveTime * 1e9);
                         }
                     }                            
                     while (prolog.hasOpenAlternatives() && (answers++) < maxAnswers);
+                    
+                    //the answers of an incomplete solve are not cached, so it is solved again
+                    if (!timedOut)
+                        queries.put(s.term, cached);
 
                 }
             } catch (InvalidTermException nse) {
@@ -280,7 +391,7 @@ public class NARPrologMirror extends AbstractObserver {
         if (tv.getConfidence() > confidenceThreshold) {
             if ((tv.getFrequency() > trueThreshold) || (tv.getFrequency() < falseThreshold)) {
 
-                boolean exists = beliefs.containsKey(s.term);
+                boolean exists = beliefs.containsKey(s);
                 if ((addOrRemove) && (exists))
                     return;
                 else if ((!addOrRemove) && (!exists))
@@ -295,7 +406,7 @@ public class NARPrologMirror extends AbstractObserver {
                         }
 
                         if (addOrRemove) {
-                            if (beliefs.putIfAbsent(s, th)==null)
+                            if (believe(s, th))
                                 if (reportAssumptions)
                                     System.err.println("Prolog assume: " + th + " | " + s);
                         }
@@ -471,7 +582,7 @@ public class NARPrologMirror extends AbstractObserver {
         Task a = getBeliefTask(question.sentence, t, question);
         nar.memory.inputTask(a);            
         if (pt!=null)
-            beliefs.put(question.sentence, pt);
+            believe(question.sentence, pt);
     }
 
     /*
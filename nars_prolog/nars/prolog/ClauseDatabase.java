@@ -56,14 +56,14 @@ class ClauseDatabase extends HashMap<String,FamilyClausesList> implements Iterab
 	 * as the goal and which has a compatible first-arg for matching.
 	 *
 	 * @param headt The goal
-	 * @return  The list of matching-compatible predicates
+	 * @return  The matching-compatible predicates; the array must not be modified
 	 */
-	List<ClauseInfo> getPredicates(final Term headt) {
+	ClauseInfo[] getPredicates(final Term headt) {
 		FamilyClausesList family = get(((Struct) headt).getPredicateIndicator());
 		if (family == null){
-			return Collections.EMPTY_LIST;
+			return ClauseIndex.EMPTY;
 		}
-		return family.get(headt);
+		return family.candidates(headt);
 	}
 
 	/**
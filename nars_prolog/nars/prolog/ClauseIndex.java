@@ -0,0 +1,167 @@
+package nars.prolog;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * <code>ClauseIndex</code> is a hash index of a {@link FamilyClausesList}
+ * on one argument position of the clause heads.
+ *
+ * Each key maps to the clauses whose argument is compatible with it, in
+ * database order; clauses with a variable in that position are shared by
+ * every key.  Candidates are returned as arrays which are built lazily and
+ * never modified afterwards, so a resolution in progress keeps a stable
+ * snapshot while the family is changed by assert/retract.
+ *
+ * Keys are intentionally coarse (ex: numbers are compared as floats): a key
+ * collision only adds candidates, which are matched against the goal anyway.
+ */
+class ClauseIndex {
+
+    static final ClauseInfo[] EMPTY = new ClauseInfo[0];
+
+    /** list of clauses, with its array snapshot */
+    static final class Bucket {
+        final ArrayList<ClauseInfo> list;
+        private ClauseInfo[] array;
+
+        Bucket() {
+            list = new ArrayList<>();
+        }
+
+        Bucket(Bucket shared) {
+            list = new ArrayList<>(shared.list.size() + 1);
+            list.addAll(shared.list);
+        }
+
+        void add(ClauseInfo ci, boolean first) {
+            if (first)
+                list.add(0, ci);
+            else
+                list.add(ci);
+            array = null;
+        }
+
+        boolean remove(ClauseInfo ci) {
+            if (list.remove(ci)) {
+                array = null;
+                return true;
+            }
+            return false;
+        }
+
+        ClauseInfo[] array() {
+            if (array == null)
+                array = list.isEmpty() ? EMPTY : list.toArray(new ClauseInfo[list.size()]);
+            return array;
+        }
+    }
+
+    final int position;
+
+    /** atoms (by name) and numbers */
+    private final Map<Object, Bucket> atomic = new HashMap<>();
+
+    /** compound terms, by predicate indicator */
+    private final Map<String, Bucket> compound = new HashMap<>();
+
+    /** clauses with a variable in this position */
+    private final Bucket shared = new Bucket();
+
+    private int size = 0;
+
+    public ClauseIndex(int position) {
+        this.position = position;
+    }
+
+    private Term arg(ClauseInfo ci) {
+        return ((Struct) ci.getHead().getTerm()).getArg(position).getTerm();
+    }
+
+    private static Object atomicKey(Term t) {
+        if (t instanceof Number) {
+            Number n = (Number) t;
+            if (n.isInteger())
+                return n.intValue();
+            float f = n.floatValue();
+            return (f == 0) ? 0f : f;
+        }
+        return ((Struct) t).getName();
+    }
+
+    private Bucket bucket(Term t, boolean create) {
+        Map map;
+        Object key;
+        if (t.isAtomic()) {
+            map = atomic;
+            key = atomicKey(t);
+        } else {
+            map = compound;
+            key = ((Struct) t).getPredicateIndicator();
+        }
+
+        Bucket b = (Bucket) map.get(key);
+        if ((b == null) && create) {
+            b = new Bucket(shared);
+            map.put(key, b);
+        }
+        return b;
+    }
+
+    public void insert(ClauseInfo ci, boolean first) {
+        Term t = arg(ci);
+        if (t instanceof Var) {
+            shared.add(ci, first);
+            for (Bucket b : atomic.values())
+                b.add(ci, first);
+            for (Bucket b : compound.values())
+                b.add(ci, first);
+        } else {
+            bucket(t, true).add(ci, first);
+        }
+        size++;
+    }
+
+    public void remove(ClauseInfo ci) {
+        Term t = arg(ci);
+        if (t instanceof Var) {
+            if (!shared.remove(ci))
+                return;
+            for (Bucket b : atomic.values())
+                b.remove(ci);
+            for (Bucket b : compound.values())
+                b.remove(ci);
+        } else {
+            Bucket b = bucket(t, false);
+            if ((b == null) || !b.remove(ci))
+                return;
+            if (b.list.size() == shared.list.size()) {
+                //only shared clauses remain
+                if (t.isAtomic())
+                    atomic.remove(atomicKey(t));
+                else
+                    compound.remove(((Struct) t).getPredicateIndicator());
+            }
+        }
+        size--;
+    }
+
+    /**
+     * Retrieves the clauses which can match a goal whose argument in this
+     * position is the given (bound) term
+     */
+    public ClauseInfo[] get(Term t) {
+        Bucket b = bucket(t, false);
+        return (b != null) ? b.array() : shared.array();
+    }
+
+    /**
+     * Whether this index narrows down the family enough to be worth keeping:
+     * at most half of the clauses have a variable in this position
+     */
+    public boolean isSelective() {
+        return shared.list.size() * 2 <= size;
+    }
+
+}
@@ -1,10 +1,10 @@
 package nars.prolog;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
-import nars.prolog.util.OneWayList;
 
 /**
  * A list of clauses belonging to the same family as a goal. A family is
@@ -13,7 +13,9 @@ import nars.prolog.util.OneWayList;
 public class ClauseStore {
     
     
-    private OneWayList<ClauseInfo> clauses;
+    /** candidate clauses (shared, never modified) and the position of the next one */
+    private ClauseInfo[] clauses;
+    private int next;
     private Term goal;
     private List<Var> vars;
     private boolean haveAlternatives;
@@ -34,9 +36,17 @@ public class ClauseStore {
      * @param familyClauses
      */
     public static ClauseStore build(Term goal, List<Var> vars, List<ClauseInfo> familyClauses) {
+        return build(goal, vars, familyClauses.toArray(new ClauseInfo[familyClauses.size()]));
+    }
+
+    /**
+     * Loads a family of clauses without copying it: the array is only read
+     * and must not be modified afterwards
+     */
+    static ClauseStore build(Term goal, List<Var> vars, ClauseInfo[] familyClauses) {
         ClauseStore clauseStore = new ClauseStore(goal, vars);
-                clauseStore.clauses = OneWayList.transform2(familyClauses);
-                if (clauseStore.clauses == null || !clauseStore.existCompatibleClause())
+        clauseStore.clauses = familyClauses;
+        if (familyClauses.length == 0 || !clauseStore.existCompatibleClause())
             return null;
         return clauseStore;
     }
@@ -50,8 +60,7 @@ public class ClauseStore {
         deunify(vars);
         if (!checkCompatibility(goal))
             return null;
-        ClauseInfo clause = (ClauseInfo) clauses.getHead();
-        clauses = clauses.getTail();
+        ClauseInfo clause = clauses[next++];
         haveAlternatives = checkCompatibility(goal);
         return clause;
     }
@@ -122,18 +131,16 @@ public class ClauseStore {
      */
     private boolean checkCompatibility(Term goal) {
         if (clauses == null) return false;
-        ClauseInfo clause = null;
-        do {
-            clause = (ClauseInfo) clauses.getHead();
-            if (goal.match(clause.getHead())) return true;
-            clauses = clauses.getTail();
-        } while (clauses != null);
+        while (next < clauses.length) {
+            if (goal.match(clauses[next].getHead())) return true;
+            next++;
+        }
         return false;
     }
     
     
     public String toString() {
-        return "clauses: "+clauses+"\n"+
+        return "clauses: "+getClauses()+"\n"+
         "goal: "+goal+"\n"+
         "vars: "+vars+"\n";
     }
@@ -144,13 +151,8 @@ public class ClauseStore {
      */
     
     public List<ClauseInfo> getClauses() {
-        ArrayList<ClauseInfo> l = new ArrayList<>();
-        OneWayList<ClauseInfo> t = clauses;
-        while (t != null) {
-            l.add(t.getHead());
-            t = t.getTail();
-        }
-        return l;
+        if (clauses == null) return new ArrayList<>();
+        return new ArrayList<>(Arrays.asList(clauses).subList(next, clauses.length));
     }
     
     public Term getMatchGoal() {
@@ -304,8 +304,8 @@ public class EngineRunner implements java.io.Serializable, Runnable{
      * Utility functions for Finite State Machine
      */
     
-    List<ClauseInfo> find(Term t) {
-        return theoryManager.find(t);
+    ClauseInfo[] find(Term t) {
+        return theoryManager.findCandidates(t);
     }
     
     void identify(Term t) {
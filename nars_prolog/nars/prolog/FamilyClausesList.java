@@ -2,6 +2,7 @@ package nars.prolog;
 
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.LinkedList;
@@ -14,6 +15,11 @@ import java.util.ListIterator;
  * in such a way that, knowing what type of clauses are required, only
  * goal compatible clauses are returned
  *
+ * Indexes are built just in time: a {@link ClauseIndex} on an argument
+ * position is created the first time a goal is called with that argument
+ * bound, and is kept up to date afterwards.  Among the bound arguments of a
+ * goal, the index giving the fewest candidates is used.
+ *
  * @author Paolo Contessi
  * @since 2.2
  * 
@@ -21,22 +27,24 @@ import java.util.ListIterator;
  */
 @SuppressWarnings("serial")
 class FamilyClausesList extends ArrayList<ClauseInfo> {
-	
-	private FamilyClausesIndex<Number> numCompClausesIndex;
-	private FamilyClausesIndex<String> constantCompClausesIndex;
-	private FamilyClausesIndex<String> structCompClausesIndex;
-	private LinkedList<ClauseInfo> listCompClausesList;
 
-	//private LinkedList<ClauseInfo> clausesList;
+	/** families smaller than this are scanned without index */
+	static final int MIN_INDEXED_SIZE = 8;
 
-	public FamilyClausesList(){
-		super();
+	/** maximum argument positions considered for indexing */
+	static final int MAX_INDEXED_ARGS = 8;
 
-		numCompClausesIndex = new FamilyClausesIndex<>();
-		constantCompClausesIndex = new FamilyClausesIndex<>();
-		structCompClausesIndex = new FamilyClausesIndex<>();
+	/** index for each argument position, null if not (yet) built */
+	private ClauseIndex[] indexes;
 
-		listCompClausesList = new LinkedList<>();
+	/** family size when an index was found not to be selective, per position */
+	private int[] rejected;
+
+	/** snapshot of the whole family */
+	private ClauseInfo[] all;
+
+	public FamilyClausesList(){
+		super();
 	}
 
 	/**
@@ -115,9 +123,10 @@ class FamilyClausesList extends ArrayList<ClauseInfo> {
 
 	@Override
 	public void clear(){
-		while(size() > 0){
-			removeFirst();
-		}
+		super.clear();
+		indexes = null;
+		rejected = null;
+		all = null;
 	}
 
 	/**
@@ -128,59 +137,93 @@ class FamilyClausesList extends ArrayList<ClauseInfo> {
 	 * @return      The list of goal-compatible predicates
 	 */
 	public List<ClauseInfo> get(Term goal){
-		// Gets the correct list and encapsulates it in ReadOnlyLinkedList
-		if(goal instanceof Struct){
-			Struct g = (Struct) goal.getTerm();
+		return Collections.unmodifiableList(Arrays.asList(candidates(goal)));
+	}
 
-			/*
-			 * If no arguments no optimization can be applied
-			 * (and probably no optimization is needed)
-			 */
-			if(g.getArity() == 0){
-				return Collections.unmodifiableList(this);
-			}
+	/**
+	 * Array version of {@link #get(Term)}; the returned array must not be modified
+	 *
+	 * @param goal  The goal to be resolved
+	 * @return      The goal-compatible clauses, in database order
+	 */
+	ClauseInfo[] candidates(Term goal){
+		if(goal instanceof Struct && size() >= MIN_INDEXED_SIZE){
+			Struct g = (Struct) goal.getTerm();
 
-			/* Retrieves first argument and checks type */
-			Term t = g.getArg(0).getTerm();
-			if(t instanceof Var){
+			ClauseInfo[] best = null;
+			int n = Math.min(g.getArity(), MAX_INDEXED_ARGS);
+			for(int i = 0; i < n; i++){
 				/*
-				 * if first argument is an unbounded variable,
-				 * no reasoning is possible, all family must be returned
+				 * if the argument is an unbounded variable,
+				 * no reasoning is possible on this position
 				 */
-				return Collections.unmodifiableList(this);
-			} else if(t.isAtomic()){
-				if(t instanceof Number){
-					/* retrieves clauses whose first argument is numeric (or Var)
-					 * and same as goal's first argument, if no clauses
-					 * are retrieved, all clauses with a variable
-					 * as first argument
-					 */
-					return Collections.unmodifiableList(numCompClausesIndex.get((Number) t));
-				} else if(t instanceof Struct){
-					/* retrieves clauses whose first argument is a constant (or Var)
-					 * and same as goal's first argument, if no clauses
-					 * are retrieved, all clauses with a variable
-					 * as first argument
-					 */
-					return Collections.unmodifiableList(constantCompClausesIndex.get(((Struct) t).getName()));
+				Term t = g.getArg(i).getTerm();
+				if(t instanceof Var){
+					continue;
 				}
-			} else if(t instanceof Struct){
-				if(isAList((Struct) t)){
-					/* retrieves clauses which has a list  (or Var) as first argument */
-					return Collections.unmodifiableList(listCompClausesList);
-				} else {
-					/* retrieves clauses whose first argument is a struct (or Var)
-					 * and same as goal's first argument, if no clauses
-					 * are retrieved, all clauses with a variable
-					 * as first argument
-					 */
-					return Collections.unmodifiableList(structCompClausesIndex.get(((Struct) t).getPredicateIndicator()));
+
+				ClauseIndex index = index(i);
+				if(index == null){
+					continue;
+				}
+
+				ClauseInfo[] c = index.get(t);
+				if(best == null || c.length < best.length){
+					best = c;
+					if(best.length <= 1){
+						break;
+					}
 				}
 			}
+			if(best != null){
+				return best;
+			}
 		}
 
 		/* Default behaviour: no optimization done */
-		return Collections.unmodifiableList(this);
+		return all();
+	}
+
+	/** the whole family, in database order */
+	ClauseInfo[] all(){
+		if(all == null){
+			all = isEmpty() ? ClauseIndex.EMPTY : toArray(new ClauseInfo[size()]);
+		}
+		return all;
+	}
+
+	/**
+	 * Retrieves the index on the given argument position, building it
+	 * if it does not exist yet; null if this position is not selective
+	 */
+	private ClauseIndex index(int position){
+		if(indexes == null){
+			int n = Math.min(((Struct) get(0).getHead().getTerm()).getArity(), MAX_INDEXED_ARGS);
+			indexes = new ClauseIndex[n];
+			rejected = new int[n];
+		}
+
+		ClauseIndex index = indexes[position];
+		if(index != null){
+			return index;
+		}
+
+		// retry a rejected position only once the family has doubled
+		if(rejected[position] > 0 && size() < 2 * rejected[position]){
+			return null;
+		}
+
+		index = new ClauseIndex(position);
+		for(int i = 0; i < size(); i++){
+			index.insert(get(i), false);
+		}
+
+		if(!index.isSelective()){
+			rejected[position] = size();
+			return null;
+		}
+
+		return indexes[position] = index;
 	}
 
 	@Override
@@ -202,53 +245,13 @@ class FamilyClausesList extends ArrayList<ClauseInfo> {
 		return new ListItr(this,index).getIt();
 	}
 
-	private boolean isAList(Struct t) {
-		/*
-		 * Checks if a Struct is also a list.
-		 * A list can be an empty list, or a Struct with name equals to "."
-		 * and arity equals to 2.
-		 */
-		return t.isEmptyList() || (t.getName().equals(".") && t.getArity() == 2);
-
-	}
-
 	// Updates indexes, storing informations about the last added clause
 	private void register(ClauseInfo ci, boolean first){
-		// See FamilyClausesList.get(Term): same concept
-		Term clause = ci.getHead();
-		if(clause instanceof Struct){
-			Struct g = (Struct) clause.getTerm();
-
-			if(g.getArity() == 0){
-				return;
-			}
-
-			Term t = g.getArg(0).getTerm();
-			if(t instanceof Var){
-				numCompClausesIndex.insertAsShared(ci, first);
-				constantCompClausesIndex.insertAsShared(ci, first);
-				structCompClausesIndex.insertAsShared(ci, first);
-
-				if(first){
-					listCompClausesList.addFirst(ci);
-				} else {
-					listCompClausesList.addLast(ci);
-				}
-			} else if(t.isAtomic()){
-				if(t instanceof Number){
-					numCompClausesIndex.insert((Number) t,ci, first);
-				} else if(t instanceof Struct){
-					constantCompClausesIndex.insert(((Struct) t).getName(), ci, first);
-				}
-			} else if(t instanceof Struct){
-				if(isAList((Struct) t)){
-					if(first){
-						listCompClausesList.addFirst(ci);
-					} else {
-						listCompClausesList.addLast(ci);
-					}
-				} else {
-					structCompClausesIndex.insert(((Struct) t).getPredicateIndicator(), ci, first);
+		all = null;
+		if(indexes != null){
+			for(ClauseIndex index : indexes){
+				if(index != null){
+					index.insert(ci, first);
 				}
 			}
 		}
@@ -256,32 +259,11 @@ class FamilyClausesList extends ArrayList<ClauseInfo> {
 
 	// Updates indexes, deleting informations about the last removed clause
 	public void unregister(ClauseInfo ci) {
-		Term clause = ci.getHead();
-		if(clause instanceof Struct){
-			Struct g = (Struct) clause.getTerm();
-
-			if(g.getArity() == 0){
-				return;
-			}
-
-			Term t = g.getArg(0).getTerm();
-			if(t instanceof Var){
-				numCompClausesIndex.removeShared(ci);
-				constantCompClausesIndex.removeShared(ci);
-				structCompClausesIndex.removeShared(ci);
-
-				listCompClausesList.remove(ci);
-			} else if(t.isAtomic()){
-				if(t instanceof Number){
-					numCompClausesIndex.delete((Number) t,ci);
-				} else if(t instanceof Struct){
-					constantCompClausesIndex.delete(((Struct) t).getName(),ci);
-				}
-			} else if(t instanceof Struct){
-				if(t.isList()){
-					listCompClausesList.remove(ci);
-				} else {
-					structCompClausesIndex.delete(((Struct) t).getPredicateIndicator(),ci);
+		all = null;
+		if(indexes != null){
+			for(ClauseIndex index : indexes){
+				if(index != null){
+					index.remove(ci);
 				}
 			}
 		}
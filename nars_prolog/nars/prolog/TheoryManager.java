@@ -21,6 +21,8 @@ import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
@@ -67,7 +69,7 @@ public class TheoryManager implements Serializable {
 	/**
 	 * inserting of a clause at the head of the dbase
 	 */
-	public synchronized void assertA(Struct clause, boolean dyn, String libName, boolean backtrackable) {
+	public synchronized ClauseInfo assertA(Struct clause, boolean dyn, String libName, boolean backtrackable) {
 		ClauseInfo d = new ClauseInfo(toClause(clause), libName);
 		String key = d.getHead().getPredicateIndicator();
 		if (dyn) {
@@ -79,12 +81,13 @@ public class TheoryManager implements Serializable {
 			staticDBase.addFirst(key, d);
                 if (engine.isSpy())
                     engine.spy("INSERTA: " + d.getClause() + "\n");
+		return d;
 	}
 
 	/**
 	 * inserting of a clause at the end of the dbase
 	 */
-	public synchronized void assertZ(final Struct clause, final boolean dyn, final String libName, final boolean backtrackable) {
+	public synchronized ClauseInfo assertZ(final Struct clause, final boolean dyn, final String libName, final boolean backtrackable) {
 		ClauseInfo d = new ClauseInfo(toClause(clause), libName);
 		String key = d.getHead().getPredicateIndicator();
 		if (dyn) {
@@ -96,6 +99,24 @@ public class TheoryManager implements Serializable {
 			staticDBase.addLast(key, d);
                 if (engine.isSpy())
                     engine.spy("INSERTZ: " + d.getClause() + "\n");
+		return d;
+	}
+
+	/**
+	 * removing from the dynamic dbase a clause previously returned by
+	 * assertA or assertZ; unlike retract this does not depend on a
+	 * running resolution, so it can be used to apply external updates
+	 */
+	public synchronized boolean remove(ClauseInfo d) {
+		String key = d.getHead().getPredicateIndicator();
+		FamilyClausesList family = dynamicDBase.get(key);
+		if (family == null || !family.remove(d))
+			return false;
+		if (family.isEmpty())
+			dynamicDBase.remove(key);
+		if (engine.isSpy())
+			engine.spy("DELETE: " + d.getClause() + "\n");
+		return true;
 	}
 
 	/**
@@ -177,13 +198,9 @@ public class TheoryManager implements Serializable {
 	 * implementation
 	 */
 	public synchronized List<ClauseInfo> find(Term headt) {
-		if (headt instanceof Struct) {
-			//String key = ((Struct) headt).getPredicateIndicator();
-			List<ClauseInfo> list = dynamicDBase.getPredicates(headt);
-			if (list.isEmpty())
-				list = staticDBase.getPredicates(headt);
-			return list;
-		}
+		if (headt instanceof Struct)
+			return Collections.unmodifiableList(Arrays.asList(findCandidates(headt)));
+
 
 		if (headt instanceof Var){
 			//            List l = new LinkedList();
@@ -198,6 +215,18 @@ public class TheoryManager implements Serializable {
 		return new LinkedList<>();
 	}
 
+	/**
+	 * Array version of {@link #find(Term)} used during resolution;
+	 * the returned array must not be modified
+	 */
+	synchronized ClauseInfo[] findCandidates(Term headt) {
+		//String key = ((Struct) headt).getPredicateIndicator();
+		ClauseInfo[] c = dynamicDBase.getPredicates(headt);
+		if (c.length == 0)
+			c = staticDBase.getPredicates(headt);
+		return c;
+	}
+
 	/**
 	 * Consults a theory.
 	 *
@@ -0,0 +1,50 @@
+package nars.core;
+
+import java.io.StringWriter;
+import nars.core.build.Actors;
+import nars.core.control.experimental.ActorAttention;
+import nars.core.control.experimental.ActorAttention.ActorConcept;
+import nars.entity.Concept;
+import nars.io.TextOutput;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class ActorAttentionTest {
+
+    static String run(int threads) {
+        NAR n = new NAR(new Actors(threads));
+        assertEquals(threads, ((ActorAttention) n.memory.concepts).getThreads());
+
+        StringWriter out = new StringWriter();
+        new TextOutput(n, out);
+        n.addInput("<a --> b>.\n<b --> c>.\n<c --> d>.\n<(*,a,b) --> e>.\n");
+        n.run(500);
+
+        int concepts = 0;
+        for (Concept c : n.memory.concepts) {
+            assertTrue(c instanceof ActorConcept);
+            assertTrue(c == n.memory.concept(c.term));
+            concepts++;
+        }
+        assertTrue(concepts > 0);
+
+        return out.toString();
+    }
+
+    @Test
+    public void testOneThread() {
+        String out = run(1);
+        assertTrue(out, out.contains("<a --> c>."));
+    }
+
+    /** links between concepts run by different threads are delivered to their mailboxes */
+    @Test
+    public void testThreads() {
+        String out = run(4);
+        assertTrue(out, out.contains("<a --> c>."));
+        assertTrue(out, out.contains("<a --> d>."));
+        assertTrue(out, !out.contains("ERR"));
+    }
+
+}
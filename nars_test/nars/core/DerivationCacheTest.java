@@ -0,0 +1,48 @@
+package nars.core;
+
+import nars.core.build.Default;
+import nars.core.control.DerivationCache;
+import nars.entity.BudgetValue;
+import nars.entity.Task;
+import nars.entity.TruthValue;
+import nars.entity.Sentence;
+import nars.io.Symbols;
+import nars.language.Term;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import org.junit.Test;
+
+public class DerivationCacheTest {
+
+    @Test
+    public void testDuplicateMerge() {
+        NAR n = new NAR(new Default());
+        Memory m = n.memory;
+
+        Task a = m.newTask(Term.get("x"), Symbols.JUDGMENT_MARK, 1.0f, 0.9f, 0.3f, 0.5f);
+        Task b = new Task(a.sentence, new BudgetValue(0.95f, 0.5f, 0.5f));
+        Task c = m.newTask(Term.get("x"), Symbols.JUDGMENT_MARK, 1.0f, 0.9f, 0.3f, 0.5f);
+        Sentence differentTruth = new Sentence(a.sentence.term, Symbols.JUDGMENT_MARK, new TruthValue(0.5f, 0.9f), a.sentence.stamp);
+        Task d = new Task(differentTruth, new BudgetValue(0.3f, 0.5f, 0.5f));
+
+        float expectedPriority = Math.max(a.getPriority(), b.getPriority());
+
+        DerivationCache cache = new DerivationCache(16);
+        assertNull(cache.add(a, 0, 2));
+
+        //same sentence: merged into the first
+        assertSame(a, cache.add(b, 1, 2));
+        assertEquals(expectedPriority, a.getPriority(), Parameters.BUDGET_EPSILON);
+
+        //different evidence or truth are not duplicates
+        assertNull(cache.add(c, 1, 2));
+        assertNull(cache.add(d, 1, 2));
+        assertEquals(3, cache.size());
+
+        //outside of the window
+        assertNull(cache.add(new Task(a.sentence, new BudgetValue(0.1f, 0.5f, 0.5f)), 5, 2));
+        assertEquals(1, cache.size());
+    }
+
+}
@@ -0,0 +1,90 @@
+package nars.core;
+
+import java.io.StringWriter;
+import nars.core.build.Default;
+import nars.io.TextOutput;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class EventBufferTest {
+
+    static NAR nar(int capacity, int window, int perCycle) {
+        NAR n = new Default().build();
+        n.param.eventBufferCapacity.set(capacity);
+        n.param.eventBufferWindow.set(window);
+        n.param.eventInductionsPerCycle.set(perCycle);
+        return n;
+    }
+
+    @Test
+    public void testInduction() {
+        NAR n = nar(8, 0, 0);
+        StringWriter out = new StringWriter();
+        new TextOutput(n, out);
+
+        n.addInput("<a --> b>. :|:");
+        n.run(5);
+        n.addInput("<c --> d>. :|:");
+        n.run(5);
+
+        assertEquals(2, n.memory.eventBuffer.size());
+        assertEquals(1, n.memory.eventBuffer.getInductions());
+        assertTrue(out.toString(), out.toString().contains("<(&/,<a --> b>,+"));
+        assertTrue(n.memory.stm.isEmpty());
+    }
+
+    @Test
+    public void testBufferedByTerm() {
+        NAR n = nar(2, 0, 0);
+        n.addInput("<a --> b>. :|:");
+        n.run(1);
+        n.addInput("<a --> b>. :|:");
+        n.run(1);
+        //same term as the buffered event, so not paired with it, and replaces it
+        assertEquals(0, n.memory.eventBuffer.getInductions());
+        assertEquals(1, n.memory.eventBuffer.size());
+
+        n.addInput("<c --> d>. :|:");
+        n.run(1);
+        n.addInput("<e --> f>. :|:");
+        n.run(1);
+        assertEquals(2, n.memory.eventBuffer.size());
+        assertEquals(3, n.memory.eventBuffer.getInductions());
+
+        n.reset();
+        assertEquals(0, n.memory.eventBuffer.size());
+    }
+
+    @Test
+    public void testWindow() {
+        NAR n = nar(8, 3, 0);
+        n.addInput("<a --> b>. :|:");
+        n.run(10);
+        n.addInput("<c --> d>. :|:");
+        n.run(1);
+        assertEquals(0, n.memory.eventBuffer.getInductions());
+    }
+
+    @Test
+    public void testSampledPerCycle() {
+        NAR n = nar(8, 0, 2);
+        n.addInput("<a --> b>. :|:\n<c --> d>. :|:\n<e --> f>. :|:\n<g --> h>. :|:");
+        n.run(4);
+        //one event input per cycle, paired with 0, 1, 2, and 3 earlier ones, at most 2 per cycle
+        assertEquals(4, n.memory.eventBuffer.size());
+        assertEquals(5, n.memory.eventBuffer.getInductions());
+    }
+
+    @Test
+    public void testDisabled() {
+        NAR n = new Default().build();
+        assertFalse(n.memory.eventBuffer.isEnabled());
+        n.addInput("<a --> b>. :|:");
+        n.run(1);
+        assertEquals(0, n.memory.eventBuffer.size());
+        assertEquals(1, n.memory.stm.size());
+    }
+
+}
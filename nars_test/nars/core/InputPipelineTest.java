@@ -0,0 +1,96 @@
+package nars.core;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+import nars.core.build.Default;
+import nars.entity.Task;
+import nars.inference.AbstractObserver;
+import nars.io.InPort;
+import nars.io.Output.IN;
+import nars.io.TextInput;
+import nars.io.buffer.FIFO;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class InputPipelineTest {
+
+    static final int LINES = 200;
+
+    /** all tasks parsed by the pipeline threads reach memory, with distinct stamps */
+    @Test
+    public void testPipelinedInput() throws InterruptedException {
+        NAR n = NAR.build(Default.class);
+        n.setInputThreads(2);
+        assertEquals(2, n.getInputThreads());
+
+        final Set<Long> serials = new HashSet();
+        new AbstractObserver(n, true, IN.class) {
+            @Override public void event(Class event, Object[] args) {
+                if (args[0] instanceof Task)
+                    serials.add(((Task) args[0]).sentence.stamp.evidentialBase[0]);
+            }
+        };
+
+        StringBuilder a = new StringBuilder(), b = new StringBuilder();
+        for (int i = 0; i < LINES; i++) {
+            a.append("<a").append(i).append(" --> b>.\n");
+            b.append("<c").append(i).append(" --> d>.\n");
+        }
+        n.addInput(a.toString());
+        n.addInput(b.toString());
+
+        final long deadline = System.currentTimeMillis() + 10000;
+        while ((serials.size() < 2 * LINES) && (System.currentTimeMillis() < deadline)) {
+            n.step(1);
+            if (n.getInputItemsBuffered() == 0)
+                Thread.sleep(1);
+        }
+
+        assertEquals(2 * LINES, serials.size());
+
+        n.setInputThreads(0);
+        assertEquals(0, n.getInputThreads());
+    }
+
+    static InPort<Object, Object> port(String text) {
+        return new InPort<Object, Object>(new TextInput(text), new FIFO(), 1.0f) {
+            @Override public void perceive(Object x) {
+                queue(x);
+            }
+        };
+    }
+
+    @Test
+    public void testRateLimit() throws IOException {
+        InPort p = port("a\nb\nc\nd\n");
+        p.setRate(1);
+        assertEquals(1, p.update());
+        assertEquals(0, p.update());
+        assertEquals(1, p.getItemsBuffered());
+
+        p.setRate(0);
+        assertEquals(3, p.update());
+        assertFalse(p.finished());
+    }
+
+    @Test
+    public void testAttentionTurns() {
+        InPort p = port("");
+        p.setAttention(0.25f);
+        int turns = 0;
+        for (int i = 0; i < 100; i++)
+            if (p.takeTurn()) turns++;
+        assertEquals(25, turns);
+
+        p.setAttention(1f);
+        for (int i = 0; i < 10; i++)
+            assertTrue(p.takeTurn());
+
+        p.setAttention(0f);
+        assertFalse(p.takeTurn());
+    }
+
+}
@@ -0,0 +1,78 @@
+package nars.core;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import nars.core.EventEmitter.EventObserver;
+import nars.core.Events.CycleStart;
+import nars.core.build.Default;
+import nars.io.TextOutput;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class MemoryIsolationTest {
+
+    static final String input = "<a --> b>.\n<b --> c>.\n<c --> d>.\n<d --> a>.\n<a --> d>?\n";
+
+    static NAR nar(StringWriter out) {
+        NAR n = NAR.build(Default.class);
+        new TextOutput(n, out);
+        n.addInput(input);
+        return n;
+    }
+
+    /** interleaving two reasoners' cycles gives each the same result as running alone */
+    @Test
+    public void testInterleavedDeterminism() {
+        StringWriter alone = new StringWriter();
+        nar(alone).run(200);
+
+        StringWriter x = new StringWriter(), y = new StringWriter();
+        NAR a = nar(x), b = nar(y);
+        for (int i = 0; i < 200; i++) {
+            a.step(1);
+            b.step(1);
+        }
+
+        assertTrue(alone.toString().length() > 0);
+        assertEquals(alone.toString(), x.toString());
+        assertEquals(alone.toString(), y.toString());
+    }
+
+    /** the context of the memory thread survives tasks run in parallel, some of which may run inline on it */
+    @Test
+    public void testParallelRunKeepsContext() {
+        final NAR n = NAR.build(Default.class);
+        final Memory m = n.memory;
+        final List<Memory> seen = new CopyOnWriteArrayList();
+        final boolean[] after = new boolean[2];
+
+        n.on(CycleStart.class, new EventObserver() {
+            @Override public void event(Class event, Object[] args) {
+                List<Runnable> tasks = new ArrayList();
+                for (int i = 0; i < 3; i++)
+                    tasks.add(() -> {
+                        seen.add(Memory.current());
+                        assertTrue(m.isParallel());
+                    });
+                m.run(tasks, 2);
+                after[0] = (Memory.current() == m);
+                after[1] = m.isParallel();
+            }
+        });
+        n.step(1);
+
+        assertEquals(3, seen.size());
+        for (Memory x : seen)
+            assertSame(m, x);
+        assertTrue(after[0]);
+        assertFalse(after[1]);
+        assertNull(Memory.current());
+    }
+
+}
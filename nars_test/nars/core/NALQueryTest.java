@@ -4,13 +4,20 @@
  */
 package nars.core;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import nars.core.build.Default;
 import nars.entity.Sentence;
 import nars.entity.Task;
 import nars.io.Answered;
 import nars.io.narsese.Narsese;
+import nars.io.query.Query;
 import static nars.language.Tense.Eternal;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import org.junit.Test;
 
@@ -64,4 +71,51 @@ public class NALQueryTest {
         assertTrue(b.get());
         
     }
+    
+    @Test 
+    public void testQueryFutures() throws Exception {
+        NAR n = new NAR(new Default());
+        n.believe("<a <-> b>", Eternal, 1.0f, 0.5f);
+        n.believe("<b --> a>", Eternal, 1.0f, 0.5f);
+        
+        List<Query> q = n.query(Arrays.asList("<b --> a>", "<a <-> b>"), -1, -1);
+        Query unanswerable = n.query("<x --> y>", 4, -1);
+        
+        n.run(16);
+        
+        assertTrue(q.get(0).isDone());
+        assertTrue(q.get(1).isDone());
+        assertEquals("<b --> a>", q.get(0).get().term.toString());
+        assertEquals("<a <-> b>", q.get(1).get().term.toString());
+        
+        assertTrue(unanswerable.isCompletedExceptionally());
+        try {
+            unanswerable.get();
+            assertTrue(false);
+        }
+        catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof TimeoutException);
+        }
+        
+        assertEquals(0, n.queries().size());
+    }
+    
+    @Test 
+    public void testQueryCancel() throws Exception {
+        NAR n = new NAR(new Default());
+        Query q = n.query("<x --> y>", 4, -1);
+        Query other = n.query("<x --> y>", -1, -1);
+        assertEquals(2, n.queries().size());
+        
+        assertTrue(q.cancel(false));
+        assertEquals(1, n.queries().size());
+        
+        n.run(8);
+        assertTrue(q.isCancelled());
+        assertFalse(other.isDone());
+        
+        n.reset();
+        assertTrue(other.isCancelled());
+        assertEquals(0, n.queries().size());
+    }
 }
@@ -4,9 +4,9 @@ import nars.io.condition.OutputCondition;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import nars.core.build.Default;
 import nars.gui.InferenceLogger;
 import nars.io.ExampleFileInput;
@@ -43,9 +43,9 @@ public class NALTest  {
     private static boolean waitForEnterKeyOnStart = false; //useful for running profiler or some other instrumentation
       
 
-    protected static Map<String, String> examples = new HashMap(); //path -> script data
-    public static Map<String, Boolean> tests = new HashMap();
-    public static Map<String, Double> scores = new HashMap();
+    protected static Map<String, String> examples = new ConcurrentHashMap(); //path -> script data
+    public static Map<String, Boolean> tests = new ConcurrentHashMap();
+    public static Map<String, Double> scores = new ConcurrentHashMap();
     final String scriptPath;
     
 
@@ -0,0 +1,116 @@
+package nars.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import nars.core.build.Default;
+import nars.entity.Task;
+import nars.inference.AbstractObserver;
+import nars.io.Output.EXE;
+import nars.io.Output.IN;
+import nars.io.Symbols;
+import nars.language.Tense;
+import nars.language.Term;
+import nars.operator.AsynchronousOperator;
+import nars.operator.Operation;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class OperationPoolTest {
+
+    static class Slow extends AsynchronousOperator {
+        final long millis, timeout;
+
+        Slow(long millis, long timeout) {
+            super("^slow");
+            this.millis = millis;
+            this.timeout = timeout;
+        }
+
+        @Override public long getTimeout() {
+            return timeout;
+        }
+
+        @Override
+        protected List<Task> execute(Operation operation, Term[] args, Memory memory) {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                return null;
+            }
+            List<Task> feedback = new ArrayList();
+            feedback.add(memory.newTask(Term.get("done"), Symbols.JUDGMENT_MARK, 1f, 0.9f, 0.8f, 0.8f, Tense.Present));
+            return feedback;
+        }
+    }
+
+    final List<String> exe = new ArrayList();
+    Task done = null;
+
+    NAR nar() {
+        NAR n = new NAR(new Default());
+        new AbstractObserver(n, true, EXE.class, IN.class) {
+            @Override public void event(Class event, Object[] args) {
+                if (event == EXE.class)
+                    exe.add(args[0].toString());
+                else if ((args[0] instanceof Task) && ((Task) args[0]).sentence.term.toString().equals("done"))
+                    done = (Task) args[0];
+            }
+        };
+        return n;
+    }
+
+    static Operation operation(NAR n, Slow op) {
+        Operation o = Operation.make(op, new Term[] { Term.get("x") }, true);
+        o.setTask(n.memory.newTask(o, Symbols.GOAL_MARK, 1f, 0.9f, 0.5f, 0.5f));
+        return o;
+    }
+
+    /** the operation does not block the cycle, and its feedback is input when done, dated then */
+    @Test
+    public void testFeedback() throws InterruptedException {
+        NAR n = nar();
+        Slow op = new Slow(100, 10000);
+        n.memory.addOperator(op);
+
+        long start = System.currentTimeMillis();
+        assertTrue(op.call(operation(n, op), n.memory));
+        assertTrue(System.currentTimeMillis() - start < 100);
+        assertEquals(1, n.memory.operations.size());
+
+        //a second call exceeds its concurrency
+        assertFalse(op.call(operation(n, op), n.memory));
+        assertTrue(exe.toString(), exe.get(0).contains("RejectedExecutionException"));
+
+        n.step(5);
+        assertEquals(null, done);
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while ((done == null) && (System.currentTimeMillis() < deadline)) {
+            Thread.sleep(5);
+            n.step(1);
+        }
+        assertNotNull(done);
+        assertEquals(0, n.memory.operations.size());
+        assertEquals(n.time() - 1, done.sentence.getOccurenceTime());
+        assertEquals(n.time() - 1, done.sentence.stamp.getCreationTime());
+    }
+
+    @Test
+    public void testTimeout() throws InterruptedException {
+        NAR n = nar();
+        Slow op = new Slow(5000, 50);
+        n.memory.addOperator(op);
+
+        assertTrue(op.call(operation(n, op), n.memory));
+        Thread.sleep(100);
+        n.step(1);
+
+        assertEquals(0, n.memory.operations.size());
+        assertEquals(null, done);
+        assertTrue(exe.toString(), exe.get(exe.size() - 1).contains("TimeoutException"));
+    }
+
+}
@@ -0,0 +1,39 @@
+package nars.core;
+
+import java.util.Arrays;
+import java.util.List;
+import nars.core.build.Default;
+import nars.perf.ParallelNALRunner;
+import nars.perf.ParallelNALRunner.Result;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class ParallelExamplesTest {
+
+    static final List<String> examples = Arrays.asList(
+            "nal/test/nal1.0.nal", "nal/test/nal1.1.nal", "nal/test/nal2.0.nal", "nal/test/nal5.0.nal");
+
+    @Test
+    public void testIsolatedReasoners() throws Exception {
+        ParallelNALRunner sequential = new ParallelNALRunner(() -> new NAR(new Default()), 1);
+        ParallelNALRunner parallel = new ParallelNALRunner(() -> new NAR(new Default()), 4);
+
+        List<Result> a = sequential.run(examples);
+        List<Result> b = parallel.run(examples);
+
+        assertEquals(examples.size(), b.size());
+        for (int i = 0; i < examples.size(); i++) {
+            Result x = a.get(i), y = b.get(i);
+            assertEquals(examples.get(i), y.path);
+            assertTrue(y.path + " " + y.conditions, y.success);
+            //each example is deterministic in its own reasoner, whichever thread runs it
+            assertEquals(x.cycles, y.cycles);
+            //stopped at the end of the cycle in which it was satisfied
+            assertEquals(y.cycles + 1, y.cyclesRun);
+        }
+
+        assertTrue(ParallelNALRunner.toJSON(b).contains("\"cyclesRun\""));
+    }
+
+}
@@ -0,0 +1,48 @@
+package nars.core;
+
+import java.io.StringWriter;
+import nars.core.build.Sharded;
+import nars.core.control.experimental.ShardedAttention;
+import nars.entity.Concept;
+import nars.io.TextOutput;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class ShardedAttentionTest {
+
+    static String run(int shards) {
+        NAR n = new NAR(new Sharded(shards));
+        assertEquals(shards, ((ShardedAttention) n.memory.concepts).getShards());
+
+        StringWriter out = new StringWriter();
+        new TextOutput(n, out);
+        n.addInput("<a --> b>.\n<b --> c>.\n<c --> d>.\n");
+        n.run(500);
+
+        int concepts = 0;
+        for (Concept c : n.memory.concepts) {
+            assertTrue(c == n.memory.concept(c.term));
+            concepts++;
+        }
+        assertTrue(concepts > 0);
+        assertEquals(concepts, n.memory.concepts.getStatistics().size());
+
+        return out.toString();
+    }
+
+    @Test
+    public void testOneShard() {
+        String out = run(1);
+        assertTrue(out, out.contains("<a --> c>."));
+    }
+
+    /** concepts of the premises and conclusions are in different shards */
+    @Test
+    public void testShards() {
+        String out = run(4);
+        assertTrue(out, out.contains("<a --> c>."));
+        assertTrue(out, out.contains("<a --> d>."));
+    }
+
+}
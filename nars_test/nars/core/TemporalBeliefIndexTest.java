@@ -0,0 +1,114 @@
+package nars.core;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import nars.core.EventEmitter.EventObserver;
+import nars.core.build.Default;
+import nars.entity.Concept;
+import nars.entity.Sentence;
+import nars.entity.Task;
+import nars.io.Output.OUT;
+import nars.io.narsese.Narsese;
+import nars.language.Term;
+import nars.operator.mental.Anticipate;
+import nars.storage.TemporalBeliefIndex;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class TemporalBeliefIndexTest {
+
+    @Test
+    public void testIndex() throws Exception {
+        NAR n = new Default().build();
+        TemporalBeliefIndex index = new TemporalBeliefIndex(n.memory);
+        Narsese narsese = new Narsese(n);
+        Term a = narsese.parseTerm("<a --> b>");
+
+        n.addInput("<x --> y>.");
+        n.addInput("<a --> b>. :|:");
+        n.run(10);
+        n.addInput("<a --> b>. :|: %0.00;0.90%");
+        n.run(10);
+        n.addInput("<c --> d>. :|:");
+        n.run(1);
+
+        //only the temporal beliefs held by concepts are indexed
+        int temporal = 0;
+        for (Concept c : n.memory.concepts)
+            for (Sentence s : c.beliefs)
+                if (!s.isEternal()) {
+                    temporal++;
+                    assertTrue(index.between(s.term, s.getOccurenceTime(), s.getOccurenceTime()).contains(s));
+                }
+        assertEquals(temporal, index.size());
+        assertEquals(temporal, index.between(Long.MIN_VALUE + 1, Long.MAX_VALUE).size());
+
+        List<Sentence> first = index.between(a, 0, 5);
+        assertTrue(first.size() > 0);
+        for (Sentence s : first) {
+            assertEquals(a, s.term);
+            assertTrue(s.getOccurenceTime() >= 0 && s.getOccurenceTime() <= 5);
+        }
+
+        //nearest to the time of the negative event, or its revision with the first
+        Sentence near = index.nearest(a, n.time());
+        assertTrue(near.truth.getFrequency() < 0.75f);
+        assertTrue(index.nearest(a, 0).getOccurenceTime() < near.getOccurenceTime());
+
+        Sentence projected = index.projection(a, n.time() + 1);
+        assertEquals(a, projected.term);
+        assertTrue(projected.truth.getConfidence() <= near.truth.getConfidence());
+
+        assertNull(index.nearest(narsese.parseTerm("<x --> y>"), 0));
+
+        n.reset();
+        assertEquals(0, index.size());
+    }
+
+    /** negative judgments of an anticipated event which was only derived, not input */
+    static int anticipationFailures(boolean confirmFromBeliefs) throws Exception {
+        NAR n = new Default().build();
+        Anticipate anticipate = (Anticipate)n.memory.getOperator("^anticipate");
+        anticipate.setConfirmFromBeliefs(confirmFromBeliefs);
+        assertEquals(confirmFromBeliefs, anticipate.isConfirmFromBeliefs());
+
+        final Term b = new Narsese(n).parseTerm("<b --> c>");
+        final AtomicInteger failures = new AtomicInteger();
+        n.on(OUT.class, new EventObserver() {
+            @Override public void event(Class event, Object[] arguments) {
+                if (!(arguments[0] instanceof Task)) return;
+                Sentence s = ((Task)arguments[0]).sentence;
+                if (s.isJudgment() && s.term.equals(b) && (s.truth.getFrequency() < 0.5f))
+                    failures.incrementAndGet();
+            }
+        });
+
+        n.addInput("<<d --> e> =|> <b --> c>>.");
+        n.addInput("<(&/,<a --> b>,+3) =/> <b --> c>>.");
+        n.addInput("<a --> b>. :|:");
+        n.run(12);
+        //<b --> c> is derived from this at the anticipated time
+        n.addInput("<d --> e>. :|:");
+        n.run(30);
+        return failures.get();
+    }
+
+    @Test
+    public void testAnticipationConfirmedByBelief() throws Exception {
+        assertTrue(anticipationFailures(false) > 0);
+        assertEquals(0, anticipationFailures(true));
+    }
+
+    @Test
+    public void testAnticipationIndexDisabled() throws Exception {
+        NAR n = new Default().build();
+        Anticipate anticipate = (Anticipate)n.memory.getOperator("^anticipate");
+        anticipate.setConfirmFromBeliefs(true);
+        anticipate.setConfirmFromBeliefs(false);
+        assertFalse(anticipate.isConfirmFromBeliefs());
+    }
+
+}
@@ -0,0 +1,46 @@
+package nars.core;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import nars.core.build.Default;
+import nars.entity.Concept;
+import nars.entity.TermLink;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class TermLinkBuilderTest {
+
+    static final String input = "<(&&,<a --> b>,<c --> d>) ==> <(*,a,c) --> e>>.\n<<a --> b> ==> <c --> d>>.\n";
+
+    /** the term links of each concept after one cycle */
+    static Map<String, Set<String>> links(int batchThreads) {
+        NAR n = new NAR(new Default());
+        n.param.termLinkBatchThreads.set(batchThreads);
+        n.addInput(input);
+        n.step(1);
+
+        assertEquals(0, n.memory.termLinkBuilder.size());
+
+        Map<String, Set<String>> links = new TreeMap();
+        for (Concept c : n.memory.concepts) {
+            Set<String> s = new TreeSet();
+            for (TermLink t : c.termLinks)
+                s.add(t.toString());
+            links.put(c.term.toString(), s);
+        }
+        return links;
+    }
+
+    /** batched building creates the same concepts and links as immediate building */
+    @Test
+    public void testSameLinks() {
+        Map<String, Set<String>> immediate = links(0);
+        assertTrue(immediate.size() > 5);
+        assertEquals(immediate, links(1));
+        assertEquals(immediate, links(4));
+    }
+
+}
@@ -0,0 +1,92 @@
+package nars.core;
+
+import nars.entity.TruthValue;
+import nars.inference.BudgetFunctions;
+import nars.inference.TruthFunctions;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+public class TruthValueTest {
+
+    @Test
+    public void testPack() {
+        int p = TruthValue.pack(0.9f, 0.45f);
+        assertEquals(0.9f, TruthValue.unpackFrequency(p), 0);
+        assertEquals(0.45f, TruthValue.unpackConfidence(p), 0);
+
+        //rounded to TRUTH_EPSILON
+        assertEquals(p, TruthValue.pack(0.9012f, 0.4487f));
+        assertEquals(p, new TruthValue(0.9012f, 0.4487f).pack());
+
+        //every packed value is distinct and in range
+        assertEquals(0, TruthValue.pack(0, 0));
+        assertEquals(TruthValue.LEVELS * TruthValue.LEVELS - 1, TruthValue.pack(1, 1));
+        assertEquals(TruthValue.pack(0, 0), TruthValue.pack(-0.5f, -1));
+    }
+
+    @Test
+    public void testPair() {
+        long p = TruthValue.pair(0.9012f, 0.4487f);
+        assertEquals(0.9012f, TruthValue.pairFrequency(p), 0);
+        assertEquals(0.4487f, TruthValue.pairConfidence(p), 0);
+        assertTrue(p != TruthValue.NO_PAIR);
+
+        //confidence is limited as by setConfidence
+        assertEquals(Parameters.MAX_CONFIDENCE, TruthValue.pairConfidence(TruthValue.pair(1f, 1f)), 0);
+
+        TruthValue t = new TruthValue(p);
+        assertEquals(0.9012f, t.getFrequency(), 0);
+        assertEquals(0.4487f, t.getConfidence(), 0);
+        assertEquals(t.getExpectation(), TruthValue.pairExpectation(p), 0);
+        assertEquals(BudgetFunctions.truthToQuality(t), BudgetFunctions.truthToQuality(p), 0);
+
+        //the TruthValue functions are computed by the pair functions
+        TruthValue a = new TruthValue(0.8f, 0.7f), b = new TruthValue(0.35f, 0.92f);
+        assertSame(TruthFunctions.deduction(a, b), TruthFunctions.deductionPair(a, b));
+        assertSame(TruthFunctions.abduction(a, b), TruthFunctions.abductionPair(a, b));
+        assertSame(TruthFunctions.abduction(b, a), TruthFunctions.abductionPair(b, a));
+
+        //no evidence from analytic premises
+        b.setAnalytic();
+        assertSame(TruthFunctions.abduction(a, b), TruthFunctions.abductionPair(a, b));
+        assertEquals(0f, TruthValue.pairConfidence(TruthFunctions.abductionPair(a, b)), 0);
+    }
+
+    /** bit-identical factors */
+    private static void assertSame(final TruthValue expected, final long pair) {
+        assertEquals(Float.floatToIntBits(expected.getFrequency()), Float.floatToIntBits(TruthValue.pairFrequency(pair)));
+        assertEquals(Float.floatToIntBits(expected.getConfidence()), Float.floatToIntBits(TruthValue.pairConfidence(pair)));
+    }
+
+    @Test
+    public void testFrozen() {
+        TruthValue t = TruthValue.frozen(0.5f, 0f);
+        assertTrue(t.isShared());
+        assertEquals(new TruthValue(0.5f, 0f), t);
+        assertEquals(new TruthValue(0.5f, 0f).hashCode(), t.hashCode());
+
+        //setting the current value is allowed
+        t.setConfidence(0).setAnalytic(false);
+
+        try {
+            t.setFrequency(1f);
+            fail("shared truth value modified");
+        }
+        catch (UnsupportedOperationException e) { }
+        assertEquals(0.5f, t.getFrequency(), 0);
+
+        TruthValue c = t.clone();
+        assertNotSame(t, c);
+        assertFalse(c.isShared());
+        c.setFrequency(1f);
+        assertEquals(1f, c.getFrequency(), 0);
+
+        //confidence is limited as in any TruthValue
+        assertEquals(Parameters.MAX_CONFIDENCE, TruthValue.frozen(1f, 1f).getConfidence(), 0);
+    }
+
+}
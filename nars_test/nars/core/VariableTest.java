@@ -70,7 +70,7 @@ public class VariableTest {
             }
         };
 
-        n.run(1024);
+        n.run(2048);
           
         assertTrue(solutionFound.get());
         
@@ -5,6 +5,7 @@ import nars.perf.BagPerf.NullItem;
 import nars.storage.Bag;
 import nars.storage.LevelBag;
 import nars.storage.CurveBag;
+import nars.storage.SumTreeBag;
 import static org.junit.Assert.assertTrue;
 import org.junit.Test;
 
@@ -67,6 +68,7 @@ public class BagIteratorTest {
         testBagIterator(new LevelBag(L, L*2));
         testBagIterator(new CurveBag(L*2, false));
         testBagIterator(new CurveBag(L*2, true));
+        testBagIterator(new SumTreeBag(L*2));
         
     }
     
@@ -12,7 +12,10 @@ import nars.storage.Bag;
 import nars.storage.CurveBag;
 import nars.storage.GearBag;
 import nars.storage.LevelBag;
+import nars.storage.SumTreeBag;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import org.junit.Test;
 
@@ -44,6 +47,36 @@ public class BagOperationsTest {
         testBagSequence(new GearBag(2,2));        
     }
     
+    @Test
+    public void testUpdate() {
+        testUpdate(new LevelBag(4, 4));
+        testUpdate(new CurveBag(4, true));
+        testUpdate(new GearBag(4, 4));
+        testUpdate(new SumTreeBag(4));
+    }
+
+    public static void testUpdate(Bag<Concept,Term> b) {
+        NullConcept a = new NullConcept("a", 0.1f);
+        b.putIn(a);
+        b.putIn(new NullConcept("b", 0.3f));
+        b.putIn(new NullConcept("c", 0.5f));
+        float mass = b.getMass();
+
+        assertSame(a, b.update(new Term("a"), x -> x.budget.setPriority(0.9f)));
+        assertEquals(b.toString(), 3, b.size());
+        assertSame(a, b.get(new Term("a")));
+        assertEquals(b.toString(), 0.9f, b.getMaxPriority(), 0.001f);
+        assertEquals(b.toString(), 0.3f, b.getMinPriority(), 0.001f);
+        assertEquals(b.toString(), mass + 0.8f, b.getMass(), 0.001f);
+
+        //not in the bag, so not applied
+        assertNull(b.update(new Term("d"), x -> x.budget.setPriority(0)));
+        assertEquals(3, b.size());
+
+        assertSame(a, b.take(new Term("a")));
+        assertEquals(2, b.size());
+    }
+
     public static void testBagSequence(Bag b) {
         
         //different id, different priority
@@ -0,0 +1,77 @@
+package nars.core.bag;
+
+import java.util.Random;
+import nars.core.NAR;
+import nars.core.build.Default;
+import nars.core.bag.BagOperationsTest.NullConcept;
+import nars.core.control.ConceptStatistics;
+import nars.entity.Concept;
+import nars.language.Term;
+import nars.storage.BagStatistics;
+import nars.storage.LevelBag;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class BagStatisticsTest {
+
+    static BagStatistics<Concept> scan(Iterable<Concept> items) {
+        BagStatistics<Concept> s = new BagStatistics();
+        for (Concept c : items)
+            s.add(c);
+        return s;
+    }
+
+    static void assertSameStatistics(BagStatistics a, BagStatistics b) {
+        assertEquals(a.size(), b.size());
+        assertEquals(a.getPrioritySum(), b.getPrioritySum(), 0.0001);
+        assertEquals(a.getPriorityVariance(), b.getPriorityVariance(), 0.0001);
+        double[] ha = a.getPriorityHistogram(new double[BagStatistics.HISTOGRAM_BINS]);
+        double[] hb = b.getPriorityHistogram(new double[BagStatistics.HISTOGRAM_BINS]);
+        for (int i = 0; i < ha.length; i++)
+            assertEquals(ha[i], hb[i], 0.0001);
+    }
+
+    @Test
+    public void testLevelBagIncremental() {
+        LevelBag<Concept, Term> b = new LevelBag(10, 32);
+        BagStatistics<Concept> s = b.getStatistics();
+        Random r = new Random(1);
+
+        for (int i = 0; i < 500; i++) {
+            switch (r.nextInt(3)) {
+                case 0:
+                case 1:
+                    b.putIn(new NullConcept("c" + r.nextInt(64), r.nextFloat()));
+                    break;
+                case 2:
+                    b.takeNext();
+                    break;
+            }
+            assertSameStatistics(scan(b.values()), s);
+        }
+
+        b.clear();
+        assertEquals(0, s.size());
+        assertEquals(0, s.getPrioritySum(), 0);
+    }
+
+    @Test
+    public void testConceptTables() {
+        NAR n = new NAR(new Default());
+        n.addInput("<a --> b>.\n<b --> c>.\n<c --> d>?\n<a --> d>?\n");
+        n.run(100);
+
+        long beliefs = 0, questions = 0;
+        for (Concept c : n.memory.concepts) {
+            beliefs += c.beliefs.size();
+            questions += c.questions.size();
+        }
+        assertTrue(beliefs > 0);
+        ConceptStatistics s = n.memory.concepts.getStatistics();
+        assertEquals(beliefs, s.getBeliefs());
+        assertEquals(questions, s.getQuestions());
+        assertSameStatistics(scan(n.memory.concepts), s);
+    }
+
+}
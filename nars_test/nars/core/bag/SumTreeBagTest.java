@@ -0,0 +1,110 @@
+package nars.core.bag;
+
+import java.util.HashMap;
+import java.util.Map;
+import nars.core.Memory;
+import nars.core.NAR;
+import nars.core.build.Proportional;
+import nars.io.narsese.Narsese;
+import nars.perf.BagPerf.NullItem;
+import nars.storage.SumTreeBag;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class SumTreeBagTest {
+
+    @Test
+    public void testCapacity() {
+        SumTreeBag<NullItem,CharSequence> b = new SumTreeBag(3);
+
+        NullItem a = new NullItem(0.2f), c = new NullItem(0.5f), d = new NullItem(0.8f);
+        assertNull(b.putIn(a));
+        assertNull(b.putIn(c));
+        assertNull(b.putIn(d));
+        assertEquals(3, b.size());
+        assertEquals(0.2f, b.getMinPriority(), 0);
+        assertEquals(0.8f, b.getMaxPriority(), 0);
+        assertEquals(1.5f, b.getMass(), 0.001f);
+
+        //lower than all, so not inserted
+        NullItem low = new NullItem(0.1f);
+        assertSame(low, b.putIn(low));
+
+        //displaces the lowest
+        assertSame(a, b.putIn(new NullItem(0.3f)));
+        assertEquals(3, b.size());
+        assertEquals(0.3f, b.getMinPriority(), 0);
+        assertNull(b.get(a.name()));
+
+        assertSame(d, b.take(d.name()));
+        assertEquals(2, b.size());
+        assertEquals(0.5f, b.getMaxPriority(), 0);
+        assertNull(b.take(d.name()));
+
+        b.clear();
+        assertEquals(0, b.size());
+        assertNull(b.takeNext());
+        assertEquals(0, b.getMass(), 0);
+    }
+
+    @Test
+    public void testUpdateInPlace() {
+        SumTreeBag<NullItem,CharSequence> b = new SumTreeBag(4);
+        NullItem a = new NullItem(0.2f), c = new NullItem(0.5f);
+        b.putIn(a);
+        b.putIn(c);
+
+        a.budget.setPriority(0.9f);
+        assertEquals(0.5f, b.getMaxPriority(), 0); //not yet seen by the bag
+        assertTrue(b.reindex(a.name()));
+        assertEquals(0.9f, b.getMaxPriority(), 0);
+        assertEquals(0.5f, b.getMinPriority(), 0);
+
+        //same key is merged into the existing item
+        NullItem a2 = new NullItem(0.1f);
+        a2.key = a.key;
+        assertNull(b.putIn(a2));
+        assertEquals(2, b.size());
+        assertSame(a, b.get(a.name()));
+
+        //in descending priority
+        assertSame(a, b.iterator().next());
+        assertEquals(2, b.values().size());
+    }
+
+    @Test
+    public void testProportionalSampling() {
+        Memory.resetStatic();
+        final float[] priorities = { 0.1f, 0.2f, 0.3f, 0.4f };
+        SumTreeBag<NullItem,CharSequence> b = new SumTreeBag(priorities.length);
+        for (float p : priorities)
+            b.putIn(new NullItem(p));
+
+        final Map<Float,Integer> count = new HashMap();
+        final int samples = 100000;
+        for (int i = 0; i < samples; i++) {
+            NullItem n = b.takeNext();
+            count.merge(n.getPriority(), 1, Integer::sum);
+            assertNull(b.putIn(n));
+        }
+        assertEquals(priorities.length, b.size());
+
+        for (float p : priorities) {
+            double expected = (p + SumTreeBag.MIN_WEIGHT) / (1.0 + priorities.length * SumTreeBag.MIN_WEIGHT);
+            assertEquals("priority " + p, expected, count.get(p) / (double) samples, 0.01);
+        }
+    }
+
+    @Test
+    public void testReasoning() throws Exception {
+        NAR n = new Proportional().build();
+        n.addInput("<a --> b>.");
+        n.addInput("<b --> c>.");
+        n.run(100);
+        assertTrue(n.memory.concept(new Narsese(n).parseTerm("<a --> c>")) != null);
+    }
+
+}
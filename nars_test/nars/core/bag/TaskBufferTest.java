@@ -0,0 +1,56 @@
+package nars.core.bag;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import nars.core.NAR;
+import nars.core.build.Default;
+import nars.entity.Task;
+import nars.io.Symbols;
+import nars.language.Term;
+import nars.storage.TaskBuffer;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import org.junit.Test;
+
+public class TaskBufferTest {
+
+    final NAR n = new NAR(new Default());
+
+    Task task(String name, float priority) {
+        Task t = n.memory.newTask(Term.get(name), Symbols.JUDGMENT_MARK, 1.0f, 0.9f, priority, 0.5f);
+        t.budget.setPriority(priority);
+        return t;
+    }
+
+    @Test
+    public void testFIFO() {
+        TaskBuffer b = new TaskBuffer(new AtomicInteger(0));
+        Task x = task("x", 0.1f), y = task("y", 0.9f);
+        assertNull(b.putIn(x));
+        assertNull(b.putIn(y));
+        assertSame(x, b.poll());
+        assertSame(y, b.poll());
+        assertNull(b.poll());
+    }
+
+    @Test
+    public void testPriorityOverflow() {
+        AtomicInteger capacity = new AtomicInteger(2);
+        TaskBuffer b = new TaskBuffer(capacity);
+        Task low = task("low", 0.1f), mid = task("mid", 0.5f), high = task("high", 0.9f);
+
+        assertNull(b.putIn(mid));
+        assertNull(b.putIn(low));
+        assertSame(low, b.putIn(high));
+        //a task weaker than all buffered ones is displaced itself
+        Task lower = task("lower", 0.05f);
+        assertSame(lower, b.putIn(lower));
+        assertEquals(2, b.getOverflow());
+
+        assertEquals(2, b.size());
+        assertSame(high, b.poll());
+        assertSame(mid, b.poll());
+        assertNull(b.poll());
+    }
+
+}
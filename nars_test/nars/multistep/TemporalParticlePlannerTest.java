@@ -1,9 +1,16 @@
 package nars.multistep;
 
 import java.io.IOException;
+import java.util.TreeSet;
 import nars.core.NAR;
 import nars.core.build.Default;
 import nars.io.condition.OutputContainsCondition;
+import nars.io.narsese.Narsese;
+import nars.language.Term;
+import nars.plugin.app.plan.GraphExecutive;
+import nars.plugin.app.plan.GraphExecutive.ParticlePlan;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import org.junit.Test;
 
 
@@ -31,6 +38,27 @@ public class TemporalParticlePlannerTest {
         testGraphPlan(input, exp, false, false, 1000);
     }    
 
+    @Test public void testShortestPathPlan() throws Exception {
+        Default d = new Default().setInternalExperience(Default.InternalExperienceMode.None);
+        NAR n = new NAR(d.temporalPlanner(12));
+        
+        n.addInput("<(&/,<a --> b>,+1,(^pick,Y),+3,<c --> d>) =/> <goal --> reached>>.\n" +
+                   "<(&/,(^pick,X),+2) =/> <a --> b>>.\n" +
+                   "<(&/,(^pick,Z),+1) =/> <c --> d>>.\n");
+        n.run(10);
+        
+        GraphExecutive g = n.memory.executive.graph;
+        Term goal = new Narsese(n).parseTerm("<goal --> reached>");
+        
+        TreeSet<ParticlePlan> plans = g.shortestPathPlan(goal, 12, null);
+        assertTrue(!plans.isEmpty());
+        assertEquals("[(^pick,X), +3, (^pick,Y), +3, (^pick,Z)]", plans.first().sequence.toString());
+        
+        //second query is answered from the cached tree
+        assertEquals(plans.size(), g.shortestPathPlan(goal, 12, null).size());
+        assertTrue(g.paths.getStatus().contains("computed=1, reused=1"));
+    }
+    
     public void testGraphPlan(String input, String expected, boolean withPlanner, boolean expectSuccess, int cyclesToSolve) throws IOException {
         
         Default d = new Default().setInternalExperience(Default.InternalExperienceMode.None);
@@ -0,0 +1,228 @@
+package nars.perf;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+import nars.core.EventEmitter.EventObserver;
+import nars.core.Events.CycleEnd;
+import nars.core.NAR;
+import nars.core.Parameters;
+import nars.core.build.Default;
+import nars.io.ExampleFileInput;
+import nars.io.Output.ERR;
+import nars.io.TextInput;
+import nars.io.condition.OutputCondition;
+import nars.io.condition.OutputContainsCondition;
+
+/**
+ * Runs the NAL example scripts in parallel, each in its own NAR, on a
+ * work-stealing pool, and reports for each example the cycles it took to
+ * satisfy its conditions and its wall time, as JSON.
+ *
+ * Unlike NALTest, an example stops as soon as all its conditions are
+ * satisfied, unless one of them could still become false by later output
+ * (outputMustNotContain, expect.outEmpty).  Scripts are loaded once and
+ * reused by later runs.
+ */
+public class ParallelNALRunner {
+
+    static {
+        //as in NALTest; invalid derivations are rejected only in debug mode
+        Parameters.DEBUG = true;
+    }
+
+    /** outcome of one example */
+    public static class Result {
+        public final String path;
+        public boolean success;
+        /** cycle at which the last condition was satisfied, -1 if not all were */
+        public long cycles = -1;
+        /** cycles run before stopping */
+        public long cyclesRun;
+        public double wallMS;
+        /** exception which stopped the example */
+        public String error;
+        /** ERR events output by the reasoner */
+        public int errors;
+        public final List<String> conditions = new ArrayList();
+
+        public Result(String path) {
+            this.path = path;
+        }
+    }
+
+    /** script source, and its condition lines extracted once */
+    static final class Script {
+        final String source;
+        final String conditions;
+
+        Script(String source) {
+            this.source = source;
+            StringBuilder c = new StringBuilder();
+            for (String line : source.split("\n"))
+                if (line.trim().startsWith("''"))
+                    c.append(line.trim()).append('\n');
+            this.conditions = c.toString();
+        }
+    }
+
+    private static final Map<String, Script> scripts = new ConcurrentHashMap();
+
+    static Script getScript(final String path) throws IOException {
+        Script s = scripts.get(path);
+        if (s == null) {
+            s = new Script(ExampleFileInput.load(path));
+            scripts.put(path, s);
+        }
+        return s;
+    }
+
+    /** cycles run after the script input, as NALTest.minCycles */
+    public int maxCycles = 1550;
+    public boolean stopWhenSatisfied = true;
+    /** similar outputs recorded by each failing condition, -1 to disable */
+    public int similarsToSave = -1;
+
+    private final Supplier<NAR> builder;
+    private final int threads;
+
+    public ParallelNALRunner() {
+        this(() -> new NAR(new Default()), Runtime.getRuntime().availableProcessors());
+    }
+
+    public ParallelNALRunner(Supplier<NAR> builder, int threads) {
+        this.builder = builder;
+        this.threads = threads;
+    }
+
+    /** the paths of the unit test examples */
+    public static List<String> getExamples() {
+        List<String> paths = new ArrayList();
+        for (Object o : ExampleFileInput.getUnitTests().values())
+            paths.add((String)((Object[])o)[0]);
+        return paths;
+    }
+
+    /** runs the examples, returning their results in the same order */
+    public List<Result> run(final Collection<String> paths) throws InterruptedException {
+        final List<Callable<Result>> tasks = new ArrayList(paths.size());
+        for (final String p : paths)
+            tasks.add(() -> run(p));
+
+        final ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            final List<Result> results = new ArrayList(paths.size());
+            for (Future<Result> f : pool.invokeAll(tasks)) {
+                try {
+                    results.add(f.get());
+                } catch (ExecutionException e) {
+                    throw new RuntimeException(e.getCause());
+                }
+            }
+            return results;
+        }
+        finally {
+            pool.shutdown();
+        }
+    }
+
+    /** runs one example in a new NAR */
+    public Result run(final String path) {
+        final Result r = new Result(path);
+        final long start = System.nanoTime();
+        NAR n = null;
+        List<OutputCondition> conditions = new ArrayList();
+        try {
+            final Script s = getScript(path);
+            n = builder.get();
+            conditions = OutputCondition.getConditions(n, s.conditions, similarsToSave);
+
+            n.on(ERR.class, new EventObserver() {
+                @Override public void event(Class event, Object[] args) {
+                    r.errors++;
+                }
+            });
+
+            if (stopWhenSatisfied && stoppable(conditions)) {
+                final NAR nar = n;
+                final List<OutputCondition> c = conditions;
+                n.on(CycleEnd.class, new EventObserver() {
+                    @Override public void event(Class event, Object[] args) {
+                        for (OutputCondition x : c)
+                            if (!x.isTrue()) return;
+                        nar.stop();
+                    }
+                });
+            }
+
+            n.addInput(new TextInput(s.source));
+            n.run(maxCycles);
+        }
+        catch (Throwable e) {
+            r.error = e.toString();
+        }
+        r.wallMS = (System.nanoTime() - start) / 1.0e6;
+
+        r.success = !conditions.isEmpty() && (r.error == null);
+        for (OutputCondition c : conditions) {
+            if (!c.isTrue()) r.success = false;
+            if (c.getTrueTime() > r.cycles) r.cycles = c.getTrueTime();
+            r.conditions.add(c.toString());
+        }
+        if (!r.success) r.cycles = -1;
+        if (n != null) r.cyclesRun = n.time();
+        return r;
+    }
+
+    /** whether none of the conditions can become false once true */
+    static boolean stoppable(final List<OutputCondition> conditions) {
+        for (OutputCondition c : conditions)
+            if (!(c instanceof OutputContainsCondition) || c.isInverse())
+                return false;
+        return !conditions.isEmpty();
+    }
+
+    public static String toJSON(final List<Result> results) {
+        final Gson gson = new GsonBuilder().setPrettyPrinting().disableHtmlEscaping().create();
+        return gson.toJson(results);
+    }
+
+    /** arguments: [threads] [output file]; writes the JSON results to the file, or to stdout */
+    public static void main(String[] args) throws Exception {
+        final int threads = (args.length > 0) ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        final ParallelNALRunner t = new ParallelNALRunner(() -> new NAR(new Default()), threads);
+
+        final long start = System.nanoTime();
+        final List<Result> results = t.run(getExamples());
+        final double seconds = (System.nanoTime() - start) / 1.0e9;
+
+        if (args.length > 1) {
+            try (Writer w = new FileWriter(args[1])) {
+                w.write(toJSON(results));
+            }
+        }
+        else {
+            System.out.println(toJSON(results));
+        }
+
+        int succeeded = 0;
+        for (Result r : results) {
+            if (r.success) succeeded++;
+            else System.err.println(r.path + " " + r.conditions + ((r.error != null) ? " " + r.error : ""));
+        }
+        System.err.println(succeeded + " / " + results.size() + " in " + seconds + "s on " + threads + " threads");
+    }
+
+}
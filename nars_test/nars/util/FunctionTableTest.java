@@ -0,0 +1,79 @@
+package nars.util;
+
+import nars.core.Param;
+import nars.core.Parameters;
+import nars.core.build.Curve;
+import nars.entity.BudgetValue;
+import nars.inference.BudgetFunctions;
+import nars.storage.CurveBag;
+import nars.storage.CurveBag.BagCurve;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class FunctionTableTest {
+
+    @Test
+    public void testInterpolation() {
+        FunctionTable t = new FunctionTable(x -> 2 * x + 1, 0, 1, 11);
+        assertEquals(11, t.size());
+        assertEquals(1f, t.y(0f), 1e-6);
+        assertEquals(2f, t.y(0.5f), 1e-6);
+        assertEquals(2.1f, t.y(0.55f), 1e-6);
+
+        //clamped outside of the interval
+        assertEquals(1f, t.y(-5f), 0);
+        assertEquals(3f, t.y(5f), 0);
+        assertTrue(Float.isNaN(t.y(Float.NaN)));
+
+        FunctionTable sin = new FunctionTable(Math::sin, 0, Math.PI, 0.001);
+        assertTrue(sin.maxError(Math::sin, 100000) < 1e-6);
+    }
+
+    @Test
+    public void testCurves() {
+        for (BagCurve c : new BagCurve[] { new CurveBag.FairPriorityProbabilityCurve(), new CurveBag.CubicBagCurve(), new CurveBag.QuadraticBagCurve() }) {
+            CurveBag.TabulatedCurve t = new CurveBag.TabulatedCurve(c);
+            for (int i = 0; i <= 100000; i++) {
+                float x = i / 100000f;
+                assertEquals(c.getClass().getSimpleName() + " at " + x, c.y(x), t.y(x), Parameters.BUDGET_EPSILON);
+            }
+        }
+    }
+
+    @Test
+    public void testForgetIterative() {
+        final float[] cycles = { 1, 2, 10, 50, 200 };
+        float maxError = 0;
+        for (float forgetCycles : cycles) {
+            for (int pi = 0; pi <= 100; pi++) {
+                for (int di = 0; di <= 100; di++) {
+                    for (int qi = 0; qi <= 100; qi += 5) {
+                        float p = pi / 100f, d = di / 100f * 0.99f, q = qi / 100f;
+                        BudgetValue exact = new BudgetValue(p, d, q);
+                        BudgetValue tabulated = new BudgetValue(p, d, q);
+                        BudgetFunctions.forgetIterative(exact, forgetCycles, Parameters.FORGET_QUALITY_RELATIVE);
+                        BudgetFunctions.forgetIterativeTabulated(tabulated, forgetCycles, Parameters.FORGET_QUALITY_RELATIVE);
+                        maxError = Math.max(maxError, Math.abs(exact.getPriority() - tabulated.getPriority()));
+                    }
+                }
+            }
+        }
+        assertTrue("max error " + maxError, maxError < Parameters.BUDGET_EPSILON);
+    }
+
+    @Test
+    public void testCurveBuild() {
+        Curve b = new Curve();
+        assertSame(b.curve, b.getCurve());
+
+        b.param.tabulatedFunctions.set(true);
+        BagCurve t = b.getCurve();
+        assertTrue(t instanceof CurveBag.TabulatedCurve);
+        assertSame(t, b.getCurve());
+
+        assertTrue(Param.fromJSON(b.param.toString()).tabulatedFunctions.get());
+    }
+
+}
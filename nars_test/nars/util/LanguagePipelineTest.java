@@ -0,0 +1,108 @@
+package nars.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import nars.core.NAR;
+import nars.core.build.Default;
+import nars.core.control.AbstractTask;
+import nars.entity.Task;
+import nars.inference.AbstractObserver;
+import nars.io.Output.ERR;
+import nars.io.Output.IN;
+import nars.io.narsese.Narsese;
+import nars.io.nlp.LanguagePipeline;
+import nars.io.nlp.Twenglish;
+import nars.io.nlp.Twokenize;
+import nars.language.Term;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class LanguagePipelineTest {
+
+    static final String[] documents = {
+        "the cat is on the mat. where is the dog?\nhttp://example.com has 12:30 :) &amp; more",
+        "birds fly!\n\n  robins are birds.",
+        "go to the store, and buy 3.5 apples."
+    };
+
+    @Test
+    public void testTokenizeInParallel() throws Exception {
+        final String text = documents[0] + " " + documents[1] + " " + documents[2];
+        final String expected = Twokenize.tokenizeRawTweetText(text).toString();
+
+        ExecutorService e = Executors.newFixedThreadPool(4);
+        List<Future<String>> results = new ArrayList();
+        for (int i = 0; i < 64; i++)
+            results.add(e.submit(() -> Twokenize.tokenizeRawTweetText(text).toString()));
+        for (Future<String> f : results)
+            assertEquals(expected, f.get());
+        e.shutdown();
+
+        assertEquals("a & b", Twokenize.normalizeTextForTagger("a &amp; b"));
+    }
+
+    @Test
+    public void testBatchesInOrder() throws Exception {
+        NAR n = new Default().build();
+
+        //expected terms, translated sequentially
+        Twenglish t = new Twenglish(n.memory);
+        Narsese narsese = new Narsese(n);
+        List<Term> expected = new ArrayList();
+        for (String d : documents)
+            for (String line : d.split("\n"))
+                if (!line.trim().isEmpty())
+                    for (AbstractTask a : t.parse(line.trim(), narsese, true))
+                        expected.add(((Task) a).sentence.term);
+
+        final List<Term> in = new ArrayList();
+        final List<Task> tasks = new ArrayList();
+        final List<Object> errors = new ArrayList();
+        new AbstractObserver(n, true, IN.class, ERR.class) {
+            @Override public void event(Class event, Object[] args) {
+                if (event == ERR.class) errors.add(args[0]);
+                else if (args[0] instanceof Task) {
+                    tasks.add((Task) args[0]);
+                    in.add(((Task) args[0]).sentence.term);
+                }
+            }
+        };
+
+        LanguagePipeline p = new LanguagePipeline(n, 3).setTasksPerCycle(1);
+        List<Future<List<AbstractTask>>> f = new ArrayList();
+        for (String d : documents)
+            f.add(p.add(d));
+        for (Future<List<AbstractTask>> x : f)
+            x.get();
+        assertTrue(in.isEmpty());
+        assertEquals(documents.length, p.getPending());
+
+        n.step(1);
+        assertEquals(1, in.size());
+
+        int cycles = 1;
+        while (p.getPending() > 0 && cycles++ < 100)
+            n.step(1);
+
+        assertEquals(expected.size(), cycles);
+        assertEquals(expected, in);
+        assertTrue(errors.isEmpty());
+
+        //tasks are dated when input, not when translated
+        p.setTasksPerCycle(0);
+        tasks.clear();
+        p.add(documents[1]).get();
+        n.step(5);
+        assertEquals(2, tasks.size());
+        for (Task x : tasks)
+            assertEquals(n.time() - 5, x.sentence.stamp.getCreationTime());
+        assertFalse(p.getPending() > 0);
+        p.stop();
+    }
+
+}
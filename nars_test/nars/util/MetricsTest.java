@@ -0,0 +1,89 @@
+package nars.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import nars.core.NAR;
+import nars.core.build.Default;
+import nars.io.meter.Metrics;
+import nars.io.meter.Metrics.Counter;
+import nars.io.meter.Metrics.Gauge;
+import nars.io.meter.Metrics.Histogram;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class MetricsTest {
+
+    @Test
+    public void testHistogramQuantiles() {
+        Histogram h = new Metrics().histogram("h", "test", 1);
+        for (int i = 1; i <= 100000; i++)
+            h.record(i);
+
+        assertEquals(100000, h.getCount());
+        assertEquals(100000, h.getMax());
+        for (double q : new double[] { 0.5, 0.9, 0.99 }) {
+            double expected = q * 100000;
+            double error = Math.abs(h.getQuantile(q) - expected) / expected;
+            assertTrue("quantile " + q + ": " + h.getQuantile(q), error < 1.0 / (1 << (Histogram.SIGNIFICANT_BITS - 1)));
+        }
+
+        //small values are exact
+        Histogram s = new Metrics().histogram("s", "test", 1);
+        s.record(3);
+        s.record(3);
+        s.record(7);
+        assertEquals(3, s.getQuantile(0.5));
+        assertEquals(7, s.getQuantile(1.0));
+    }
+
+    @Test
+    public void testExposition() throws Exception {
+        Metrics a = new Metrics(), b = new Metrics();
+        Counter c = a.counter("x_total", "X");
+        assertSame(c, a.counter("x_total", "X"));
+        c.add(3);
+        b.counter("x_total", "X").inc();
+
+        Map<String, Metrics> m = new LinkedHashMap();
+        m.put("a", a);
+        m.put("b", b);
+        StringBuilder sb = new StringBuilder();
+        Metrics.write(sb, "nar", m);
+
+        assertEquals("# HELP x_total X\n# TYPE x_total counter\nx_total{nar=\"a\"} 3\nx_total{nar=\"b\"} 1\n", sb.toString());
+    }
+
+    @Test
+    public void testNARMetrics() throws Exception {
+        NAR n = new NAR(new Default());
+        n.addInput("<a --> b>.\n<b --> c>.\n");
+        n.run(10);
+
+        assertEquals(n.time(), n.memory.metrics.CYCLES.get());
+        assertEquals(n.time(), n.memory.metrics.CYCLE_TIME.getCount());
+        assertEquals(2, n.memory.metrics.TASKS_INPUT.get());
+        assertTrue(n.memory.metrics.TASKS_DERIVED.get() > 0);
+        assertTrue(n.memory.metrics.FIRE_CONCEPT_TIME.getCount() > 0);
+
+        StringBuilder sb = new StringBuilder();
+        n.memory.metrics.write(sb);
+        assertTrue(sb.toString().contains("# TYPE nars_cycle_seconds summary\n"));
+        assertTrue(sb.toString().contains("nars_cycle_seconds{quantile=\"0.5\"} "));
+    }
+
+    @Test
+    public void testGaugesSampledByCycle() throws Exception {
+        NAR n = new NAR(new Default());
+        Gauge concepts = (Gauge)n.memory.metrics.get("nars_concepts");
+        Gauge time = (Gauge)n.memory.metrics.get("nars_time");
+
+        n.addInput("<a --> b>.\n<b --> c>.\n");
+        n.run(10);
+        assertEquals(n.time(), time.get(), 0);
+        assertEquals(n.memory.concepts.getStatistics().size(), concepts.get(), 0);
+        assertTrue(concepts.get() > 0);
+    }
+
+}
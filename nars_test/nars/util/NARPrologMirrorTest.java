@@ -5,13 +5,17 @@
 package nars.util;
 
 import nars.NARPrologMirror;
+import java.util.ArrayList;
+import java.util.List;
 import nars.core.NAR;
 import nars.core.Parameters;
 import nars.core.build.Default;
 import nars.core.NALTestSome;
+import nars.entity.Sentence;
 import nars.entity.Task;
 import nars.io.narsese.Narsese;
 import nars.language.Term;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import org.junit.Test;
 
@@ -80,6 +84,77 @@ public class NARPrologMirrorTest {
 //        nar.finish(10);
         
         
-    }    
+    }
+    
+    /** exposes the incremental updates of the theory */
+    static class IncrementalMirror extends NARPrologMirror {
+        final List<Sentence> believed = new ArrayList();
+        
+        IncrementalMirror(NAR n) {
+            super(n, 0.5f, false);
+        }
+        
+        @Override protected boolean believe(Sentence s, nars.prolog.Term t) {
+            if (!super.believe(s, t)) return false;
+            believed.add(s);
+            return true;
+        }
+        
+        /** the last belief of a term */
+        Sentence belief(String term) {
+            for (int i = believed.size()-1; i >= 0; i--)
+                if (believed.get(i).term.toString().equals(term))
+                    return believed.get(i);
+            return null;
+        }
+        
+        String theory() {
+            commit();
+            return getProlog().getTheoryManager().getTheory(true);
+        }
+        
+        void retract(Sentence s) {
+            remove(s, null);
+        }
+        
+        int temporal() {
+            return temporalBeliefs.size();
+        }
+    }
+    
+    @Test
+    public void testIncrementalTheory() {
+        NAR nar = new NAR(new Default());
+        IncrementalMirror mirror = new IncrementalMirror(nar);
+        mirror.temporal(true, true);
+        
+        nar.addInput("<a --> b>.\n<b --> c>.\n<c --> d>.\n");
+        nar.run(1);
+        assertTrue(mirror.believed.size() >= 3);
+        
+        //asserted in the order in which they were believed
+        String t = mirror.theory();
+        int ab = t.indexOf("inheritance(a,b)"), bc = t.indexOf("inheritance(b,c)"), cd = t.indexOf("inheritance(c,d)");
+        assertTrue(t, (ab != -1) && (ab < bc) && (bc < cd));
+        
+        mirror.retract(mirror.belief("<b --> c>"));
+        t = mirror.theory();
+        assertEquals(-1, t.indexOf("inheritance(b,c)"));
+        assertTrue(t.contains("inheritance(a,b)") && t.contains("inheritance(c,d)"));
+        
+        //believed again after it was retracted
+        nar.addInput("<b --> c>.");
+        nar.run(1);
+        t = mirror.theory();
+        assertTrue(t.contains("inheritance(b,c)"));
+        
+        //a retracted present belief is no longer queued to expire
+        nar.addInput("<x --> y>. :|:");
+        nar.run(1);
+        assertEquals(1, mirror.temporal());
+        mirror.retract(mirror.belief("<x --> y>"));
+        assertEquals(0, mirror.temporal());
+        assertEquals(-1, mirror.theory().indexOf("inheritance(x,y)"));
+    }
     
 }
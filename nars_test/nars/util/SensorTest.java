@@ -0,0 +1,107 @@
+package nars.util;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import nars.core.NAR;
+import nars.core.build.Default;
+import nars.entity.Task;
+import nars.inference.AbstractObserver;
+import nars.io.Output.IN;
+import nars.io.narsese.Narsese;
+import nars.language.Term;
+import nars.util.signal.Number1DInput;
+import nars.util.signal.Sensor;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class SensorTest {
+
+    /** collects the input tasks */
+    static List<Task> inputs(NAR n) {
+        final List<Task> l = new ArrayList();
+        new AbstractObserver(n, true, IN.class) {
+            @Override public void event(Class event, Object[] args) {
+                if (args[0] instanceof Task)
+                    l.add((Task) args[0]);
+            }
+        };
+        return l;
+    }
+
+    @Test
+    public void testChannels() {
+        NAR n = new Default().build();
+        List<Task> in = inputs(n);
+
+        Sensor s = new Sensor(n, "x", 3);
+        assertEquals("<x_1 --> x>", s.terms[1].toString());
+
+        assertEquals(3, s.input(new double[] { 0, 0.5, 2.0 }));
+        assertEquals(3, s.getPending());
+        assertTrue(in.isEmpty());
+
+        n.step(1);
+        assertEquals(3, in.size());
+        assertEquals(0, s.getPending());
+
+        Task t = in.get(1);
+        assertSame(s.terms[1], t.sentence.term);
+        assertEquals(0.5f, t.sentence.truth.getFrequency(), 0);
+        assertEquals(0.99f, t.sentence.truth.getConfidence(), 0);
+        assertFalse(t.sentence.isEternal());
+        assertEquals(0, t.sentence.getOccurenceTime());
+        assertEquals(1f, in.get(2).sentence.truth.getFrequency(), 0); //limited to 1
+
+        //unchanged, or changed less than TRUTH_EPSILON
+        assertEquals(0, s.input(new double[] { 0, 0.505, 1.0 }));
+
+        //only the latest reading of a cycle, of the changed channel
+        s.input(new double[] { 0, 0.7, 1.0 });
+        assertEquals(1, s.input(new double[] { 0, 0.8, 1.0 }));
+        in.clear();
+        n.step(1);
+        assertEquals(1, in.size());
+        assertEquals(0.8f, in.get(0).sentence.truth.getFrequency(), 0);
+
+        //a reading which returns to the last input value is not input
+        s.input(1, 0.3);
+        s.input(1, 0.8);
+        assertEquals(0, s.getPending());
+
+        //every reading when the threshold is 0
+        s.setChangeThreshold(0);
+        assertEquals(3, s.input(new double[] { 0, 0.8, 1.0 }));
+    }
+
+    @Test
+    public void testNumber1DInputTerms() throws Exception {
+        NAR n = new Default().build();
+        n.run(1); //input the predicates
+
+        List<Task> in = inputs(n);
+        Number1DInput v = new Number1DInput(n, "a", new double[2], 4);
+        n.run(1);
+        in.clear();
+
+        v.next(new double[] { 0.25, 1.0 });
+        v.next(new double[] { 0.5, 0 });
+        n.run(1);
+
+        //each task is a separate input, so their order is not defined
+        Set<Term> terms = new HashSet();
+        for (Task t : in)
+            terms.add(t.sentence.term);
+        assertEquals(3, terms.size());
+
+        Narsese p = new Narsese(n);
+        String a = Number1DInput.getValueTerm(0.25, 4), b = Number1DInput.getValueTerm(1.0, 4);
+        assertTrue(terms.contains(p.parseTerm("<(*," + a + "," + b + ") --> " + v.getTermID(0) + ">")));
+        assertTrue(terms.contains(p.parseTerm("<" + v.getTermID(0) + " =\\> " + v.getTermID(1) + ">")));
+    }
+
+}
@@ -0,0 +1,57 @@
+package nars.util;
+
+import java.io.StringWriter;
+import java.util.regex.Pattern;
+import nars.core.NAR;
+import nars.core.build.Default;
+import nars.io.TextOutput;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class TextOutputTest {
+
+    static final String input = "<a --> b>.\n<b --> c>.\n<c --> d>.\n<a --> d>?\n";
+
+    /** batched output, formatted on another thread, is the same as immediate output */
+    @Test
+    public void testBatchedSameAsImmediate() {
+        NAR n = NAR.build(Default.class);
+        StringWriter immediate = new StringWriter(), batched = new StringWriter();
+        new TextOutput(n, immediate);
+        TextOutput b = new TextOutput(n, batched).setBatched(true);
+
+        n.addInput(input);
+        n.run(100);
+        b.flush();
+
+        assertTrue(immediate.toString().length() > 0);
+        assertEquals(immediate.toString(), batched.toString());
+
+        b.stop();
+        assertTrue(!b.isBatched());
+    }
+
+    @Test
+    public void testFilters() {
+        NAR n = NAR.build(Default.class);
+        StringWriter questions = new StringWriter(), terms = new StringWriter();
+        new TextOutput(n, questions).setPunctuations("?").setShowInput(false);
+        TextOutput a = new TextOutput(n, terms).setTermPattern(Pattern.compile("^<a --> ")).setBatched(true);
+
+        n.addInput(input);
+        n.run(100);
+
+        String q = questions.toString();
+        assertTrue(q.length() > 0);
+        for (String line : q.split("\n"))
+            assertTrue(line, line.contains("?"));
+
+        a.flush();
+        String t = terms.toString();
+        assertTrue(t.length() > 0);
+        for (String line : t.split("\n"))
+            assertTrue(line, line.contains(": <a --> "));
+    }
+
+}
@@ -0,0 +1,70 @@
+package nars.util;
+
+import java.io.File;
+import nars.core.NAR;
+import nars.core.build.Default;
+import nars.core.control.DefaultAttention;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class TraceRecorderTest {
+
+    @Test
+    public void testRecordReplay() throws Exception {
+        File f = File.createTempFile("nars", ".trace");
+        f.deleteOnExit();
+
+        NAR n = new NAR(new Default());
+        TraceRecorder r = new TraceRecorder(n, f, true);
+        n.addInput("<a --> b>.\n<b --> c>.\n");
+        n.run(20);
+        n.addInput("<x --> y>. :|:\n<a --> c>?\n");
+        n.run(30);
+        r.close();
+
+        long cycles = n.time();
+        long derived = n.memory.metrics.TASKS_DERIVED.get();
+        assertTrue(derived > 0);
+
+        try (TraceReplay p = new TraceReplay(f)) {
+            assertEquals(cycles, p.run());
+            assertEquals(4, p.getInputs());
+            assertEquals(derived, p.getDerivations());
+            assertEquals(0, p.getMismatches());
+            assertEquals(cycles, p.nar.time());
+        }
+    }
+
+    @Test
+    public void testRecordReplayOperators() throws Exception {
+        File f = File.createTempFile("nars", ".trace");
+        f.deleteOnExit();
+
+        Default build = new Default();
+        build.setConceptBagSize(500);
+        NAR n = new NAR(build);
+        n.memory.setRandomSeed(7);
+        TraceRecorder r = new TraceRecorder(n, build, f, true);
+        n.addInput("(^believe,<a --> b>,TRUE)!\n(^want,<c --> d>,TRUE)!\n(^wonder,<e --> f>)!\n100\n");
+        n.run(120);
+        r.close();
+
+        long cycles = n.time();
+        long derived = n.memory.metrics.TASKS_DERIVED.get();
+        //operator feedback is input from within memory, and not recorded
+        assertTrue(n.memory.metrics.TASKS_INPUT.get() > 3);
+
+        try (TraceReplay p = new TraceReplay(f)) {
+            assertEquals(7, p.nar.memory.getRandomSeed());
+            assertEquals(500, ((DefaultAttention)p.nar.memory.concepts).concepts.getCapacity());
+            p.run();
+            //a cycle aborted by an error does not advance the time, in either
+            assertEquals(cycles, p.nar.time());
+            assertEquals(3, p.getInputs());
+            assertEquals(derived, p.getDerivations());
+            assertEquals(0, p.getMismatches());
+        }
+    }
+
+}
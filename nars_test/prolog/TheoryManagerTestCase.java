@@ -105,4 +105,55 @@ public class TheoryManagerTestCase extends TestCase {
 		
 	}
 
-}
+	public void testArgumentIndexing() throws PrologException {
+		Prolog engine = new Prolog();
+		StringBuilder theory = new StringBuilder();
+		for (int i = 0; i < 20; i++)
+			theory.append("edge(n").append(i).append(", n").append(i + 1).append(", ").append(i).append(").\n");
+		theory.append("edge(X, any, -1).\n");
+		engine.setTheory(new Theory(theory.toString()));
+		TheoryManager manager = engine.getTheoryManager();
+
+		// first argument bound: the matching fact and the clause with a variable there
+		Struct goal = new Struct("edge", new Struct("n4"), new nars.prolog.Var("B"), new nars.prolog.Var("C"));
+		assertEquals(2, manager.find(goal).size());
+		// both bound: the more selective second argument is used
+		goal = new Struct("edge", new Struct("n4"), new Struct("n5"), new nars.prolog.Var("C"));
+		assertEquals(1, manager.find(goal).size());
+
+		SolveInfo info = engine.solve("edge(A, n5, W).");
+		assertTrue(info.isSuccess());
+		assertEquals("n4", info.getVarValue("A").toString());
+		info = engine.solve("edge(n7, B, W).");
+		assertEquals("n8", info.getVarValue("B").toString());
+		info = engine.solveNext();
+		assertEquals("any", info.getVarValue("B").toString());
+
+		// indexes stay consistent, and in database order, through assert and retract
+		engine.solve("asserta(edge(n3, first, 0)).");
+		engine.solve("retract(edge(n3, n4, 3)).");
+		info = engine.solve("edge(n3, B, W).");
+		assertEquals("first", info.getVarValue("B").toString());
+		info = engine.solveNext();
+		assertEquals("any", info.getVarValue("B").toString());
+		assertFalse(info.hasOpenAlternatives());
+		info = engine.solve("edge(A, B, 3).");
+		assertFalse(info.isSuccess());
+		info = engine.solve("edge(A, B, 12).");
+		assertEquals("n12", info.getVarValue("A").toString());
+	}
+
+	public void testRemoveAssertedClause() throws PrologException {
+		Prolog engine = new Prolog();
+		TheoryManager manager = engine.getTheoryManager();
+		ClauseInfo ant = manager.assertZ(new Struct("insect", new Struct("ant")), true, null, false);
+		manager.assertZ(new Struct("insect", new Struct("bee")), true, null, false);
+
+		assertTrue(manager.remove(ant));
+		assertFalse(manager.remove(ant));
+		SolveInfo info = engine.solve("insect(I).");
+		assertEquals("bee", info.getVarValue("I").toString());
+		assertFalse(info.hasOpenAlternatives());
+	}
+
+}
\ No newline at end of file
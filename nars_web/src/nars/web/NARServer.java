@@ -6,7 +6,10 @@ import java.net.InetSocketAddress;
 import java.net.UnknownHostException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
 import nars.core.build.Default;
+import nars.io.meter.Metrics;
 import org.java_websocket.WebSocket;
 import org.java_websocket.WebSocketImpl;
 import org.java_websocket.handshake.ClientHandshake;
@@ -19,6 +22,10 @@ public class NARServer  {
     
     private static int cycleIntervalMS = 50;
     
+    /** path of the metrics of all sessions, in the Prometheus text format */
+    static final String METRICS_PATH = "/metrics";
+    static final String METRICS_MIME = "text/plain; version=0.0.4";
+    
     class NARSWebSocketServer extends WebSocketServer  {
 
         public NARSWebSocketServer(InetSocketAddress addr) throws UnknownHostException {
@@ -38,7 +45,10 @@ public class NARServer  {
                     conn.send(output);
                 }
             };
-            socketSession.put(conn, n);        
+            synchronized (socketSession) {
+                socketSession.put(conn, n);        
+                sessionID.put(conn, Integer.toString(nextSessionID++));
+            }
 
         }
 
@@ -46,17 +56,23 @@ public class NARServer  {
         public void onClose(WebSocket conn, int code, String reason, boolean remote) {
             if (WEBSOCKET_DEBUG) System.out.println(conn + " disconnected");
 
-            NARConnection n = socketSession.get(conn);
+            NARConnection n;
+            synchronized (socketSession) {
+                n = socketSession.remove(conn);
+                sessionID.remove(conn);
+            }
             if (n!=null) {
                 n.stop();
-                socketSession.remove(conn);
             }
         }
 
         @Override
         public void onMessage(WebSocket conn, String message) {
 
-            NARConnection n = socketSession.get(conn);
+            NARConnection n;
+            synchronized (socketSession) {
+                n = socketSession.get(conn);
+            }
             if (n!=null) {
                 n.read(message);
             }
@@ -75,17 +91,42 @@ public class NARServer  {
     
     final NARSWebSocketServer websockets;
     private final Map<WebSocket, NARConnection> socketSession = new HashMap();
+    private final Map<WebSocket, String> sessionID = new HashMap();
+    private int nextSessionID = 0;
 
     public NARServer(int httpPort, int webSocketsPort) throws UnknownHostException, IOException {
         websockets = new NARSWebSocketServer(new InetSocketAddress(webSocketsPort));
         websockets.start();
         
-        new HTTPServeFiles(httpPort, new File("nars_web/client"));
+        new HTTPServeFiles(httpPort, new File("nars_web/client")) {
+            @Override public Response serve(String uri, String method, Properties header, Properties parms) {
+                if (uri.equals(METRICS_PATH))
+                    return new Response(HTTP_OK, METRICS_MIME, getMetrics());
+                return super.serve(uri, method, header, parms);
+            }
+        };
         
     }
 
 
 
+    /** metrics of the NAR of each session, labeled by session */
+    public String getMetrics() {
+        final Map<String, Metrics> m = new TreeMap();
+        synchronized (socketSession) {
+            for (Map.Entry<WebSocket, NARConnection> e : socketSession.entrySet())
+                m.put(sessionID.get(e.getKey()), e.getValue().nar.memory.metrics);
+        }
+        
+        final StringBuilder sb = new StringBuilder();
+        try {
+            Metrics.write(sb, "session", m);
+        } catch (IOException ex) {
+            //not thrown by StringBuilder
+        }
+        return sb.toString();
+    }
+
     public static void main(String[] args) throws Exception {
                 
         int httpPort;